@@ -0,0 +1,77 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.game.ExpectimaxAiStrategy;
+import com.yugiohduel.rules.RuleSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latencia de una decisión de la IA con las manos completas al inicio del duelo.
+ * El presupuesto es de 1 ms por jugada; con manos de hasta 5 cartas la búsqueda
+ * es exacta y debe terminar bastante antes. Con las reglas de posiciones y de
+ * puntos de vida la búsqueda resuelve cada enfrentamiento con {@link RuleSet}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AiStrategyBenchmark {
+    @Param({"3", "5", "8"})
+    public int handSize;
+
+    @Param({"expectimax", "minimax"})
+    public String mode;
+
+    @Param({"classic", "positions", "lifepoints"})
+    public String rules;
+
+    private ExpectimaxAiStrategy strategy;
+    private RuleSet ruleSet;
+    private int[] aiAtk;
+    private int[] aiDef;
+    private int[] playerAtk;
+    private int[] playerDef;
+
+    @Setup
+    public void setUp() {
+        strategy = new ExpectimaxAiStrategy("minimax".equals(mode), 1_000_000);
+        // Las reglas con la mano del benchmark: gana quien se lleve la mayoría de las rondas
+        RuleSet.Builder builder = RuleSet.builder(rules).handSize(handSize).winningScore(handSize / 2 + 1);
+        if ("positions".equals(rules)) {
+            builder.positions(RuleSet.POSITIONS.getPositionRule());
+        } else if ("lifepoints".equals(rules)) {
+            builder.positions(RuleSet.LIFE_POINTS.getPositionRule())
+                    .lifePoints(RuleSet.LIFE_POINTS.getLifePoints())
+                    .attackVsAttackDamage(RuleSet.Side.DEFENDER, RuleSet.Side.NONE, RuleSet.Side.ATTACKER)
+                    .attackVsDefenseDamage(RuleSet.Side.NONE, RuleSet.Side.NONE, RuleSet.Side.ATTACKER);
+        }
+        ruleSet = builder.build();
+
+        Random random = new Random(42);
+        aiAtk = new int[handSize];
+        aiDef = new int[handSize];
+        playerAtk = new int[handSize];
+        playerDef = new int[handSize];
+        for (int i = 0; i < handSize; i++) {
+            // ATK y DEF en pasos de 100, como las cartas reales, para que haya empates
+            aiAtk[i] = random.nextInt(31) * 100;
+            aiDef[i] = random.nextInt(31) * 100;
+            playerAtk[i] = random.nextInt(31) * 100;
+            playerDef[i] = random.nextInt(31) * 100;
+        }
+    }
+
+    @Benchmark
+    public int chooseCard() {
+        return strategy.chooseCard(ruleSet, true, aiAtk, aiDef, handSize, playerAtk, playerDef, handSize,
+                0, 0, ruleSet.getLifePoints(), ruleSet.getLifePoints());
+    }
+}
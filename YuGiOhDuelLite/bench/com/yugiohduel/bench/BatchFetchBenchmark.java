@@ -0,0 +1,52 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.api.YgoApiClient;
+import com.yugiohduel.model.Card;
+
+import java.util.List;
+
+/**
+ * Compara el tiempo hasta tener las 6 cartas de un duelo:
+ * llamadas secuenciales a getRandomMonsterCard() frente al lote concurrente.
+ *
+ * Uso: java com.yugiohduel.bench.BatchFetchBenchmark [latenciaMs] [rondas]
+ */
+public class BatchFetchBenchmark {
+    private static final int CARDS_PER_DUEL = 6;
+
+    public static void main(String[] args) throws Exception {
+        long latency = args.length > 0 ? Long.parseLong(args[0]) : 50;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        try (StubApiServer server = new StubApiServer(
+                StubApiServer.loadFixtures(StubApiServer.DEFAULT_FIXTURES), latency)) {
+            YgoApiClient client = new YgoApiClient(server.randomCardUri(), 4);
+
+            // Calentamiento de conexiones y JIT
+            client.getRandomMonsterCards(CARDS_PER_DUEL).get();
+
+            long sequentialNanos = 0;
+            long batchNanos = 0;
+            for (int round = 0; round < rounds; round++) {
+                long start = System.nanoTime();
+                for (int i = 0; i < CARDS_PER_DUEL; i++) {
+                    client.getRandomMonsterCard();
+                }
+                sequentialNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                List<Card> cards = client.getRandomMonsterCards(CARDS_PER_DUEL).get();
+                batchNanos += System.nanoTime() - start;
+
+                if (cards.size() != CARDS_PER_DUEL) {
+                    throw new IllegalStateException("El lote devolvió " + cards.size() + " cartas");
+                }
+            }
+
+            System.out.printf("latency=%dms rounds=%d%n", latency, rounds);
+            System.out.printf("sequential: %.1f ms/duel%n", sequentialNanos / 1e6 / rounds);
+            System.out.printf("batch:      %.1f ms/duel%n", batchNanos / 1e6 / rounds);
+            System.out.printf("requests served: %d%n", server.getRequestCount());
+        }
+    }
+}
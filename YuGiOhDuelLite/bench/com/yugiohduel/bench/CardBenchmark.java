@@ -0,0 +1,38 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Card.isMonster, que antes pasaba el tipo a minúsculas en cada llamada
+ * y ahora lee el CardType resuelto al construir la carta
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CardBenchmark {
+
+    @Param({"Normal Monster", "Effect Monster", "XYZ Pendulum Effect Monster", "Spell Card", "Trap Card"})
+    public String type;
+
+    private Card card;
+
+    @Setup
+    public void setUp() {
+        card = new Card(1, "Benchmark Card", 1000, 1000, "", type);
+    }
+
+    @Benchmark
+    public boolean isMonster() {
+        return card.isMonster();
+    }
+}
@@ -0,0 +1,109 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.api.CardJsonReader;
+import com.yugiohduel.model.Card;
+import com.yugiohduel.model.CardRegistry;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Heap retenido por un catálogo completo de cartas con el modelo anterior
+ * (cada carta con sus propias cadenas de tipo y URL de imagen) frente al
+ * modelo actual (CardType compartido, URL reconstruida desde el id y
+ * registro canónico por id). También mide cuánto ahorra el registro cuando
+ * las mismas cartas llegan varias veces, como en partidas sucesivas.
+ *
+ * Uso: java com.yugiohduel.bench.CardFootprintBenchmark [cartas] [repeticiones]
+ */
+public class CardFootprintBenchmark {
+
+    /**
+     * Copia fiel de los campos del Card anterior
+     */
+    static final class LegacyCard {
+        final int id;
+        final String name;
+        final int atk;
+        final int def;
+        final String imageUrl;
+        final String type;
+
+        LegacyCard(int id, String name, int atk, int def, String imageUrl, String type) {
+            this.id = id;
+            this.name = name;
+            this.atk = atk;
+            this.def = def;
+            this.imageUrl = imageUrl;
+            this.type = type;
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cardCount = args.length > 0 ? Integer.parseInt(args[0]) : 12_000;
+        int repeats = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Path dump = Files.createTempFile("cardinfo-footprint", ".json");
+        try {
+            JsonParseBenchmark.writeDump(dump, cardCount);
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+            // Modelo actual, medido primero: incluye las cartas que quedan en el registro compartido
+            long before = usedHeapAfterGc(memory);
+            List<Card> interned = new ArrayList<>();
+            for (int r = 0; r < repeats; r++) {
+                interned.addAll(parse(dump));
+            }
+            long internedBytes = usedHeapAfterGc(memory) - before;
+
+            // Modelo anterior: el parser creaba cadenas nuevas por carta. Las cartas
+            // parseadas ya están en el registro, así que solo se mide la copia
+            before = usedHeapAfterGc(memory);
+            List<LegacyCard> legacy = new ArrayList<>();
+            for (int r = 0; r < repeats; r++) {
+                for (Card card : parse(dump)) {
+                    legacy.add(new LegacyCard(card.getId(), new String(card.getName()), card.getAtk(),
+                            card.getDef(), new String(card.getImageUrl()), new String(card.getType())));
+                }
+            }
+            long legacyBytes = usedHeapAfterGc(memory) - before;
+
+            System.out.printf("cards=%d loaded %d times (%d references)%n",
+                    cardCount, repeats, legacy.size());
+            System.out.printf("legacy   retained %6.2f MB  (%5.1f bytes per reference)%n",
+                    legacyBytes / 1048576.0, (double) legacyBytes / legacy.size());
+            System.out.printf("interned retained %6.2f MB  (%5.1f bytes per reference, registry=%d cards)%n",
+                    internedBytes / 1048576.0, (double) internedBytes / interned.size(),
+                    CardRegistry.shared().size());
+            // Mantiene vivas las dos listas hasta después de medir
+            System.out.println("kept " + (legacy.size() + interned.size()) + " references");
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    /**
+     * Parsea el volcado registrando cada carta, como CardCatalog.load
+     */
+    private static List<Card> parse(Path dump) throws Exception {
+        List<Card> cards = new ArrayList<>();
+        CardRegistry registry = CardRegistry.shared();
+        try (InputStream in = Files.newInputStream(dump)) {
+            CardJsonReader.readCards(in, card -> cards.add(registry.intern(card)));
+        }
+        return cards;
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,66 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.catalog.CardCatalog;
+import com.yugiohduel.catalog.CardIndex;
+import com.yugiohduel.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consulta "monstruos cuyo nombre empieza con Dark y ATK entre 2000 y 2500"
+ * sobre un catálogo completo: con el índice frente a recorrer todas las cartas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CardIndexBenchmark {
+    @Param({"12000"})
+    public int cards;
+
+    private CardCatalog catalog;
+    private CardIndex index;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path dump = Files.createTempFile("cardinfo", ".json");
+        try {
+            JsonParseBenchmark.writeDump(dump, cards);
+            catalog = CardCatalog.load(dump);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+        index = CardIndex.of(catalog);
+    }
+
+    @Benchmark
+    public List<Card> indexQuery() {
+        return index.query().nameStartsWith("Dark").atkBetween(2000, 2500).monstersOnly().list();
+    }
+
+    @Benchmark
+    public List<Card> linearScan() {
+        List<Card> result = new ArrayList<>();
+        for (Card card : catalog.getCards()) {
+            if (card.isMonster()
+                    && card.getName().toLowerCase(Locale.ROOT).startsWith("dark")
+                    && card.getAtk() >= 2000 && card.getAtk() <= 2500) {
+                result.add(card);
+            }
+        }
+        return result;
+    }
+}
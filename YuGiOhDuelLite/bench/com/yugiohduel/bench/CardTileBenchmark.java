@@ -0,0 +1,162 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.model.Card;
+import com.yugiohduel.ui.CardImageCache;
+import com.yugiohduel.ui.CardTileRenderer;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tiempo de EDT para mostrar una mano, con el camino anterior de DuelUI
+ * (un JPanel con BoxLayout, etiquetas HTML y botón por carta, revalidando el
+ * panel tras cada una) frente a losetas de CardTileRenderer agregadas en una
+ * sola pasada de layout. También mide repintar el panel completo.
+ * Las miniaturas son sintéticas, así no depende de la red.
+ *
+ * Uso: java -Djava.awt.headless=true com.yugiohduel.bench.CardTileBenchmark [iteraciones]
+ */
+public class CardTileBenchmark {
+    private static final int[] HAND_SIZES = {3, 6, 12, 24};
+    private static final int PANEL_WIDTH = 1000;
+
+    interface HandBuilder {
+        void build(JPanel panel, List<Card> hand, List<BufferedImage> thumbnails);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+
+        HandBuilder legacy = CardTileBenchmark::buildLegacy;
+        CardTileRenderer renderer = new CardTileRenderer();
+        HandBuilder tiles = (panel, hand, thumbnails) -> buildTiles(renderer, panel, hand, thumbnails);
+
+        System.out.printf("%-8s %5s %14s %14s%n", "path", "cards", "build+layout", "repaint");
+        for (int size : HAND_SIZES) {
+            List<Card> hand = hand(size);
+            List<BufferedImage> thumbnails = thumbnails(size);
+
+            // Calentamiento
+            measure(legacy, hand, thumbnails, iterations / 5 + 1);
+            measure(tiles, hand, thumbnails, iterations / 5 + 1);
+
+            report("legacy", size, measure(legacy, hand, thumbnails, iterations));
+            report("tiles", size, measure(tiles, hand, thumbnails, iterations));
+        }
+    }
+
+    /**
+     * @return {nanos de construcción y layout, nanos de repintado} por mano
+     */
+    private static long[] measure(HandBuilder builder, List<Card> hand,
+                                  List<BufferedImage> thumbnails, int iterations) throws Exception {
+        long[] totals = new long[2];
+        SwingUtilities.invokeAndWait(() -> {
+            BufferedImage canvas = new BufferedImage(PANEL_WIDTH, 600, BufferedImage.TYPE_INT_RGB);
+            for (int i = 0; i < iterations; i++) {
+                JPanel panel = new JPanel(new FlowLayout());
+                panel.setSize(PANEL_WIDTH, 600);
+
+                long start = System.nanoTime();
+                builder.build(panel, hand, thumbnails);
+                totals[0] += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                Graphics2D g = canvas.createGraphics();
+                try {
+                    panel.paint(g);
+                } finally {
+                    g.dispose();
+                }
+                totals[1] += System.nanoTime() - start;
+            }
+        });
+        totals[0] /= iterations;
+        totals[1] /= iterations;
+        return totals;
+    }
+
+    private static void report(String label, int size, long[] nanos) {
+        System.out.printf("%-8s %5d %11.1f us %11.1f us%n", label, size, nanos[0] / 1000.0, nanos[1] / 1000.0);
+    }
+
+    /**
+     * Camino anterior: árbol de componentes por carta y layout tras cada una.
+     * Sin ventana revalidate() no hace nada, así que se valida explícitamente.
+     */
+    private static void buildLegacy(JPanel panel, List<Card> hand, List<BufferedImage> thumbnails) {
+        for (int i = 0; i < hand.size(); i++) {
+            Card card = hand.get(i);
+            JPanel cardPanel = new JPanel();
+            cardPanel.setLayout(new BoxLayout(cardPanel, BoxLayout.Y_AXIS));
+            cardPanel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
+            cardPanel.setPreferredSize(new Dimension(150, 250));
+
+            JLabel imageLabel = new JLabel(new ImageIcon(thumbnails.get(i)));
+            imageLabel.setPreferredSize(new Dimension(CardImageCache.THUMBNAIL_SIZE, CardImageCache.THUMBNAIL_SIZE));
+            cardPanel.add(imageLabel);
+
+            JLabel nameLabel = new JLabel("<html><center>" + card.getName() + "</center></html>");
+            nameLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            cardPanel.add(nameLabel);
+
+            JLabel statsLabel = new JLabel("ATK:" + card.getAtk() + " / DEF:" + card.getDef());
+            statsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+            cardPanel.add(statsLabel);
+
+            JButton selectButton = new JButton("Play");
+            selectButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+            cardPanel.add(selectButton);
+
+            panel.add(cardPanel);
+            panel.invalidate();
+            panel.validate();
+        }
+    }
+
+    /**
+     * Camino nuevo: un botón con la loseta como icono por carta y un solo layout
+     */
+    private static void buildTiles(CardTileRenderer renderer, JPanel panel, List<Card> hand,
+                                   List<BufferedImage> thumbnails) {
+        for (int i = 0; i < hand.size(); i++) {
+            ImageIcon icon = new ImageIcon(renderer.withImage(hand.get(i), thumbnails.get(i)));
+            JButton selectButton = new JButton("Play", icon);
+            selectButton.setDisabledIcon(icon);
+            selectButton.setVerticalTextPosition(SwingConstants.BOTTOM);
+            selectButton.setHorizontalTextPosition(SwingConstants.CENTER);
+            panel.add(selectButton);
+        }
+        panel.invalidate();
+        panel.validate();
+    }
+
+    private static List<Card> hand(int size) {
+        List<Card> hand = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            hand.add(new Card(1000 + i, "Bench Monster Number " + i, 1000 + i * 100, 800 + i * 50,
+                    "https://example.invalid/" + i + ".jpg", "Normal Monster"));
+        }
+        return hand;
+    }
+
+    private static List<BufferedImage> thumbnails(int size) {
+        List<BufferedImage> images = new ArrayList<>(size);
+        int side = CardImageCache.THUMBNAIL_SIZE;
+        for (int i = 0; i < size; i++) {
+            BufferedImage image = new BufferedImage(side, side, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setPaint(new GradientPaint(0, 0, new Color(i * 10 % 256, 80, 160), side, side, Color.WHITE));
+                g.fillRect(0, 0, side, side);
+            } finally {
+                g.dispose();
+            }
+            images.add(image);
+        }
+        return images;
+    }
+}
@@ -0,0 +1,66 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.catalog.BinaryCardCatalog;
+import com.yugiohduel.catalog.CardCatalog;
+import com.yugiohduel.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Arranque en frío del catálogo: abrir el archivo y repartir las 6 cartas
+ * de un duelo, con el volcado JSON frente al catálogo binario mapeado.
+ * Se mide cada apertura por separado (SingleShotTime), como al iniciar el juego.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CatalogBenchmark {
+    @Param({"12000"})
+    public int cards;
+
+    private Path directory;
+    private Path jsonDump;
+    private Path binary;
+    private final Random random = new Random(42);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("catalog-bench");
+        jsonDump = directory.resolve("cardinfo.json");
+        binary = directory.resolve("cardinfo.bin");
+        JsonParseBenchmark.writeDump(jsonDump, cards);
+        BinaryCardCatalog.convert(jsonDump, binary);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(jsonDump);
+        Files.deleteIfExists(binary);
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<Card> jsonCatalog() throws IOException {
+        return CardCatalog.load(jsonDump).randomMonsters(6, random);
+    }
+
+    @Benchmark
+    public List<Card> binaryCatalog() throws IOException {
+        return BinaryCardCatalog.open(binary).randomMonsters(6, random);
+    }
+}
@@ -0,0 +1,97 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.catalog.BinaryCardCatalog;
+import com.yugiohduel.catalog.CardCatalog;
+import com.yugiohduel.catalog.MonsterPool;
+import com.yugiohduel.model.Card;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Primera apertura del catálogo en la JVM (arranque en frío) y heap retenido
+ * por el catálogo abierto, con el volcado JSON frente al catálogo binario.
+ * Antes de medir verifica que el binario reproduce todas las cartas del JSON.
+ *
+ * Uso: java com.yugiohduel.bench.CatalogFootprintBenchmark [cartas]
+ */
+public class CatalogFootprintBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int cardCount = args.length > 0 ? Integer.parseInt(args[0]) : 12_000;
+
+        Path directory = Files.createTempDirectory("catalog-footprint");
+        Path jsonDump = directory.resolve("cardinfo.json");
+        Path binary = directory.resolve("cardinfo.bin");
+        try {
+            JsonParseBenchmark.writeDump(jsonDump, cardCount);
+
+            long start = System.nanoTime();
+            BinaryCardCatalog.convert(jsonDump, binary);
+            long convertNanos = System.nanoTime() - start;
+
+            System.out.printf("cards=%d json=%.1f MB binary=%.1f MB convert=%.1f ms%n",
+                    cardCount, Files.size(jsonDump) / 1048576.0, Files.size(binary) / 1048576.0,
+                    convertNanos / 1e6);
+
+            // Primera carga de cada formato en esta JVM: incluye carga de clases y JIT frío
+            measure("binary", () -> BinaryCardCatalog.open(binary));
+            measure("json", () -> CardCatalog.load(jsonDump));
+
+            verify(CardCatalog.load(jsonDump), BinaryCardCatalog.open(binary));
+        } finally {
+            Files.deleteIfExists(jsonDump);
+            Files.deleteIfExists(binary);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    private interface Opener {
+        MonsterPool open() throws Exception;
+    }
+
+    private static void measure(String name, Opener opener) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long before = usedHeapAfterGc(memory);
+
+        long start = System.nanoTime();
+        MonsterPool pool = opener.open();
+        long elapsed = System.nanoTime() - start;
+
+        long retained = usedHeapAfterGc(memory) - before;
+        System.out.printf("%-7s first open %7.1f ms  retained heap %7.1f MB  (%d monsters)%n",
+                name, elapsed / 1e6, retained / 1048576.0, pool.monsterCount());
+        // Mantiene vivo el catálogo hasta después de medir
+        Objects.requireNonNull(pool);
+    }
+
+    private static long usedHeapAfterGc(MemoryMXBean memory) throws InterruptedException {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(50);
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static void verify(CardCatalog json, BinaryCardCatalog binary) {
+        if (json.size() != binary.size() || json.monsterCount() != binary.monsterCount()) {
+            throw new IllegalStateException("El catálogo binario no coincide en tamaño con el JSON");
+        }
+        for (int i = 0; i < json.size(); i++) {
+            Card expected = json.getCards().get(i);
+            Card actual = binary.decodeCard(i);
+            if (expected.getId() != actual.getId()
+                    || expected.getAtk() != actual.getAtk()
+                    || expected.getDef() != actual.getDef()
+                    || !expected.getName().equals(actual.getName())
+                    || !expected.getType().equals(actual.getType())
+                    || !expected.getImageUrl().equals(actual.getImageUrl())) {
+                throw new IllegalStateException("Carta " + i + " distinta: " + expected + " / " + actual);
+            }
+        }
+        System.out.println("verified " + json.size() + " cards");
+    }
+}
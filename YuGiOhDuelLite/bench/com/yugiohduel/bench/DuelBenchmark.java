@@ -0,0 +1,72 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.game.CompactDuel;
+import com.yugiohduel.game.Duel;
+import com.yugiohduel.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Duelo completo de tres turnos con Duel.playTurn, y el mismo duelo sobre
+ * CompactDuel como referencia
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DuelBenchmark {
+    // Manos fijas: un empate y dos victorias repartidas para jugar los tres turnos
+    private static final Card[] PLAYER_HAND = {
+            new Card(46986414, "Dark Magician", 2500, 2100, "", "Normal Monster"),
+            new Card(40640057, "Kuriboh", 300, 200, "", "Effect Monster"),
+            new Card(89631139, "Blue-Eyes White Dragon", 3000, 2500, "", "Normal Monster"),
+    };
+    private static final Card[] AI_HAND = {
+            new Card(70781052, "Summoned Skull", 2500, 1200, "", "Normal Monster"),
+            new Card(70781052, "Summoned Skull", 2500, 1200, "", "Normal Monster"),
+            new Card(70781052, "Summoned Skull", 2500, 1200, "", "Normal Monster"),
+    };
+
+    private Random random;
+    private CompactDuel compactDuel;
+
+    @Setup
+    public void setUp() {
+        random = new Random(42);
+        compactDuel = new CompactDuel();
+    }
+
+    @Benchmark
+    public boolean duelThreeTurns() {
+        Duel duel = new Duel(random);
+        for (int i = 0; i < Duel.HAND_SIZE; i++) {
+            duel.addPlayerCard(PLAYER_HAND[i]);
+            duel.addAiCard(AI_HAND[i]);
+        }
+        for (int turn = 0; turn < Duel.HAND_SIZE; turn++) {
+            duel.playTurn(0);
+        }
+        return duel.isDuelEnded();
+    }
+
+    @Benchmark
+    public boolean compactDuelThreeTurns() {
+        CompactDuel duel = compactDuel;
+        duel.reset();
+        for (int i = 0; i < Duel.HAND_SIZE; i++) {
+            duel.addPlayerCard(PLAYER_HAND[i]);
+            duel.addAiCard(AI_HAND[i]);
+        }
+        while (!duel.isDuelEnded()) {
+            duel.playTurn(0, 0);
+        }
+        return duel.getWinner() != null;
+    }
+}
@@ -0,0 +1,128 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.event.DuelEventBus;
+import com.yugiohduel.event.DuelEventHandler;
+import com.yugiohduel.event.EventProcessor;
+import com.yugiohduel.event.WaitStrategy;
+import com.yugiohduel.game.Duel;
+import com.yugiohduel.game.Outcome;
+import com.yugiohduel.metrics.LatencyHistogram;
+import com.yugiohduel.model.Card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Coste de un turno para el bucle del juego cuando un consumidor es lento
+ * (una espera de E/S, como guardar la repetición en disco). Con el listener anterior
+ * ese trabajo corría dentro de playTurn; con {@link DuelEventBus} playTurn
+ * solo publica y el consumidor lo hace en su hilo.
+ *
+ * Después mide el rendimiento del bus con tres consumidores para cada
+ * estrategia de espera. Con un solo núcleo, las estrategias que giran le
+ * quitan CPU al productor.
+ *
+ * Uso: java com.yugiohduel.bench.DuelEventBusBenchmark [turnos] [µsConsumidorLento] [eventos]
+ */
+public class DuelEventBusBenchmark {
+    private static final Card[] PLAYER_HAND = {
+            new Card(46986414, "Dark Magician", 2500, 2100, "", "Normal Monster"),
+            new Card(40640057, "Kuriboh", 300, 200, "", "Effect Monster"),
+            new Card(89631139, "Blue-Eyes White Dragon", 3000, 2500, "", "Normal Monster"),
+    };
+    private static final Card[] AI_HAND = {
+            new Card(70781052, "Summoned Skull", 2500, 1200, "", "Normal Monster"),
+            new Card(70781052, "Summoned Skull", 2500, 1200, "", "Normal Monster"),
+            new Card(70781052, "Summoned Skull", 2500, 1200, "", "Normal Monster"),
+    };
+    private static final long TURN_GAP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    public static void main(String[] args) throws Exception {
+        int turns = args.length > 0 ? Integer.parseInt(args[0]) : 3000;
+        long slowMicros = args.length > 1 ? Long.parseLong(args[1]) : 200;
+        int events = args.length > 2 ? Integer.parseInt(args[2]) : 2_000_000;
+
+        System.out.printf("turns=%d, slow consumer=%d us per event, turns 1 ms apart%n", turns, slowMicros);
+        // Espera de E/S, como un flush a disco: no ocupa CPU
+        DuelEventHandler slow = (event, sequence, endOfBatch) -> LockSupport.parkNanos(slowMicros * 1000);
+        DuelEventHandler fast = (event, sequence, endOfBatch) -> { };
+
+        // Antes: el duelo llamaba a su único listener dentro de playTurn
+        LatencyHistogram inline = new LatencyHistogram("inline");
+        playTurns(turns, null, inline, slow);
+        report("listener inside playTurn", inline);
+
+        try (DuelEventBus bus = new DuelEventBus(DuelEventBus.DEFAULT_CAPACITY, WaitStrategy.blocking())) {
+            bus.subscribe("slow", slow);
+            bus.subscribe("fast-1", fast);
+            bus.subscribe("fast-2", fast);
+            LatencyHistogram published = new LatencyHistogram("bus");
+            playTurns(turns, bus, published, null);
+            report("publish to bus (3 consumers)", published);
+        }
+
+        System.out.printf("%nthroughput, %d events, 3 consumers%n", events);
+        throughput("blocking", WaitStrategy.blocking(), events);
+        throughput("sleeping", WaitStrategy.sleeping(), events);
+        throughput("yielding", WaitStrategy.yielding(), events);
+    }
+
+    /**
+     * Juega duelos de tres turnos midiendo solo playTurn, con pausas entre turnos
+     */
+    private static void playTurns(int turns, DuelEventBus bus, LatencyHistogram histogram,
+                                  DuelEventHandler inlineListener) {
+        Random random = new Random(42);
+        int played = 0;
+        while (played < turns) {
+            Duel duel = new Duel(random);
+            duel.setEventBus(bus);
+            for (int i = 0; i < Duel.HAND_SIZE; i++) {
+                duel.addPlayerCard(PLAYER_HAND[i]);
+                duel.addAiCard(AI_HAND[i]);
+            }
+            while (!duel.isDuelEnded() && !duel.getPlayerCards().isEmpty() && played < turns) {
+                long start = System.nanoTime();
+                duel.playTurn(0);
+                if (inlineListener != null) {
+                    inlineListener.onEvent(null, played, true);
+                }
+                histogram.record(System.nanoTime() - start);
+                played++;
+                LockSupport.parkNanos(TURN_GAP_NANOS);
+            }
+        }
+    }
+
+    private static void throughput(String label, WaitStrategy waitStrategy, int events) {
+        Duel duel = new Duel(new Random(1));
+        AtomicLong consumed = new AtomicLong();
+        DuelEventBus bus = new DuelEventBus(DuelEventBus.DEFAULT_CAPACITY, waitStrategy);
+        List<EventProcessor> processors = new ArrayList<>();
+        for (int c = 0; c < 3; c++) {
+            processors.add(bus.subscribe("consumer-" + c, (event, sequence, endOfBatch) -> {
+                if (endOfBatch) {
+                    consumed.incrementAndGet();
+                }
+            }));
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < events; i++) {
+            bus.publishTurnResolved(duel, PLAYER_HAND[0], AI_HAND[0], Outcome.DRAW, 0, 0, 0, 0);
+        }
+        // Cerrar espera a que los consumidores procesen todo lo publicado
+        bus.close();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%-9s %6.1f M events/s, %.1f events per consumer batch%n",
+                label, events / seconds / 1e6, events * (double) processors.size() / Math.max(1, consumed.get()));
+    }
+
+    private static void report(String label, LatencyHistogram histogram) {
+        System.out.printf("%-30s playTurn p50=%7.2f us p99=%7.2f us max=%8.2f us%n",
+                label, histogram.getP50Micros(), histogram.getP99Micros(), histogram.getMaxMicros());
+    }
+}
@@ -0,0 +1,168 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.catalog.CardCatalog;
+import com.yugiohduel.game.CompactDuel;
+import com.yugiohduel.game.Duel;
+import com.yugiohduel.game.Outcome;
+import com.yugiohduel.model.Card;
+import com.yugiohduel.rules.RuleSet;
+import com.yugiohduel.sim.DuelSimulator;
+import com.yugiohduel.sim.HandStrength;
+import com.yugiohduel.sim.HandStrengthEvaluator;
+import com.yugiohduel.sim.SimulationResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Contrasta HandStrengthEvaluator con Monte Carlo:
+ * - la mano aleatoria promedio contra DuelSimulator;
+ * - manos fijas (la mejor, la peor y algunas al azar) contra duelos
+ *   jugados con CompactDuel, con rival repartido y jugadas al azar.
+ * Ambos usan las reglas clásicas, las únicas que modela el evaluador.
+ * Cada diferencia se expresa en errores estándar de la estimación y el
+ * proceso termina con código 1 si alguna supera {@value #MAX_SIGMAS}.
+ *
+ * Usa el catálogo local si existe; si no, un conjunto sintético con ATK
+ * múltiplos de 100, que produce muchos empates.
+ *
+ * Uso: java com.yugiohduel.bench.HandStrengthCheck [duelos por mano]
+ */
+public class HandStrengthCheck {
+    private static final double MAX_SIGMAS = 4.0;
+    private static final int RANDOM_HANDS = 5;
+    private static final int SYNTHETIC_POOL = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        int duels = args.length > 0 ? Integer.parseInt(args[0]) : 400_000;
+        List<Card> pool = loadPool();
+        HandStrengthEvaluator evaluator = new HandStrengthEvaluator(pool);
+        SplittableRandom rng = new SplittableRandom(7);
+        boolean ok = true;
+
+        System.out.println("Monsters in pool: " + pool.size() + ", duels per check: " + duels);
+
+        HandStrength average = evaluator.averageHand(Duel.HAND_SIZE);
+        SimulationResult simulated = new DuelSimulator(pool, RuleSet.CLASSIC, ForkJoinPool.commonPool())
+                .run(duels, 42);
+        ok &= report("random hand", average, simulated.getPlayerWinRate(),
+                simulated.getAiWinRate(), simulated.getDrawRate(), duels);
+
+        List<List<Card>> hands = new ArrayList<>();
+        hands.add(evaluator.bestHand(Duel.HAND_SIZE));
+        hands.add(evaluator.worstHand(Duel.HAND_SIZE));
+        for (int i = 0; i < RANDOM_HANDS; i++) {
+            List<Card> hand = new ArrayList<>();
+            for (int c = 0; c < Duel.HAND_SIZE; c++) {
+                hand.add(pool.get(rng.nextInt(pool.size())));
+            }
+            hands.add(hand);
+        }
+        for (List<Card> hand : hands) {
+            double[] rates = simulateHand(hand, pool, duels, rng.split());
+            ok &= report(atkOf(hand), evaluator.evaluate(hand), rates[0], rates[1], rates[2], duels);
+        }
+
+        // Costo de una consulta frente a estimarla
+        int[] atk = {1800, 2400, 1200};
+        int queries = 1_000_000;
+        double sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < queries; i++) {
+            atk[0] = 1000 + (i & 1023);
+            sink += evaluator.evaluate(atk).getWinProbability();
+        }
+        long evaluateNanos = (System.nanoTime() - start) / queries;
+        start = System.nanoTime();
+        simulateHand(hands.get(0), pool, duels, rng.split());
+        long simulateNanos = System.nanoTime() - start;
+        System.out.printf("evaluate: %d ns per hand; Monte Carlo (%d duels): %.1f ms per hand (sink %.1f)%n",
+                evaluateNanos, duels, simulateNanos / 1e6, sink);
+
+        System.out.println(ok ? "OK" : "MISMATCH");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static List<Card> loadPool() throws Exception {
+        Path catalogPath = CardCatalog.defaultPath();
+        if (Files.isRegularFile(catalogPath)) {
+            return CardCatalog.load(catalogPath).getMonsters();
+        }
+        SplittableRandom rng = new SplittableRandom(1);
+        List<Card> pool = new ArrayList<>(SYNTHETIC_POOL);
+        for (int i = 0; i < SYNTHETIC_POOL; i++) {
+            // Cola hacia los ATK bajos, como en el catálogo real
+            int atk = 100 * Math.min(rng.nextInt(31), rng.nextInt(41));
+            pool.add(new Card(i + 1, "Synthetic " + i, atk, 0, "", "Normal Monster"));
+        }
+        return pool;
+    }
+
+    /**
+     * Juega duelos con la mano fija contra manos repartidas al azar
+     * @return {victoria, derrota, empate} observados
+     */
+    private static double[] simulateHand(List<Card> hand, List<Card> pool, int duels, SplittableRandom rng) {
+        int[] poolAtk = new int[pool.size()];
+        for (int i = 0; i < poolAtk.length; i++) {
+            poolAtk[i] = pool.get(i).getAtk();
+        }
+
+        CompactDuel duel = new CompactDuel(RuleSet.CLASSIC);
+        long wins = 0;
+        long losses = 0;
+        for (int i = 0; i < duels; i++) {
+            duel.reset();
+            for (Card card : hand) {
+                duel.addPlayerCard(card.getAtk(), card.getDef());
+                duel.addAiCard(poolAtk[rng.nextInt(poolAtk.length)], 0);
+            }
+            while (!duel.isDuelEnded()) {
+                duel.playTurn(rng.nextInt(duel.getPlayerCount()), rng.nextInt(duel.getAiCount()));
+            }
+            if (duel.getWinner() == Outcome.PLAYER) {
+                wins++;
+            } else if (duel.getWinner() == Outcome.AI) {
+                losses++;
+            }
+        }
+        return new double[]{(double) wins / duels, (double) losses / duels,
+                (double) (duels - wins - losses) / duels};
+    }
+
+    private static boolean report(String label, HandStrength exact, double win, double loss,
+                                  double draw, long duels) {
+        double worst = Math.max(sigmas(exact.getWinProbability(), win, duels),
+                Math.max(sigmas(exact.getLossProbability(), loss, duels),
+                        sigmas(exact.getDrawProbability(), draw, duels)));
+        System.out.printf("%-22s exact %s | simulated win=%.4f loss=%.4f draw=%.4f | %.2f sigma%n",
+                label, exact, win, loss, draw, worst);
+        return worst <= MAX_SIGMAS;
+    }
+
+    /**
+     * Diferencia en errores estándar de una proporción estimada con n muestras
+     */
+    private static double sigmas(double expected, double observed, long n) {
+        double error = Math.sqrt(expected * (1 - expected) / n);
+        if (error == 0) {
+            return observed == expected ? 0 : Double.POSITIVE_INFINITY;
+        }
+        return Math.abs(observed - expected) / error;
+    }
+
+    private static String atkOf(List<Card> hand) {
+        int[] atk = new int[hand.size()];
+        for (int i = 0; i < atk.length; i++) {
+            atk[i] = hand.get(i).getAtk();
+        }
+        return Arrays.toString(atk);
+    }
+}
@@ -0,0 +1,60 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.ui.CardImageCache;
+import com.yugiohduel.ui.CardThumbnails;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodificar+escalar la imagen de una carta, como al mostrarla en DuelUI,
+ * frente al camino anterior con getScaledInstance(SCALE_SMOOTH)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ImageBenchmark {
+    private static final int SIZE = CardImageCache.THUMBNAIL_SIZE;
+
+    @Param({"Imagen1.png", "Imagen2.png", "Imagen3.png"})
+    public String image;
+
+    private byte[] encoded;
+
+    @Setup
+    public void loadImage() throws IOException {
+        encoded = Files.readAllBytes(Paths.get("assets", image));
+    }
+
+    @Benchmark
+    public BufferedImage thumbnailPipeline() throws IOException {
+        return CardThumbnails.create(encoded, SIZE, SIZE);
+    }
+
+    @Benchmark
+    public BufferedImage legacyScaledInstance() throws IOException {
+        BufferedImage img = ImageIO.read(new ByteArrayInputStream(encoded));
+        Image scaled = img.getScaledInstance(SIZE, SIZE, Image.SCALE_SMOOTH);
+        // La imagen escalada es perezosa: se rasteriza como haría el EDT al pintarla
+        BufferedImage target = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        g.drawImage(scaled, 0, 0, null);
+        g.dispose();
+        return target;
+    }
+}
@@ -0,0 +1,122 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.journal.Journal;
+import com.yugiohduel.metrics.LatencyHistogram;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Latencia de registrar un mensaje desde varios hilos: el println que
+ * hacía YgoApiClient contra el diario asíncrono. Para el println se arma
+ * un PrintStream como el de System.out (búfer de 8 KiB y autoflush, una
+ * escritura por línea) sobre un archivo, así la consola no entra en la medida.
+ * Al final mide el diario con el nivel apagado.
+ *
+ * Uso: java com.yugiohduel.bench.JournalBenchmark [hilos] [mensajesPorHilo] [µsEntreMensajes]
+ */
+public class JournalBenchmark {
+    private static final String NAME = "Blue-Eyes White Dragon";
+    private static final String TYPE = "Spell Card";
+
+    private interface Logger {
+        void log(int id);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+        int messages = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        long gapMicros = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        Path dir = Files.createTempDirectory("journal-bench");
+
+        System.out.printf("threads=%d, messages per thread=%d, gap=%d us%n", threads, messages, gapMicros);
+        try (PrintStream out = new PrintStream(
+                new BufferedOutputStream(new FileOutputStream(dir.resolve("stdout.log").toFile()), 8192), true)) {
+            // Warmup
+            run(threads, messages / 4, gapMicros, id -> println(out, id));
+            report("println", run(threads, messages, gapMicros, id -> println(out, id)), threads * messages);
+        }
+
+        try (Journal warmup = new Journal(dir.resolve("warmup.jsonl"), Journal.Level.INFO,
+                Journal.DEFAULT_CAPACITY, Journal.DEFAULT_MAX_FILE_BYTES)) {
+            run(threads, messages / 4, gapMicros, id -> record(warmup, id));
+        }
+        Journal journal = new Journal(dir.resolve("journal.jsonl"), Journal.Level.INFO,
+                Journal.DEFAULT_CAPACITY, Journal.DEFAULT_MAX_FILE_BYTES);
+        LatencyHistogram histogram = run(threads, messages, gapMicros, id -> record(journal, id));
+        long drainStart = System.nanoTime();
+        journal.close();
+        report("journal", histogram, threads * messages);
+        System.out.printf("  written=%d, dropped=%d, close drained the rest in %.1f ms%n",
+                journal.getWrittenCount(), journal.getDroppedCount(), (System.nanoTime() - drainStart) / 1e6);
+
+        Journal off = new Journal(dir.resolve("off.jsonl"), Journal.Level.OFF,
+                Journal.DEFAULT_CAPACITY, Journal.DEFAULT_MAX_FILE_BYTES);
+        run(threads, messages / 4, gapMicros, id -> record(off, id));
+        report("journal OFF", run(threads, messages, gapMicros, id -> record(off, id)), threads * messages);
+        off.close();
+
+        deleteAll(dir);
+    }
+
+    /**
+     * Lo que hacía logNonMonster antes del diario
+     */
+    private static void println(PrintStream out, int id) {
+        out.println("Carta obtenida no es monstruo: " + NAME + " (Tipo: " + TYPE + "). Reintentando...");
+    }
+
+    private static void record(Journal journal, int id) {
+        journal.info("api.nonMonster")
+                .add("id", id)
+                .add("name", NAME)
+                .add("type", TYPE)
+                .commit();
+    }
+
+    private static LatencyHistogram run(int threads, int messages, long gapMicros, Logger logger)
+            throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram("log");
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int base = t * messages;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < messages; i++) {
+                    long start = System.nanoTime();
+                    logger.log(base + i);
+                    histogram.record(System.nanoTime() - start);
+                    if (gapMicros > 0) {
+                        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(gapMicros));
+                    }
+                }
+            }, "bench-" + t);
+            workers[t].start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return histogram;
+    }
+
+    private static void report(String label, LatencyHistogram histogram, long total) {
+        System.out.printf("%-12s mean=%7.2f us  p50=%7.2f us  p99=%8.2f us  p99.9=%8.2f us  max=%9.1f us  (%d calls)%n",
+                label, histogram.getMeanMicros(), histogram.getP50Micros(), histogram.getP99Micros(),
+                histogram.getP999Micros(), histogram.getMaxMicros(), total);
+    }
+
+    private static void deleteAll(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(dir);
+    }
+}
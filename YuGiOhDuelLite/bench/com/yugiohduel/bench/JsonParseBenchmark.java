@@ -0,0 +1,153 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.catalog.CardCatalog;
+import com.yugiohduel.model.Card;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONTokener;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara el parser en streaming (CardJsonReader) con el árbol DOM de org.json
+ * sobre un volcado grande con el formato de cardinfo.php.
+ * El volcado se genera a partir de las respuestas grabadas en bench/fixtures.
+ * Mide tiempo, bytes asignados y pico de heap de cada camino.
+ *
+ * Uso: java com.yugiohduel.bench.JsonParseBenchmark [cartas] [iteraciones]
+ */
+public class JsonParseBenchmark {
+
+    interface Loader {
+        int load(Path dump) throws IOException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int cardCount = args.length > 0 ? Integer.parseInt(args[0]) : 12_000;
+        int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        Path dump = Files.createTempFile("cardinfo-bench", ".json");
+        try {
+            writeDump(dump, cardCount);
+            System.out.printf("dump: %d cards, %.1f MB%n", cardCount, Files.size(dump) / 1048576.0);
+
+            Loader dom = JsonParseBenchmark::loadWithDom;
+            Loader streaming = path -> CardCatalog.load(path).size();
+
+            // Calentamiento y verificación de que ambos caminos coinciden
+            int domCards = dom.load(dump);
+            int streamedCards = streaming.load(dump);
+            if (domCards != streamedCards) {
+                throw new IllegalStateException("DOM=" + domCards + " streaming=" + streamedCards);
+            }
+
+            report("org.json DOM", dom, dump, iterations);
+            report("CardJsonReader", streaming, dump, iterations);
+        } finally {
+            Files.deleteIfExists(dump);
+        }
+    }
+
+    /**
+     * Camino anterior: árbol JSON completo y conversión carta a carta
+     */
+    private static int loadWithDom(Path dump) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(dump, StandardCharsets.UTF_8)) {
+            JSONArray data = new JSONObject(new JSONTokener(reader)).getJSONArray("data");
+            List<Card> cards = new ArrayList<>(data.length());
+            for (int i = 0; i < data.length(); i++) {
+                JSONObject cardData = data.getJSONObject(i);
+                cards.add(new Card(
+                        cardData.optInt("id", 0),
+                        cardData.getString("name"),
+                        cardData.optInt("atk", 0),
+                        cardData.optInt("def", 0),
+                        cardData.getJSONArray("card_images").getJSONObject(0).getString("image_url"),
+                        cardData.getString("type")));
+            }
+            return cards.size();
+        }
+    }
+
+    /**
+     * Genera un volcado replicando las cartas grabadas con ids y nombres distintos
+     */
+    static void writeDump(Path target, int cardCount) throws IOException {
+        List<JSONObject> templates = new ArrayList<>();
+        for (byte[] fixture : StubApiServer.loadFixtures(StubApiServer.DEFAULT_FIXTURES)) {
+            try (InputStream in = new ByteArrayInputStream(fixture)) {
+                templates.add(new JSONObject(new JSONTokener(new InputStreamReader(in, StandardCharsets.UTF_8)))
+                        .getJSONArray("data").getJSONObject(0));
+            }
+        }
+
+        try (BufferedWriter out = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            out.write("{\"data\":[");
+            for (int i = 0; i < cardCount; i++) {
+                JSONObject card = new JSONObject(templates.get(i % templates.size()).toString());
+                int id = 10_000_000 + i;
+                card.put("id", id);
+                card.put("name", card.getString("name") + " " + i);
+                card.getJSONArray("card_images").getJSONObject(0)
+                        .put("id", id)
+                        .put("image_url", "https://images.ygoprodeck.com/images/cards/" + id + ".jpg");
+                if (i > 0) {
+                    out.write(',');
+                }
+                out.write(card.toString());
+            }
+            out.write("]}");
+        }
+    }
+
+    private static void report(String name, Loader loader, Path dump, int iterations) throws IOException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        System.gc();
+        resetHeapPeaks();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        for (int i = 0; i < iterations; i++) {
+            loader.load(dump);
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        System.out.printf("%-16s %8.1f ms/load  %8.1f MB allocated/load  peak heap %6.1f MB%n",
+                name, elapsed / 1e6 / iterations, allocated / 1048576.0 / iterations, heapPeak() / 1048576.0);
+    }
+
+    private static void resetHeapPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long heapPeak() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,42 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.api.YgoApiClient;
+import com.yugiohduel.model.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * YgoApiClient.parseCardFromJson sobre respuestas grabadas de randomcard.php
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ParseBenchmark {
+
+    @Param({"dark-magician", "blue-eyes-white-dragon", "kuriboh", "pot-of-greed", "mirror-force"})
+    public String fixture;
+
+    private String payload;
+
+    @Setup
+    public void loadFixture() throws IOException {
+        payload = new String(Files.readAllBytes(
+                StubApiServer.DEFAULT_FIXTURES.resolve(fixture + ".json")), StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Card parseCardFromJson() {
+        return YgoApiClient.parseCardFromJson(payload);
+    }
+}
@@ -0,0 +1,145 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.api.RequestScheduler;
+import com.yugiohduel.api.RequestScheduler.Priority;
+import com.yugiohduel.api.TransportConfig;
+import com.yugiohduel.api.YgoApiClient;
+import com.yugiohduel.metrics.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Varios procesos que comparten IP cargan duelos contra el servidor local,
+ * que aplica un límite de peticiones por segundo y responde 429 al pasarse.
+ * Compara el cliente directo (el transporte reintenta los 429 con espera)
+ * con un {@link RequestScheduler} por proceso, que ajusta su ritmo (AIMD).
+ *
+ * Después mide, con un solo planificador, lo que espera un duelo visible
+ * detrás de una cola de precarga, y cuántas descargas hace falta para una
+ * misma imagen pedida a la vez desde varios hilos.
+ *
+ * Uso: java com.yugiohduel.bench.RateLimitBenchmark [duelosPorProceso] [procesos] [límitePorSegundo]
+ */
+public class RateLimitBenchmark {
+    private static final int CARDS_PER_DUEL = 6;
+    private static final long LATENCY_MILLIS = 10;
+
+    public static void main(String[] args) throws Exception {
+        int duels = args.length > 0 ? Integer.parseInt(args[0]) : 10;
+        int processes = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+        int limit = args.length > 2 ? Integer.parseInt(args[2]) : 20;
+
+        System.out.printf("processes=%d duels per process=%d cards per duel=%d server limit=%d/s%n",
+                processes, duels, CARDS_PER_DUEL, limit);
+        runSharedIp("direct   ", duels, processes, limit, false);
+        runSharedIp("scheduled", duels, processes, limit, true);
+        runPriority();
+        runCoalescing();
+    }
+
+    private static void runSharedIp(String label, int duels, int processes, int limit,
+                                    boolean scheduled) throws Exception {
+        try (StubApiServer server = new StubApiServer(
+                StubApiServer.loadFixtures(StubApiServer.DEFAULT_FIXTURES), LATENCY_MILLIS)) {
+            server.setRateLimit(limit, limit);
+            TransportConfig config = TransportConfig.builder()
+                    .backoff(Duration.ofMillis(100), Duration.ofSeconds(2))
+                    .build();
+
+            LatencyHistogram duelTimes = new LatencyHistogram(label);
+            AtomicInteger failed = new AtomicInteger();
+            List<RequestScheduler> schedulers = new ArrayList<>();
+            List<Thread> threads = new ArrayList<>();
+            long start = System.nanoTime();
+            for (int p = 0; p < processes; p++) {
+                RequestScheduler scheduler = scheduled
+                        ? new RequestScheduler(RequestScheduler.DEFAULT_RATE, RequestScheduler.DEFAULT_BURST,
+                                RequestScheduler.DEFAULT_MAX_CONCURRENT)
+                        : null;
+                if (scheduler != null) {
+                    schedulers.add(scheduler);
+                }
+                YgoApiClient client = new YgoApiClient(server.randomCardUri(), 4, config, scheduler);
+                Thread thread = new Thread(() -> {
+                    for (int i = 0; i < duels; i++) {
+                        long duelStart = System.nanoTime();
+                        try {
+                            client.getRandomMonsterCards(CARDS_PER_DUEL).get();
+                        } catch (Exception e) {
+                            failed.incrementAndGet();
+                        }
+                        synchronized (duelTimes) {
+                            duelTimes.record(System.nanoTime() - duelStart);
+                        }
+                    }
+                });
+                threads.add(thread);
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+
+            int total = duels * processes;
+            int accepted = server.getRequestCount() - server.getRateLimitedCount();
+            System.out.printf("%s: loaded=%d failed=%d in %.1f s, duel p50=%.0f ms p99=%.0f ms, "
+                            + "requests=%d (429=%d, accepted %.1f/s)%n",
+                    label, total - failed.get(), failed.get(), seconds,
+                    duelTimes.getP50Micros() / 1000, duelTimes.getP99Micros() / 1000,
+                    server.getRequestCount(), server.getRateLimitedCount(), accepted / seconds);
+            for (RequestScheduler scheduler : schedulers) {
+                System.out.printf("           scheduler rate now %.1f/s (max %.0f), 429 seen %d%n",
+                        scheduler.getCurrentRate(), scheduler.getMaxRate(), scheduler.getRateLimitedCount());
+            }
+        }
+    }
+
+    /**
+     * Un duelo pedido detrás de 60 peticiones de precarga, como PREFETCH y como VISIBLE
+     */
+    private static void runPriority() throws Exception {
+        try (StubApiServer server = new StubApiServer(
+                StubApiServer.loadFixtures(StubApiServer.DEFAULT_FIXTURES), LATENCY_MILLIS)) {
+            for (Priority priority : new Priority[] {Priority.PREFETCH, Priority.VISIBLE}) {
+                RequestScheduler scheduler = new RequestScheduler(RequestScheduler.DEFAULT_RATE,
+                        RequestScheduler.DEFAULT_BURST, RequestScheduler.DEFAULT_MAX_CONCURRENT);
+                YgoApiClient client = new YgoApiClient(server.randomCardUri(), 4,
+                        TransportConfig.defaults(), scheduler);
+                CompletableFuture<?> prefetch = client.getRandomMonsterCards(60, Priority.PREFETCH);
+
+                long start = System.nanoTime();
+                client.getRandomMonsterCards(CARDS_PER_DUEL, priority).get();
+                System.out.printf("duel behind 60 prefetch requests as %-8s: %5.0f ms%n",
+                        priority, (System.nanoTime() - start) / 1e6);
+                prefetch.get();
+            }
+        }
+    }
+
+    /**
+     * Ocho hilos piden a la vez la misma imagen
+     */
+    private static void runCoalescing() throws Exception {
+        RequestScheduler scheduler = new RequestScheduler(RequestScheduler.DEFAULT_RATE,
+                RequestScheduler.DEFAULT_BURST, RequestScheduler.DEFAULT_MAX_CONCURRENT);
+        AtomicInteger downloads = new AtomicInteger();
+        List<CompletableFuture<byte[]>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(scheduler.submitBlocking("https://images.example/89631139.jpg", Priority.VISIBLE, () -> {
+                downloads.incrementAndGet();
+                Thread.sleep(50);
+                return new byte[1024];
+            }));
+        }
+        for (CompletableFuture<byte[]> future : futures) {
+            future.get();
+        }
+        System.out.printf("8 concurrent requests for one image: downloads=%d coalesced=%d%n",
+                downloads.get(), scheduler.getCoalescedCount());
+    }
+}
@@ -0,0 +1,162 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.game.BattleListener;
+import com.yugiohduel.game.Duel;
+import com.yugiohduel.game.Outcome;
+import com.yugiohduel.replay.DuelRecord;
+import com.yugiohduel.replay.ReplayPlayer;
+import com.yugiohduel.replay.ReplayReader;
+import com.yugiohduel.replay.ReplayWriter;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Escribe y recorre un archivo con millones de duelos: tamaño en disco,
+ * escritura, lectura con decodificación, salto de registros y reproducción
+ * hasta el estado final. Verifica que lo leído coincida con lo escrito.
+ *
+ * Uso: java com.yugiohduel.bench.ReplayArchiveBenchmark [duelos]
+ */
+public class ReplayArchiveBenchmark {
+    private static final long SEED = 42;
+
+    public static void main(String[] args) throws Exception {
+        int duels = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path archive = Files.createTempFile("replays", ".bin");
+        try {
+            long start = System.nanoTime();
+            SplittableRandom random = new SplittableRandom(SEED);
+            try (ReplayWriter writer = new ReplayWriter(archive)) {
+                for (int i = 0; i < duels; i++) {
+                    writer.append(randomDuel(random));
+                }
+            }
+            report("write", duels, System.nanoTime() - start);
+            System.out.printf("archive: %.1f MB (%.1f bytes/duel)%n",
+                    Files.size(archive) / 1048576.0, (double) Files.size(archive) / duels);
+
+            // Lectura completa, comparando con los mismos duelos regenerados
+            start = System.nanoTime();
+            SplittableRandom expected = new SplittableRandom(SEED);
+            long read = 0;
+            try (ReplayReader reader = new ReplayReader(archive)) {
+                DuelRecord record;
+                while ((record = reader.next()) != null) {
+                    if (!record.equals(randomDuel(expected))) {
+                        throw new IllegalStateException("El duelo " + read + " no coincide con el escrito");
+                    }
+                    read++;
+                }
+            }
+            report("read+verify", read, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            long skipped = 0;
+            try (ReplayReader reader = new ReplayReader(archive)) {
+                while (reader.skip()) {
+                    skipped++;
+                }
+            }
+            report("skip", skipped, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            WinCounter wins = new WinCounter();
+            ReplayPlayer player = new ReplayPlayer(id -> null);
+            long played;
+            try (ReplayReader reader = new ReplayReader(archive)) {
+                played = reader.forEach(record -> player.jumpToEnd(record, wins));
+            }
+            report("jumpToEnd", played, System.nanoTime() - start);
+            System.out.printf("player wins=%d ai wins=%d no winner=%d%n",
+                    wins.player, wins.ai, played - wins.player - wins.ai);
+        } finally {
+            Files.deleteIfExists(archive);
+        }
+    }
+
+    /**
+     * Duelo aleatorio con las reglas del juego: se juegan las cartas en
+     * orden aleatorio y gana quien llegue primero a WINNING_SCORE
+     */
+    private static DuelRecord randomDuel(SplittableRandom random) {
+        int hand = Duel.HAND_SIZE;
+        int[] playerIds = new int[hand];
+        int[] aiIds = new int[hand];
+        int[] playerAtk = new int[hand];
+        int[] aiAtk = new int[hand];
+        for (int i = 0; i < hand; i++) {
+            playerIds[i] = random.nextInt(100_000_000);
+            aiIds[i] = random.nextInt(100_000_000);
+            playerAtk[i] = random.nextInt(31) * 100;
+            aiAtk[i] = random.nextInt(31) * 100;
+        }
+        int[] playerOrder = shuffled(hand, random);
+        int[] aiOrder = shuffled(hand, random);
+
+        Outcome[] outcomes = new Outcome[hand];
+        int playerScore = 0;
+        int aiScore = 0;
+        int turns = 0;
+        while (turns < hand && playerScore < Duel.WINNING_SCORE && aiScore < Duel.WINNING_SCORE) {
+            int p = playerAtk[playerOrder[turns]];
+            int a = aiAtk[aiOrder[turns]];
+            Outcome outcome = p > a ? Outcome.PLAYER : a > p ? Outcome.AI : Outcome.DRAW;
+            if (outcome == Outcome.PLAYER) {
+                playerScore++;
+            } else if (outcome == Outcome.AI) {
+                aiScore++;
+            }
+            outcomes[turns++] = outcome;
+        }
+        Outcome winner = playerScore >= Duel.WINNING_SCORE ? Outcome.PLAYER
+                : aiScore >= Duel.WINNING_SCORE ? Outcome.AI : null;
+
+        return DuelRecord.of(random.nextLong(), playerIds, aiIds,
+                Arrays.copyOf(playerOrder, turns), Arrays.copyOf(aiOrder, turns),
+                Arrays.copyOf(outcomes, turns), winner);
+    }
+
+    private static int[] shuffled(int n, SplittableRandom random) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    private static void report(String name, long duels, long nanos) {
+        System.out.printf("%-12s %,d duels in %.0f ms (%.2f M duels/s)%n",
+                name, duels, nanos / 1e6, duels / (nanos / 1e9) / 1e6);
+    }
+
+    private static final class WinCounter implements BattleListener {
+        long player;
+        long ai;
+
+        @Override
+        public void onTurn(String playerCard, String aiCard, String winner) {
+        }
+
+        @Override
+        public void onScoreChanged(int playerScore, int aiScore) {
+        }
+
+        @Override
+        public void onDuelEnded(String winner) {
+            if (Outcome.PLAYER.getLabel().equals(winner)) {
+                player++;
+            } else if (Outcome.AI.getLabel().equals(winner)) {
+                ai++;
+            }
+        }
+    }
+}
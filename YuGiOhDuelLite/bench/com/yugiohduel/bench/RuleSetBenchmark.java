@@ -0,0 +1,100 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.game.Outcome;
+import com.yugiohduel.rules.RuleSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Turnos resueltos por segundo: la comparación fija de ATK que tenía Duel
+ * contra las reglas compiladas de {@link RuleSet}. Las cartas son ATK/DEF
+ * múltiplos de 100, como el catálogo, así hay empates y las ramas no se
+ * pueden predecir.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RuleSetBenchmark {
+    private static final int TURNS = 1024;
+
+    private final int[] playerAtk = new int[TURNS];
+    private final int[] playerDef = new int[TURNS];
+    private final int[] aiAtk = new int[TURNS];
+    private final int[] aiDef = new int[TURNS];
+    private final int[] tally = new int[Outcome.values().length];
+
+    @Setup
+    public void setUp() {
+        SplittableRandom rng = new SplittableRandom(42);
+        for (int i = 0; i < TURNS; i++) {
+            playerAtk[i] = rng.nextInt(31) * 100;
+            playerDef[i] = rng.nextInt(31) * 100;
+            aiAtk[i] = rng.nextInt(31) * 100;
+            aiDef[i] = rng.nextInt(31) * 100;
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS)
+    public int hardCodedCompareAtk() {
+        for (int i = 0; i < TURNS; i++) {
+            tally[compareAtk(playerAtk[i], aiAtk[i]).ordinal()]++;
+        }
+        return tally[0];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS)
+    public int classic() {
+        return resolveAll(RuleSet.CLASSIC);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS)
+    public int positions() {
+        return resolveAll(RuleSet.POSITIONS);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TURNS)
+    public int lifePoints() {
+        RuleSet rules = RuleSet.LIFE_POINTS;
+        int damage = 0;
+        for (int i = 0; i < TURNS; i++) {
+            int result = rules.resolve((i & 1) == 0, playerAtk[i], playerDef[i], aiAtk[i], aiDef[i]);
+            tally[RuleSet.outcome(result).ordinal()]++;
+            damage += RuleSet.playerDamage(result) - RuleSet.aiDamage(result);
+        }
+        return tally[0] + damage;
+    }
+
+    private int resolveAll(RuleSet rules) {
+        for (int i = 0; i < TURNS; i++) {
+            int result = rules.resolve((i & 1) == 0, playerAtk[i], playerDef[i], aiAtk[i], aiDef[i]);
+            tally[RuleSet.outcome(result).ordinal()]++;
+        }
+        return tally[0];
+    }
+
+    /**
+     * La comparación que tenía Duel antes de las reglas: gana el mayor ATK
+     */
+    private static Outcome compareAtk(int playerPower, int aiPower) {
+        if (playerPower > aiPower) {
+            return Outcome.PLAYER;
+        } else if (aiPower > playerPower) {
+            return Outcome.AI;
+        } else {
+            return Outcome.DRAW;
+        }
+    }
+}
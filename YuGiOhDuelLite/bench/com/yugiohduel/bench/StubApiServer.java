@@ -0,0 +1,316 @@
+package com.yugiohduel.bench;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Servidor HTTP local que imita el endpoint randomcard.php de YGOProDeck.
+ * Sirve respuestas grabadas en orden circular con una latencia configurable,
+ * para medir y probar el cliente sin depender de la red.
+ *
+ * También puede inyectar fallos (códigos de error y respuestas que se cuelgan)
+ * con una semilla fija, comprimir con gzip si el cliente lo acepta y
+ * aplicar un límite de peticiones por segundo que responde 429, como la API real.
+ */
+public class StubApiServer implements AutoCloseable {
+    public static final String RANDOM_CARD_PATH = "/api/v7/randomcard.php";
+    public static final String CARD_INFO_PATH = "/api/v7/cardinfo.php";
+    public static final String IMAGES_PATH = "/images/";
+    public static final Path DEFAULT_FIXTURES = Paths.get("bench", "fixtures", "randomcard");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<byte[]> responses;
+    private final AtomicInteger nextResponse = new AtomicInteger();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile long latencyMillis;
+    private volatile byte[] catalog;
+    private volatile byte[] image;
+
+    // Inyección de fallos
+    private final Random faultRandom = new Random(42);
+    private final AtomicInteger faultCount = new AtomicInteger();
+    private volatile double failureRate;
+    private volatile int failureStatus = 503;
+    private volatile double stallRate;
+    private volatile long stallMillis;
+    private volatile boolean compression;
+
+    // Límite de peticiones: cubeta de fichas, 0 = sin límite
+    private final Object limitLock = new Object();
+    private final AtomicInteger rateLimitedCount = new AtomicInteger();
+    private double limitPerSecond;
+    private double limitBurst;
+    private double limitTokens;
+    private long limitRefill;
+
+    public StubApiServer(List<byte[]> responses, long latencyMillis) throws IOException {
+        if (responses.isEmpty()) {
+            throw new IllegalArgumentException("Se necesita al menos una respuesta grabada");
+        }
+        this.responses = new ArrayList<>(responses);
+        this.latencyMillis = latencyMillis;
+        this.executor = Executors.newCachedThreadPool(r -> {
+            Thread thread = new Thread(r, "stub-api");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        this.server.createContext(RANDOM_CARD_PATH, this::handleRandomCard);
+        this.server.createContext(CARD_INFO_PATH, this::handleCardInfo);
+        this.server.createContext(IMAGES_PATH, this::handleImage);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * Carga todas las respuestas .json de un directorio, en orden alfabético
+     */
+    public static List<byte[]> loadFixtures(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*.json")) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort(null);
+
+        List<byte[]> fixtures = new ArrayList<>();
+        for (Path file : files) {
+            fixtures.add(Files.readAllBytes(file));
+        }
+        return fixtures;
+    }
+
+    private void handleRandomCard(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            if (!tryAcquire()) {
+                rateLimitedCount.incrementAndGet();
+                byte[] body = "{\"error\":\"rate limit exceeded\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                exchange.sendResponseHeaders(429, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+                return;
+            }
+
+            long latency = latencyMillis;
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+
+            double roll = faultRandom.nextDouble();
+            if (roll < stallRate) {
+                // Respuesta que se cuelga: el cliente debe agotar su tiempo máximo
+                faultCount.incrementAndGet();
+                Thread.sleep(stallMillis);
+            } else if (roll < stallRate + failureRate) {
+                faultCount.incrementAndGet();
+                byte[] body = "{\"error\":\"injected fault\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(failureStatus, body.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(body);
+                }
+                return;
+            }
+
+            int index = Math.floorMod(nextResponse.getAndIncrement(), responses.size());
+            sendJson(exchange, responses.get(index));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            byte[] body = "{\"error\":\"interrupted\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(503, body.length);
+            exchange.getResponseBody().write(body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private boolean tryAcquire() {
+        synchronized (limitLock) {
+            if (limitPerSecond <= 0) {
+                return true;
+            }
+            long now = System.nanoTime();
+            limitTokens = Math.min(limitBurst, limitTokens + (now - limitRefill) * limitPerSecond / 1e9);
+            limitRefill = now;
+            if (limitTokens < 1) {
+                return false;
+            }
+            limitTokens -= 1;
+            return true;
+        }
+    }
+
+    private void handleCardInfo(HttpExchange exchange) throws IOException {
+        try {
+            byte[] body = catalog;
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            sendJson(exchange, body);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Misma imagen para cualquier ruta bajo /images/, con la latencia configurada
+     */
+    private void handleImage(HttpExchange exchange) throws IOException {
+        try {
+            byte[] body = image;
+            if (body == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            long latency = latencyMillis;
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+            exchange.getResponseHeaders().set("Content-Type", "image/jpeg");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.sendResponseHeaders(503, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sendJson(HttpExchange exchange, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        String accepted = exchange.getRequestHeaders().getFirst("Accept-Encoding");
+        if (compression && accepted != null && accepted.contains("gzip")) {
+            body = gzip(body);
+            exchange.getResponseHeaders().set("Content-Encoding", "gzip");
+        }
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static byte[] gzip(byte[] body) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(body.length / 2);
+        try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+            out.write(body);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Define el volcado que se servirá en cardinfo.php
+     */
+    public void setCatalog(byte[] catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Define la imagen que se servirá bajo /images/
+     */
+    public void setImage(byte[] image) {
+        this.image = image;
+    }
+
+    /**
+     * URL de una imagen servida por este servidor
+     * @param name Nombre del archivo, distinto para no reutilizar cachés
+     */
+    public String imageUrl(String name) {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + IMAGES_PATH + name;
+    }
+
+    public URI randomCardUri() {
+        return URI.create("http://127.0.0.1:" + server.getAddress().getPort() + RANDOM_CARD_PATH);
+    }
+
+    public void setLatencyMillis(long latencyMillis) {
+        this.latencyMillis = latencyMillis;
+    }
+
+    /**
+     * Responde con un código de error a una fracción de las peticiones a randomcard.php
+     * @param rate Fracción de peticiones que fallan (0 a 1)
+     * @param status Código HTTP devuelto, por ejemplo 503 o 429
+     */
+    public void setFailureRate(double rate, int status) {
+        this.failureRate = rate;
+        this.failureStatus = status;
+    }
+
+    /**
+     * Deja colgada una fracción de las peticiones antes de responder
+     * @param rate Fracción de peticiones que se cuelgan (0 a 1)
+     * @param stallMillis Tiempo que se retiene la respuesta
+     */
+    public void setStallRate(double rate, long stallMillis) {
+        this.stallRate = rate;
+        this.stallMillis = stallMillis;
+    }
+
+    /**
+     * Comprime con gzip las respuestas si el cliente envía Accept-Encoding: gzip
+     */
+    public void setCompression(boolean compression) {
+        this.compression = compression;
+    }
+
+    /**
+     * Responde 429 (con Retry-After: 1) a las peticiones a randomcard.php que
+     * superen el ritmo indicado
+     * @param perSecond Peticiones por segundo admitidas, 0 para quitar el límite
+     * @param burst Peticiones seguidas admitidas tras un rato sin actividad
+     */
+    public void setRateLimit(double perSecond, int burst) {
+        synchronized (limitLock) {
+            this.limitPerSecond = perSecond;
+            this.limitBurst = burst;
+            this.limitTokens = burst;
+            this.limitRefill = System.nanoTime();
+        }
+    }
+
+    public int getRateLimitedCount() {
+        return rateLimitedCount.get();
+    }
+
+    public int getFaultCount() {
+        return faultCount.get();
+    }
+
+    public int getRequestCount() {
+        return requestCount.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
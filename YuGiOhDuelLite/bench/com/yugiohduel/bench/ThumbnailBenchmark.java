@@ -0,0 +1,115 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.ui.CardImageCache;
+import com.yugiohduel.ui.CardThumbnails;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compara decodificar+escalar con el camino anterior de DuelUI
+ * (ImageIO.read + getScaledInstance(SCALE_SMOOTH)) frente a CardThumbnails,
+ * usando las imágenes de assets/ como datos de entrada.
+ * Mide tiempo por imagen, bytes asignados y pico de heap de cada camino.
+ *
+ * Uso: java com.yugiohduel.bench.ThumbnailBenchmark [iteraciones]
+ */
+public class ThumbnailBenchmark {
+    private static final int SIZE = CardImageCache.THUMBNAIL_SIZE;
+
+    interface Pipeline {
+        BufferedImage apply(byte[] encoded) throws Exception;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int iterations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+
+        List<byte[]> fixtures = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            fixtures.add(Files.readAllBytes(Paths.get("assets", "Imagen" + i + ".png")));
+        }
+
+        Pipeline legacy = ThumbnailBenchmark::legacyScale;
+        Pipeline thumbnails = encoded -> CardThumbnails.create(encoded, SIZE, SIZE);
+
+        // Calentamiento
+        run(legacy, fixtures, iterations / 5 + 1);
+        run(thumbnails, fixtures, iterations / 5 + 1);
+
+        report("getScaledInstance", legacy, fixtures, iterations);
+        report("CardThumbnails", thumbnails, fixtures, iterations);
+    }
+
+    /**
+     * Camino original: la imagen escalada es perezosa, así que se fuerza su
+     * rasterización dibujándola, tal como ocurriría al pintar en el EDT
+     */
+    private static BufferedImage legacyScale(byte[] encoded) throws Exception {
+        BufferedImage img = ImageIO.read(new ByteArrayInputStream(encoded));
+        Image scaled = img.getScaledInstance(SIZE, SIZE, Image.SCALE_SMOOTH);
+        BufferedImage target = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = target.createGraphics();
+        g.drawImage(scaled, 0, 0, null);
+        g.dispose();
+        return target;
+    }
+
+    private static void run(Pipeline pipeline, List<byte[]> fixtures, int iterations) throws Exception {
+        for (int i = 0; i < iterations; i++) {
+            for (byte[] encoded : fixtures) {
+                if (pipeline.apply(encoded).getWidth() != SIZE) {
+                    throw new IllegalStateException("Tamaño de miniatura inesperado");
+                }
+            }
+        }
+    }
+
+    private static void report(String name, Pipeline pipeline, List<byte[]> fixtures, int iterations)
+            throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        System.gc();
+        resetHeapPeaks();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+
+        run(pipeline, fixtures, iterations);
+
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+        int images = iterations * fixtures.size();
+
+        System.out.printf("%-18s %8.3f ms/img  %10d bytes/img  peak heap %6.1f MB%n",
+                name, elapsed / 1e6 / images, allocated / images, heapPeak() / 1048576.0);
+    }
+
+    private static void resetHeapPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long heapPeak() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
@@ -0,0 +1,83 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.api.TransportConfig;
+import com.yugiohduel.api.YgoApiClient;
+import com.yugiohduel.metrics.LatencyHistogram;
+import com.yugiohduel.model.Card;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Carga de duelos (6 cartas) contra el servidor local con fallos inyectados:
+ * una fracción de 503 y algunas respuestas colgadas. Compara un transporte
+ * sin reintentos ni tiempo máximo (como el cliente original) con el
+ * transporte configurado con tiempos máximos, reintentos y gzip.
+ *
+ * Uso: java com.yugiohduel.bench.TransportFaultBenchmark [duelos] [tasaFallos] [tasaCuelgues]
+ */
+public class TransportFaultBenchmark {
+    private static final int CARDS_PER_DUEL = 6;
+    private static final long LATENCY_MILLIS = 10;
+    private static final long STALL_MILLIS = 3000;
+
+    public static void main(String[] args) throws Exception {
+        int duels = args.length > 0 ? Integer.parseInt(args[0]) : 40;
+        double failureRate = args.length > 1 ? Double.parseDouble(args[1]) : 0.10;
+        double stallRate = args.length > 2 ? Double.parseDouble(args[2]) : 0.02;
+
+        TransportConfig legacy = TransportConfig.builder()
+                .http2(false)
+                .compression(false)
+                .requestTimeout(Duration.ofMinutes(1))
+                .maxRetries(0)
+                .build();
+        TransportConfig tuned = TransportConfig.builder()
+                .requestTimeout(Duration.ofMillis(500))
+                .backoff(Duration.ofMillis(20), Duration.ofSeconds(1))
+                .maxRetries(4)
+                .build();
+
+        System.out.printf("duels=%d failureRate=%.2f stallRate=%.2f stall=%dms%n",
+                duels, failureRate, stallRate, STALL_MILLIS);
+        run("legacy", legacy, duels, failureRate, stallRate);
+        run("tuned ", tuned, duels, failureRate, stallRate);
+    }
+
+    private static void run(String label, TransportConfig config, int duels,
+                            double failureRate, double stallRate) throws Exception {
+        try (StubApiServer server = new StubApiServer(
+                StubApiServer.loadFixtures(StubApiServer.DEFAULT_FIXTURES), LATENCY_MILLIS)) {
+            server.setCompression(true);
+            YgoApiClient client = new YgoApiClient(server.randomCardUri(), 4, config);
+
+            // Calentamiento sin fallos
+            client.getRandomMonsterCards(CARDS_PER_DUEL).get();
+
+            server.setFailureRate(failureRate, 503);
+            server.setStallRate(stallRate, STALL_MILLIS);
+
+            LatencyHistogram duelTimes = new LatencyHistogram(label);
+            int failed = 0;
+            for (int i = 0; i < duels; i++) {
+                long start = System.nanoTime();
+                try {
+                    List<Card> cards = client.getRandomMonsterCards(CARDS_PER_DUEL).get();
+                    if (cards.size() != CARDS_PER_DUEL) {
+                        throw new IllegalStateException("El lote devolvió " + cards.size() + " cartas");
+                    }
+                } catch (Exception e) {
+                    failed++;
+                }
+                duelTimes.record(System.nanoTime() - start);
+            }
+
+            System.out.printf("%s: loaded=%d failed=%d p50=%.0f ms p99=%.0f ms max=%.0f ms "
+                            + "(requests=%d, faults=%d)%n",
+                    label, duels - failed, failed,
+                    duelTimes.getP50Micros() / 1000, duelTimes.getP99Micros() / 1000,
+                    duelTimes.getMaxMicros() / 1000,
+                    server.getRequestCount(), server.getFaultCount());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.game.CompactDuel;
+import com.yugiohduel.game.Duel;
+import com.yugiohduel.model.Card;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Mide los bytes asignados por turno al resolver duelos completos con
+ * {@link Duel} frente a {@link CompactDuel}, sin listener suscrito.
+ * El camino compacto debe quedar en cero tras el calentamiento del JIT.
+ *
+ * Uso: java com.yugiohduel.bench.TurnAllocationBenchmark [duelos]
+ */
+public class TurnAllocationBenchmark {
+    private static final Card[] POOL = {
+            new Card(46986414, "Dark Magician", 2500, 2100, "", "Normal Monster"),
+            new Card(89631139, "Blue-Eyes White Dragon", 3000, 2500, "", "Normal Monster"),
+            new Card(40640057, "Kuriboh", 300, 200, "", "Effect Monster"),
+            new Card(70781052, "Summoned Skull", 2500, 1200, "", "Normal Monster"),
+            new Card(38033121, "Dark Magician Girl", 2000, 1700, "", "Effect Monster"),
+            new Card(33396948, "Exodia the Forbidden One", 1000, 1000, "", "Effect Monster"),
+    };
+
+    public static void main(String[] args) {
+        int duels = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+
+        // Calentamiento para que el JIT compile ambos caminos
+        runDuel(duels / 4, 1);
+        runCompact(duels / 4, 1);
+
+        report("Duel", duels, () -> runDuel(duels, 7));
+        report("CompactDuel", duels, () -> runCompact(duels, 7));
+    }
+
+    private static long runDuel(int duels, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        Random aiRandom = new Random(seed);
+        long turns = 0;
+        for (int i = 0; i < duels; i++) {
+            Duel duel = new Duel(aiRandom);
+            for (int c = 0; c < Duel.HAND_SIZE; c++) {
+                duel.addPlayerCard(POOL[rng.nextInt(POOL.length)]);
+                duel.addAiCard(POOL[rng.nextInt(POOL.length)]);
+            }
+            int remaining = Duel.HAND_SIZE;
+            while (!duel.isDuelEnded() && remaining > 0) {
+                duel.playTurn(rng.nextInt(remaining--));
+                turns++;
+            }
+        }
+        return turns;
+    }
+
+    private static long runCompact(int duels, long seed) {
+        SplittableRandom rng = new SplittableRandom(seed);
+        CompactDuel duel = new CompactDuel();
+        long turns = 0;
+        for (int i = 0; i < duels; i++) {
+            duel.reset();
+            for (int c = 0; c < Duel.HAND_SIZE; c++) {
+                Card player = POOL[rng.nextInt(POOL.length)];
+                duel.addPlayerCard(player.getAtk(), player.getDef());
+                Card ai = POOL[rng.nextInt(POOL.length)];
+                duel.addAiCard(ai.getAtk(), ai.getDef());
+            }
+            while (!duel.isDuelEnded()) {
+                duel.playTurn(rng.nextInt(duel.getPlayerCount()), rng.nextInt(duel.getAiCount()));
+            }
+            turns += duel.getTurns();
+        }
+        return turns;
+    }
+
+    interface Run {
+        long turns();
+    }
+
+    private static void report(String name, int duels, Run run) {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        long start = System.nanoTime();
+        long turns = run.turns();
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        System.out.printf("%-12s %10.1f ns/turn  %8.2f bytes/turn  (%d turns, %d duels)%n",
+                name, (double) elapsed / turns, (double) allocated / turns, turns, duels);
+    }
+}
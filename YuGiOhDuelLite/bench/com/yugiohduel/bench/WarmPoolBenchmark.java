@@ -0,0 +1,131 @@
+package com.yugiohduel.bench;
+
+import com.yugiohduel.api.RequestScheduler;
+import com.yugiohduel.api.TransportConfig;
+import com.yugiohduel.api.YgoApiClient;
+import com.yugiohduel.metrics.LatencyHistogram;
+import com.yugiohduel.model.Card;
+import com.yugiohduel.ui.CardImageCache;
+import com.yugiohduel.ui.CardWarmPool;
+import com.yugiohduel.ui.CardWarmPool.ReadyCard;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Tiempo desde pulsar Start Duel hasta tener las 6 cartas con su miniatura,
+ * en duelos seguidos contra el servidor local (cartas e imágenes con latencia).
+ * Compara la carga desde cero de cada duelo con {@link CardWarmPool}.
+ * Cada imagen tiene una URL distinta para que la caché no la reutilice.
+ *
+ * Uso: java com.yugiohduel.bench.WarmPoolBenchmark [duelos] [msEntreDuelos] [latenciaMs]
+ */
+public class WarmPoolBenchmark {
+    private static final int CARDS_PER_DUEL = 6;
+    private static final int MAX_CONCURRENT_LOADS = 4;
+
+    public static void main(String[] args) throws Exception {
+        int duels = args.length > 0 ? Integer.parseInt(args[0]) : 15;
+        // Un duelo de tres turnos dura al menos unos segundos
+        long gapMillis = args.length > 1 ? Long.parseLong(args[1]) : 3000;
+        long latency = args.length > 2 ? Long.parseLong(args[2]) : 40;
+
+        Path cacheDir = Files.createTempDirectory("warm-pool-images");
+        try (StubApiServer server = new StubApiServer(
+                StubApiServer.loadFixtures(StubApiServer.DEFAULT_FIXTURES), latency)) {
+            server.setImage(Files.readAllBytes(Paths.get("assets", "Imagen1.png")));
+            RequestScheduler scheduler = new RequestScheduler(RequestScheduler.DEFAULT_RATE,
+                    RequestScheduler.DEFAULT_BURST, RequestScheduler.DEFAULT_MAX_CONCURRENT);
+            YgoApiClient client = new YgoApiClient(server.randomCardUri(), 4, TransportConfig.defaults(), scheduler);
+            CardImageCache cache = new CardImageCache(cacheDir, 16L * 1024 * 1024, 64L * 1024 * 1024, scheduler);
+            AtomicInteger imageNames = new AtomicInteger();
+            CardWarmPool.CardSource source = count -> client.getRandomMonsterCards(count)
+                    .thenApply(cards -> withLocalImages(cards, server, imageNames));
+
+            System.out.printf("duels=%d gap=%d ms latency=%d ms (cards and images), scheduler %.0f req/s%n",
+                    duels, gapMillis, latency, scheduler.getMaxRate());
+
+            LatencyHistogram cold = new LatencyHistogram("cold");
+            for (int i = 0; i < duels; i++) {
+                long start = System.nanoTime();
+                List<Card> cards = source.fetch(CARDS_PER_DUEL).get();
+                loadThumbnails(cache, cards);
+                cold.record(System.nanoTime() - start);
+                Thread.sleep(gapMillis);
+            }
+            report("cold start", cold, 0, 0);
+
+            LatencyHistogram warm = new LatencyHistogram("warm");
+            try (CardWarmPool pool = new CardWarmPool(source, cache, CARDS_PER_DUEL * 2, CARDS_PER_DUEL * 4)) {
+                pool.start();
+                // La reserva empieza a llenarse al abrir la ventana, antes del primer clic
+                Thread.sleep(gapMillis);
+                for (int i = 0; i < duels; i++) {
+                    long start = System.nanoTime();
+                    List<ReadyCard> ready = pool.take(CARDS_PER_DUEL);
+                    if (ready.size() < CARDS_PER_DUEL) {
+                        List<Card> missing = source.fetch(CARDS_PER_DUEL - ready.size()).get();
+                        loadThumbnails(cache, missing);
+                    }
+                    warm.record(System.nanoTime() - start);
+                    Thread.sleep(gapMillis);
+                }
+                report("warm pool ", warm, pool.getServedCount(), pool.getMissedCount());
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(cacheDir)) {
+                files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Misma carta con una URL de imagen única en el servidor local
+     */
+    private static List<Card> withLocalImages(List<Card> cards, StubApiServer server, AtomicInteger names) {
+        List<Card> local = new ArrayList<>(cards.size());
+        for (Card card : cards) {
+            local.add(new Card(card.getId(), card.getName(), card.getAtk(), card.getDef(),
+                    server.imageUrl(names.incrementAndGet() + ".png"), card.getType()));
+        }
+        return local;
+    }
+
+    /**
+     * Carga las miniaturas como la interfaz, con hasta 4 cargas a la vez
+     */
+    private static void loadThumbnails(CardImageCache cache, List<Card> cards) throws Exception {
+        List<CompletableFuture<Void>> loads = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(MAX_CONCURRENT_LOADS);
+        try {
+            for (Card card : cards) {
+                loads.add(CompletableFuture.runAsync(() -> {
+                    try {
+                        cache.getThumbnail(card.getImageUrl());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(loads.toArray(new CompletableFuture<?>[0])).get();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static void report(String label, LatencyHistogram histogram, long served, long missed) {
+        System.out.printf("%s: click-to-playable p50=%7.2f ms p99=%7.2f ms max=%7.2f ms  (pool served=%d missed=%d)%n",
+                label, histogram.getP50Micros() / 1000, histogram.getP99Micros() / 1000,
+                histogram.getMaxMicros() / 1000, served, missed);
+    }
+}
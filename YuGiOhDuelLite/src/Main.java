@@ -1,15 +1,36 @@
-//TIP To <b>Run</b> code, press <shortcut actionId="Run"/> or
-// click the <icon src="AllIcons.Actions.Execute"/> icon in the gutter.
+import com.yugiohduel.server.DuelLoadGenerator;
+import com.yugiohduel.server.DuelServer;
+import com.yugiohduel.ui.DuelUI;
+
+import java.util.Arrays;
+
+/**
+ * Punto de entrada: la interfaz gráfica por defecto, o un modo sin interfaz
+ * <pre>
+ * Main                                        interfaz Swing
+ * Main server [puerto]                        servidor de duelos
+ * Main loadgen [activas] [inactivas] [segundos] [host] [puerto]
+ *                                             generador de carga
+ * </pre>
+ */
 public class Main {
-    public static void main(String[] args) {
-        //TIP Press <shortcut actionId="ShowIntentionActions"/> with your caret at the highlighted text
-        // to see how IntelliJ IDEA suggests fixing it.
-        System.out.printf("Hello and welcome!");
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "ui";
+        String[] rest = args.length > 0 ? Arrays.copyOfRange(args, 1, args.length) : args;
 
-        for (int i = 1; i <= 5; i++) {
-            //TIP Press <shortcut actionId="Debug"/> to start debugging your code. We have set one <icon src="AllIcons.Debugger.Db_set_breakpoint"/> breakpoint
-            // for you, but you can always add more by pressing <shortcut actionId="ToggleLineBreakpoint"/>.
-            System.out.println("i = " + i);
+        switch (mode) {
+            case "ui":
+                DuelUI.main(rest);
+                break;
+            case "server":
+                DuelServer.main(rest);
+                break;
+            case "loadgen":
+                DuelLoadGenerator.main(rest);
+                break;
+            default:
+                System.err.println("Usage: Main [ui | server [port] | loadgen [active] [idle] [seconds] [host] [port]]");
+                System.exit(2);
         }
     }
-}
\ No newline at end of file
+}
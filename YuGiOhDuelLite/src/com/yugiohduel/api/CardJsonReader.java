@@ -0,0 +1,434 @@
+package com.yugiohduel.api;
+
+import com.yugiohduel.model.Card;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Parser JSON en streaming (tipo pull) para las respuestas de YGOProDeck.
+ * Lee directamente del flujo y solo extrae los campos que necesita Card:
+ * id, name, type, atk, def y la primera image_url. El resto de valores
+ * (descripciones, sets, precios...) se saltan sin crear objetos, así la
+ * memoria usada es constante sin importar el tamaño de la respuesta.
+ */
+public final class CardJsonReader implements Closeable {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader in;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int pos;
+    private int limit;
+
+    // Buffer reutilizable para nombres de campos y cadenas
+    private char[] text = new char[64];
+    private int textLength;
+
+    public CardJsonReader(Reader in) {
+        this.in = in;
+    }
+
+    public CardJsonReader(InputStream in) {
+        this(new InputStreamReader(in, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Lee la primera carta del array "data" (formato de randomcard.php)
+     * @param in Cuerpo de la respuesta
+     * @return Card objeto parseado
+     * @throws IOException si falla la lectura del flujo
+     */
+    public static Card readFirstCard(InputStream in) throws IOException {
+        try (CardJsonReader reader = new CardJsonReader(in)) {
+            return reader.readFirstCard();
+        }
+    }
+
+    /**
+     * Recorre todas las cartas del array "data" (formato de cardinfo.php).
+     * Las cartas incompletas se descartan.
+     * @param in Volcado JSON
+     * @param consumer Recibe cada carta según se parsea
+     * @throws IOException si falla la lectura del flujo
+     */
+    public static void readCards(InputStream in, Consumer<Card> consumer) throws IOException {
+        try (CardJsonReader reader = new CardJsonReader(in)) {
+            reader.readCards(consumer);
+        }
+    }
+
+    /**
+     * Lee la primera carta del array "data"
+     */
+    public Card readFirstCard() throws IOException {
+        Card[] first = new Card[1];
+        boolean found = readData(card -> {
+            if (first[0] == null) {
+                first[0] = card;
+            }
+        }, true);
+
+        if (!found) {
+            throw new RuntimeException("La respuesta no contiene el campo 'data'");
+        }
+        if (first[0] == null) {
+            throw new RuntimeException("El array 'data' está vacío");
+        }
+        return first[0];
+    }
+
+    /**
+     * Recorre todas las cartas del array "data"
+     */
+    public void readCards(Consumer<Card> consumer) throws IOException {
+        if (!readData(consumer, false)) {
+            throw new RuntimeException("La respuesta no contiene el campo 'data'");
+        }
+    }
+
+    /**
+     * Recorre el objeto raíz buscando "error" y "data"
+     * @param strict Si es true, una carta incompleta es un error en lugar de descartarse
+     * @return true si se encontró el campo "data"
+     */
+    private boolean readData(Consumer<Card> consumer, boolean strict) throws IOException {
+        boolean found = false;
+        expect('{');
+        if (!consumeIf('}')) {
+            do {
+                readString();
+                expect(':');
+                if (textEquals("error")) {
+                    readString();
+                    throw new RuntimeException("API Error: " + textValue());
+                } else if (textEquals("data") && peek() == '[') {
+                    found = true;
+                    expect('[');
+                    if (!consumeIf(']')) {
+                        do {
+                            Card card = readCard(strict);
+                            if (card != null) {
+                                consumer.accept(card);
+                            }
+                        } while (consumeIf(','));
+                        expect(']');
+                    }
+                } else {
+                    skipValue();
+                }
+            } while (consumeIf(','));
+            expect('}');
+        }
+        return found;
+    }
+
+    /**
+     * Lee un objeto carta, quedándose solo con los campos necesarios
+     */
+    private Card readCard(boolean strict) throws IOException {
+        int id = 0;
+        String name = null;
+        String type = null;
+        int atk = 0;
+        int def = 0;
+        String imageUrl = null;
+        boolean hasImages = false;
+
+        expect('{');
+        if (!consumeIf('}')) {
+            do {
+                readString();
+                expect(':');
+                if (textEquals("id")) {
+                    id = (int) readIntOrDefault(0);
+                } else if (textEquals("name")) {
+                    name = readStringOrNull();
+                } else if (textEquals("type")) {
+                    type = readStringOrNull();
+                } else if (textEquals("atk")) {
+                    atk = (int) readIntOrDefault(0);
+                } else if (textEquals("def")) {
+                    def = (int) readIntOrDefault(0);
+                } else if (textEquals("card_images") && peek() == '[') {
+                    hasImages = true;
+                    imageUrl = readFirstImageUrl();
+                } else {
+                    skipValue();
+                }
+            } while (consumeIf(','));
+            expect('}');
+        }
+
+        if (name == null || type == null || imageUrl == null) {
+            if (!strict) {
+                return null;
+            }
+            if (name == null || type == null) {
+                throw new RuntimeException("La carta no contiene 'name' o 'type'");
+            }
+            throw new RuntimeException(hasImages
+                    ? "El array de imágenes está vacío"
+                    : "La respuesta no contiene imágenes de la carta");
+        }
+
+        return new Card(id, name, atk, def, imageUrl, type);
+    }
+
+    /**
+     * Devuelve la image_url del primer elemento de card_images
+     */
+    private String readFirstImageUrl() throws IOException {
+        String imageUrl = null;
+        boolean first = true;
+
+        expect('[');
+        if (!consumeIf(']')) {
+            do {
+                if (first && peek() == '{') {
+                    expect('{');
+                    if (!consumeIf('}')) {
+                        do {
+                            readString();
+                            expect(':');
+                            if (textEquals("image_url")) {
+                                imageUrl = readStringOrNull();
+                            } else {
+                                skipValue();
+                            }
+                        } while (consumeIf(','));
+                        expect('}');
+                    }
+                } else {
+                    skipValue();
+                }
+                first = false;
+            } while (consumeIf(','));
+            expect(']');
+        }
+        return imageUrl;
+    }
+
+    // Lectura de valores
+
+    private String readStringOrNull() throws IOException {
+        if (peek() == '"') {
+            readString();
+            return textValue();
+        }
+        skipValue();
+        return null;
+    }
+
+    /**
+     * Lee un entero; null o cualquier otro tipo de valor devuelve el valor por defecto
+     */
+    private long readIntOrDefault(long defaultValue) throws IOException {
+        char c = peek();
+        if (c != '-' && (c < '0' || c > '9')) {
+            skipValue();
+            return defaultValue;
+        }
+
+        // Se copia el número al buffer de texto; los enteros se convierten sin crear objetos
+        textLength = 0;
+        boolean integral = true;
+        while (true) {
+            int next = peekRaw();
+            if (next < 0 || next == ',' || next == '}' || next == ']' || Character.isWhitespace(next)) {
+                break;
+            }
+            if (next == '.' || next == 'e' || next == 'E') {
+                integral = false;
+            }
+            appendText((char) next);
+            pos++;
+        }
+
+        if (!integral) {
+            return (long) Double.parseDouble(textValue());
+        }
+
+        boolean negative = text[0] == '-';
+        long value = 0;
+        for (int i = negative ? 1 : 0; i < textLength; i++) {
+            value = value * 10 + (text[i] - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Lee una cadena en el buffer reutilizable, resolviendo los escapes
+     */
+    private void readString() throws IOException {
+        expect('"');
+        textLength = 0;
+        while (true) {
+            char c = nextChar();
+            if (c == '"') {
+                return;
+            }
+            if (c == '\\') {
+                c = nextChar();
+                switch (c) {
+                    case 'n': c = '\n'; break;
+                    case 't': c = '\t'; break;
+                    case 'r': c = '\r'; break;
+                    case 'b': c = '\b'; break;
+                    case 'f': c = '\f'; break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            code = (code << 4) | Character.digit(nextChar(), 16);
+                        }
+                        c = (char) code;
+                        break;
+                    default:
+                        // '"', '\\' y '/' se copian tal cual
+                        break;
+                }
+            }
+            appendText(c);
+        }
+    }
+
+    /**
+     * Salta un valor completo (objeto, array, cadena o escalar) sin crear objetos
+     */
+    private void skipValue() throws IOException {
+        char c = peek();
+        if (c == '{' || c == '[') {
+            int depth = 0;
+            do {
+                c = nextChar();
+                if (c == '"') {
+                    skipStringBody();
+                } else if (c == '{' || c == '[') {
+                    depth++;
+                } else if (c == '}' || c == ']') {
+                    depth--;
+                }
+            } while (depth > 0);
+        } else if (c == '"') {
+            pos++;
+            skipStringBody();
+        } else {
+            skipScalar();
+        }
+    }
+
+    private void skipStringBody() throws IOException {
+        while (true) {
+            char c = nextChar();
+            if (c == '\\') {
+                nextChar();
+            } else if (c == '"') {
+                return;
+            }
+        }
+    }
+
+    private void skipScalar() throws IOException {
+        while (true) {
+            int c = peekRaw();
+            if (c < 0 || c == ',' || c == '}' || c == ']' || Character.isWhitespace(c)) {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    // Buffer de texto
+
+    private void appendText(char c) {
+        if (textLength == text.length) {
+            char[] grown = new char[text.length * 2];
+            System.arraycopy(text, 0, grown, 0, textLength);
+            text = grown;
+        }
+        text[textLength++] = c;
+    }
+
+    private boolean textEquals(String expected) {
+        if (expected.length() != textLength) {
+            return false;
+        }
+        for (int i = 0; i < textLength; i++) {
+            if (text[i] != expected.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String textValue() {
+        return new String(text, 0, textLength);
+    }
+
+    // Lectura de caracteres
+
+    /**
+     * Siguiente carácter significativo, sin consumirlo
+     */
+    private char peek() throws IOException {
+        while (true) {
+            int c = peekRaw();
+            if (c < 0) {
+                throw new RuntimeException("JSON incompleto");
+            }
+            if (!Character.isWhitespace(c)) {
+                return (char) c;
+            }
+            pos++;
+        }
+    }
+
+    private int peekRaw() throws IOException {
+        if (pos == limit && !fill()) {
+            return -1;
+        }
+        return buffer[pos];
+    }
+
+    private char nextChar() throws IOException {
+        if (pos == limit && !fill()) {
+            throw new RuntimeException("JSON incompleto");
+        }
+        return buffer[pos++];
+    }
+
+    private boolean consumeIf(char expected) throws IOException {
+        if (peek() == expected) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char expected) throws IOException {
+        char c = peek();
+        if (c != expected) {
+            throw new RuntimeException("JSON inválido: se esperaba '" + expected + "' y se encontró '" + c + "'");
+        }
+        pos++;
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        pos = 0;
+        limit = read;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,239 @@
+package com.yugiohduel.api;
+
+import com.yugiohduel.metrics.Metrics;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpHeaders;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Capa de transporte HTTP para la API.
+ * Usa una única conexión HTTP/2 multiplexada cuando el servidor lo permite,
+ * aplica tiempos máximos de conexión y de petición, descomprime gzip/deflate
+ * y reintenta los 5xx, los 429 y los errores de red con espera exponencial
+ * aleatorizada, así una petición lenta o fallida no tumba la carga del duelo.
+ */
+public class HttpTransport {
+    private final HttpClient httpClient;
+    private final TransportConfig config;
+
+    public HttpTransport(TransportConfig config) {
+        this.config = config;
+        this.httpClient = HttpClient.newBuilder()
+                .version(config.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.ALWAYS)
+                .build();
+    }
+
+    /**
+     * GET bloqueante. El cuerpo se entrega ya descomprimido como flujo.
+     * Tras agotar los reintentos se devuelve la última respuesta, sea cual sea su código.
+     * @throws IOException si el último intento falla por red o tiempo agotado
+     */
+    public HttpResponse<InputStream> send(URI uri) throws IOException, InterruptedException {
+        HttpRequest request = buildRequest(uri);
+        for (int attempt = 0; ; attempt++) {
+            HttpResponse<InputStream> response;
+            try {
+                response = httpClient.send(request, decodedStream());
+            } catch (IOException e) {
+                if (attempt >= config.getMaxRetries()) {
+                    throw e;
+                }
+                sleepBeforeRetry(attempt, null);
+                continue;
+            }
+
+            if (!shouldRetry(response.statusCode()) || attempt >= config.getMaxRetries()) {
+                return response;
+            }
+            response.body().close();
+            sleepBeforeRetry(attempt, response);
+        }
+    }
+
+    /**
+     * GET asíncrono con el cuerpo completo ya descomprimido
+     * @return Futuro con la respuesta final, tras los reintentos necesarios
+     */
+    public CompletableFuture<HttpResponse<byte[]>> sendAsync(URI uri) {
+        return sendAsync(buildRequest(uri), 0);
+    }
+
+    private CompletableFuture<HttpResponse<byte[]>> sendAsync(HttpRequest request, int attempt) {
+        return httpClient.sendAsync(request, decodedBytes())
+                .handle((response, error) -> {
+                    boolean lastAttempt = attempt >= config.getMaxRetries();
+                    if (error != null) {
+                        Throwable cause = unwrap(error);
+                        if (lastAttempt || !(cause instanceof IOException)) {
+                            return CompletableFuture.<HttpResponse<byte[]>>failedFuture(cause);
+                        }
+                    } else if (lastAttempt || !shouldRetry(response.statusCode())) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+
+                    Metrics.HTTP_RETRIES.increment();
+                    long delay = backoffMillis(attempt, response);
+                    return CompletableFuture.runAsync(() -> { },
+                                    CompletableFuture.delayedExecutor(delay, TimeUnit.MILLISECONDS))
+                            .thenCompose(ignored -> sendAsync(request, attempt + 1));
+                })
+                .thenCompose(future -> future);
+    }
+
+    public TransportConfig getConfig() {
+        return config;
+    }
+
+    private HttpRequest buildRequest(URI uri) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(config.getRequestTimeout())
+                .GET();
+        if (config.isCompression()) {
+            builder.header("Accept-Encoding", "gzip, deflate");
+        }
+        return builder.build();
+    }
+
+    /**
+     * 5xx (fallo del servidor) y 429 (límite de peticiones) merecen otro intento,
+     * salvo que los 429 los gestione quien llama (ver {@link TransportConfig#isRetryOnRateLimit()})
+     */
+    boolean shouldRetry(int statusCode) {
+        if (statusCode == 429) {
+            return config.isRetryOnRateLimit();
+        }
+        return statusCode >= 500 && statusCode <= 599;
+    }
+
+    /**
+     * Espera antes del siguiente intento: Retry-After si el servidor lo indica,
+     * si no un valor al azar entre 0 y la espera exponencial (full jitter),
+     * para que los clientes no reintenten todos a la vez
+     */
+    long backoffMillis(int attempt, HttpResponse<?> response) {
+        long max = config.getMaxBackoff().toMillis();
+        if (response != null) {
+            long retryAfter = retryAfterMillis(response);
+            if (retryAfter >= 0) {
+                return Math.min(retryAfter, max);
+            }
+        }
+        long exponential = config.getInitialBackoff().toMillis() << Math.min(attempt, 20);
+        return ThreadLocalRandom.current().nextLong(Math.min(exponential, max) + 1);
+    }
+
+    private void sleepBeforeRetry(int attempt, HttpResponse<?> response) throws InterruptedException {
+        Metrics.HTTP_RETRIES.increment();
+        Thread.sleep(backoffMillis(attempt, response));
+    }
+
+    /**
+     * Espera indicada por la cabecera Retry-After, o -1 si no hay
+     */
+    static long retryAfterMillis(HttpResponse<?> response) {
+        return RateLimitedException.parseRetryAfter(response.headers().firstValue("Retry-After").orElse(null));
+    }
+
+    // Descompresión
+
+    /**
+     * Flujo del cuerpo que se descomprime de forma perezosa: el decodificador
+     * lee la cabecera gzip en la primera lectura, nunca en el hilo del cliente
+     */
+    private static HttpResponse.BodyHandler<InputStream> decodedStream() {
+        return info -> {
+            String encoding = contentEncoding(info.headers());
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofInputStream(),
+                    body -> encoding == null ? body : new DecodingInputStream(body, encoding));
+        };
+    }
+
+    private static HttpResponse.BodyHandler<byte[]> decodedBytes() {
+        return info -> {
+            String encoding = contentEncoding(info.headers());
+            return HttpResponse.BodySubscribers.mapping(
+                    HttpResponse.BodySubscribers.ofByteArray(),
+                    body -> encoding == null ? body : decode(body, encoding));
+        };
+    }
+
+    private static String contentEncoding(HttpHeaders headers) {
+        String encoding = headers.firstValue("Content-Encoding").orElse("identity")
+                .trim().toLowerCase(Locale.ROOT);
+        return encoding.equals("gzip") || encoding.equals("deflate") ? encoding : null;
+    }
+
+    private static byte[] decode(byte[] body, String encoding) {
+        try (InputStream in = decoder(new ByteArrayInputStream(body), encoding)) {
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error al descomprimir la respuesta", e);
+        }
+    }
+
+    private static InputStream decoder(InputStream raw, String encoding) throws IOException {
+        return encoding.equals("gzip") ? new GZIPInputStream(raw) : new InflaterInputStream(raw);
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    private static final class DecodingInputStream extends InputStream {
+        private final InputStream raw;
+        private final String encoding;
+        private InputStream decoded;
+
+        DecodingInputStream(InputStream raw, String encoding) {
+            this.raw = raw;
+            this.encoding = encoding;
+        }
+
+        private InputStream decoded() throws IOException {
+            if (decoded == null) {
+                decoded = decoder(raw, encoding);
+            }
+            return decoded;
+        }
+
+        @Override
+        public int read() throws IOException {
+            return decoded().read();
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            return decoded().read(buffer, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (decoded != null) {
+                decoded.close();
+            } else {
+                raw.close();
+            }
+        }
+    }
+}
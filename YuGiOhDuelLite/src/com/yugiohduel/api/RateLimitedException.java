@@ -0,0 +1,41 @@
+package com.yugiohduel.api;
+
+import java.io.IOException;
+
+/**
+ * Respuesta 429: el servidor rechazó la petición por superar su límite.
+ * {@link RequestScheduler} la usa como señal para frenar y reencolar la petición.
+ */
+public class RateLimitedException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final long retryAfterMillis;
+
+    /**
+     * @param retryAfterMillis Espera indicada por Retry-After, o -1 si no vino
+     */
+    public RateLimitedException(long retryAfterMillis) {
+        super("Error HTTP: 429");
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    /**
+     * Segundos de una cabecera Retry-After en milisegundos, o -1 si no hay
+     * (la forma con fecha HTTP no se usa en esta API)
+     * @param value Valor de la cabecera, puede ser null
+     */
+    public static long parseRetryAfter(String value) {
+        if (value == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(value.trim())) * 1000;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
@@ -0,0 +1,376 @@
+package com.yugiohduel.api;
+
+import com.yugiohduel.metrics.Metrics;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Planificador compartido de las peticiones a YGOProDeck, que limita el
+ * número de peticiones por segundo de cada IP.
+ * - Cubeta de fichas: cada petición gasta una ficha; las fichas se reponen
+ *   al ritmo actual y se acumulan hasta una ráfaga máxima.
+ * - Prioridades: las cartas que el usuario va a ver ({@link Priority#VISIBLE})
+ *   salen antes que la precarga en segundo plano ({@link Priority#PREFETCH}).
+ * - Fusión: las peticiones con la misma clave que ya están en cola o en vuelo
+ *   comparten un único resultado (imágenes por URL, cartas por id).
+ * - AIMD: un 429 reduce el ritmo a la mitad, vacía la cubeta, respeta
+ *   Retry-After y reencola la petición; cada éxito sube el ritmo poco a poco
+ *   (1 petición/s por cada segundo sin rechazos) hasta el configurado. Así el
+ *   ritmo se queda justo por debajo del límite real aunque otros procesos
+ *   compartan la IP.
+ *
+ * Una petición señala el 429 terminando con {@link RateLimitedException}.
+ */
+public class RequestScheduler {
+
+    public enum Priority {
+        /** Cartas e imágenes que se muestran en el duelo actual */
+        VISIBLE,
+        /** Precarga en segundo plano */
+        PREFETCH
+    }
+
+    /** Ritmo por defecto, con margen bajo el límite publicado de 20 peticiones/s */
+    public static final double DEFAULT_RATE = 15;
+    public static final int DEFAULT_BURST = 5;
+    public static final int DEFAULT_MAX_CONCURRENT = 8;
+
+    private static final double MIN_RATE = 0.5;
+    private static final double DECREASE_FACTOR = 0.5;
+    private static final int MAX_RATE_LIMITED_ATTEMPTS = 5;
+
+    private static final RequestScheduler SHARED =
+            new RequestScheduler(DEFAULT_RATE, DEFAULT_BURST, DEFAULT_MAX_CONCURRENT);
+
+    // Por prioridad y, dentro de la misma, por orden de llegada
+    private static final Comparator<Task<?>> ORDER = Comparator
+            .comparingInt((Task<?> task) -> task.priority.ordinal())
+            .thenComparingLong(task -> task.sequence);
+
+    private final double maxRate;
+    private final int burst;
+    private final int maxConcurrent;
+
+    private final Object lock = new Object();
+    private final PriorityQueue<Task<?>> queue = new PriorityQueue<>(ORDER);
+    private final Map<String, Task<?>> byKey = new HashMap<>();
+    private final ScheduledExecutorService timer;
+    private final ExecutorService blockingExecutor;
+
+    // Estado protegido por lock
+    private double rate;
+    private double tokens;
+    private long lastRefill;
+    private long pausedUntil;
+    private long lastDecrease;
+    private boolean wakeupScheduled;
+    private int running;
+    private long sequence;
+    private long dispatched;
+    private long rateLimited;
+    private long coalesced;
+
+    /**
+     * @param ratePerSecond Ritmo máximo sostenido
+     * @param burst Peticiones que pueden salir seguidas tras un rato sin actividad
+     * @param maxConcurrent Máximo de peticiones en vuelo a la vez
+     */
+    public RequestScheduler(double ratePerSecond, int burst, int maxConcurrent) {
+        if (!(ratePerSecond >= MIN_RATE) || burst < 1 || maxConcurrent < 1) {
+            throw new IllegalArgumentException("Ritmo, ráfaga o concurrencia no válidos");
+        }
+        this.maxRate = ratePerSecond;
+        this.burst = burst;
+        this.maxConcurrent = maxConcurrent;
+        this.rate = ratePerSecond;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+        this.lastDecrease = lastRefill;
+        this.timer = Executors.newSingleThreadScheduledExecutor(daemon("request-scheduler-timer"));
+        this.blockingExecutor = Executors.newCachedThreadPool(daemon("request-scheduler-io"));
+    }
+
+    /**
+     * Planificador compartido por toda la aplicación, con los valores por defecto
+     */
+    public static RequestScheduler shared() {
+        return SHARED;
+    }
+
+    /**
+     * Encola una petición asíncrona
+     * @param key Clave para fusionar peticiones idénticas, o null si cada una es distinta
+     *            (las peticiones con la misma clave deben producir el mismo tipo)
+     * @param priority Prioridad de la petición
+     * @param request Lanza la petición cuando le toca; se vuelve a llamar tras un 429
+     * @return Futuro con el resultado. Sin clave, cancelarlo retira la petición si aún no salió
+     */
+    public <T> CompletableFuture<T> submit(String key, Priority priority, Supplier<CompletableFuture<T>> request) {
+        CompletableFuture<T> result;
+        synchronized (lock) {
+            if (key != null) {
+                @SuppressWarnings("unchecked")
+                Task<T> existing = (Task<T>) byKey.get(key);
+                if (existing != null) {
+                    coalesced++;
+                    Metrics.COALESCED_REQUESTS.increment();
+                    promote(existing, priority);
+                    // Una copia: si un interesado cancela, los demás siguen esperando
+                    return existing.result.copy();
+                }
+            }
+
+            Task<T> task = new Task<>(key, priority, sequence++, request);
+            queue.add(task);
+            if (key != null) {
+                byKey.put(key, task);
+            }
+            result = key != null ? task.result.copy() : task.result;
+        }
+        dispatch();
+        return result;
+    }
+
+    /**
+     * Encola una operación bloqueante (por ejemplo una descarga con URLConnection),
+     * que se ejecuta en un hilo propio del planificador cuando le toca
+     * @see #submit(String, Priority, Supplier)
+     */
+    public <T> CompletableFuture<T> submitBlocking(String key, Priority priority, Callable<T> request) {
+        return submit(key, priority, () -> CompletableFuture.supplyAsync(() -> {
+            try {
+                return request.call();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, blockingExecutor));
+    }
+
+    /**
+     * Una petición VISIBLE que se une a una PREFETCH en cola la adelanta
+     */
+    private void promote(Task<?> task, Priority priority) {
+        if (priority.ordinal() < task.priority.ordinal() && queue.remove(task)) {
+            task.priority = priority;
+            queue.add(task);
+        }
+    }
+
+    /**
+     * Saca de la cola todas las peticiones que el ritmo y la concurrencia permiten
+     */
+    private void dispatch() {
+        List<Task<?>> ready = new ArrayList<>();
+        synchronized (lock) {
+            long now = System.nanoTime();
+            refill(now);
+            while (!queue.isEmpty() && running < maxConcurrent) {
+                if (now < pausedUntil || tokens < 1) {
+                    scheduleWakeup(now);
+                    break;
+                }
+                Task<?> task = queue.poll();
+                if (task.result.isDone()) {
+                    // Cancelada mientras esperaba: no gasta ficha
+                    forget(task);
+                    continue;
+                }
+                tokens -= 1;
+                running++;
+                dispatched++;
+                task.startedAt = now;
+                ready.add(task);
+            }
+        }
+        for (Task<?> task : ready) {
+            start(task);
+        }
+    }
+
+    private <T> void start(Task<T> task) {
+        if (task.attempts == 0) {
+            Metrics.SCHEDULER_WAIT.recordSince(task.enqueuedAt);
+        }
+        CompletableFuture<T> attempt;
+        try {
+            attempt = task.request.get();
+        } catch (RuntimeException e) {
+            attempt = CompletableFuture.failedFuture(e);
+        }
+        attempt.whenComplete((value, error) -> finish(task, value, error));
+    }
+
+    private <T> void finish(Task<T> task, T value, Throwable error) {
+        Throwable cause = unwrap(error);
+        boolean requeued = false;
+        synchronized (lock) {
+            running--;
+            long now = System.nanoTime();
+            if (cause instanceof RateLimitedException) {
+                onRateLimited(task, (RateLimitedException) cause, now);
+                if (++task.attempts < MAX_RATE_LIMITED_ATTEMPTS && !task.result.isDone()) {
+                    // Conserva su número de orden: vuelve la primera de su prioridad
+                    queue.add(task);
+                    requeued = true;
+                }
+            } else if (cause == null) {
+                onSuccess();
+            }
+            if (!requeued) {
+                forget(task);
+            }
+        }
+
+        if (!requeued) {
+            if (cause != null) {
+                task.result.completeExceptionally(cause);
+            } else {
+                task.result.complete(value);
+            }
+        }
+        dispatch();
+    }
+
+    /**
+     * Reducción multiplicativa. Los 429 de peticiones que salieron antes de la
+     * última reducción ya se tuvieron en cuenta y no vuelven a reducir
+     */
+    private void onRateLimited(Task<?> task, RateLimitedException e, long now) {
+        rateLimited++;
+        Metrics.RATE_LIMITED.increment();
+        if (task.startedAt >= lastDecrease) {
+            rate = Math.max(MIN_RATE, rate * DECREASE_FACTOR);
+            tokens = 0;
+            lastDecrease = now;
+        }
+        if (e.getRetryAfterMillis() > 0) {
+            pausedUntil = Math.max(pausedUntil, now + TimeUnit.MILLISECONDS.toNanos(e.getRetryAfterMillis()));
+        }
+    }
+
+    /**
+     * Aumento aditivo: +1/rate por éxito equivale a +1 petición/s por segundo
+     */
+    private void onSuccess() {
+        rate = Math.min(maxRate, rate + 1 / rate);
+    }
+
+    private void refill(long now) {
+        tokens = Math.min(burst, tokens + (now - lastRefill) * rate / 1e9);
+        lastRefill = now;
+    }
+
+    /**
+     * Programa un nuevo reparto para cuando haya ficha o acabe la pausa
+     */
+    private void scheduleWakeup(long now) {
+        if (wakeupScheduled) {
+            return;
+        }
+        long delay = Math.max(pausedUntil - now, (long) Math.ceil((1 - tokens) / rate * 1e9));
+        wakeupScheduled = true;
+        timer.schedule(this::wakeup, Math.max(delay, 0), TimeUnit.NANOSECONDS);
+    }
+
+    private void wakeup() {
+        synchronized (lock) {
+            wakeupScheduled = false;
+        }
+        dispatch();
+    }
+
+    private void forget(Task<?> task) {
+        if (task.key != null) {
+            byKey.remove(task.key, task);
+        }
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Getters
+
+    /**
+     * Ritmo actual en peticiones por segundo, tras las reducciones por 429
+     */
+    public double getCurrentRate() {
+        synchronized (lock) {
+            return rate;
+        }
+    }
+
+    public double getMaxRate() {
+        return maxRate;
+    }
+
+    public int getQueuedCount() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    public long getDispatchedCount() {
+        synchronized (lock) {
+            return dispatched;
+        }
+    }
+
+    public long getRateLimitedCount() {
+        synchronized (lock) {
+            return rateLimited;
+        }
+    }
+
+    public long getCoalescedCount() {
+        synchronized (lock) {
+            return coalesced;
+        }
+    }
+
+    /**
+     * Petición en cola o en vuelo
+     */
+    private static final class Task<T> {
+        final String key;
+        final long sequence;
+        final Supplier<CompletableFuture<T>> request;
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        final long enqueuedAt = Metrics.startTimer();
+        Priority priority;
+        long startedAt;
+        int attempts;
+
+        Task(String key, Priority priority, long sequence, Supplier<CompletableFuture<T>> request) {
+            this.key = key;
+            this.priority = priority;
+            this.sequence = sequence;
+            this.request = request;
+        }
+    }
+}
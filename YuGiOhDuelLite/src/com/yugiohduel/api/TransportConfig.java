@@ -0,0 +1,163 @@
+package com.yugiohduel.api;
+
+import java.time.Duration;
+
+/**
+ * Configuración inmutable de {@link HttpTransport}.
+ * Se parte de {@link #defaults()} y se cambia lo necesario con el builder.
+ */
+public final class TransportConfig {
+    private final Duration connectTimeout;
+    private final Duration requestTimeout;
+    private final int maxRetries;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final boolean http2;
+    private final boolean compression;
+    private final boolean retryOnRateLimit;
+
+    private TransportConfig(Builder builder) {
+        this.connectTimeout = builder.connectTimeout;
+        this.requestTimeout = builder.requestTimeout;
+        this.maxRetries = builder.maxRetries;
+        this.initialBackoff = builder.initialBackoff;
+        this.maxBackoff = builder.maxBackoff;
+        this.http2 = builder.http2;
+        this.compression = builder.compression;
+        this.retryOnRateLimit = builder.retryOnRateLimit;
+    }
+
+    /**
+     * HTTP/2, conexión en 5 s, petición en 10 s, gzip y 3 reintentos
+     * con espera exponencial de 200 ms hasta 5 s
+     */
+    public static TransportConfig defaults() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Builder con los valores de esta configuración, para derivar otra
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.connectTimeout = connectTimeout;
+        builder.requestTimeout = requestTimeout;
+        builder.maxRetries = maxRetries;
+        builder.initialBackoff = initialBackoff;
+        builder.maxBackoff = maxBackoff;
+        builder.http2 = http2;
+        builder.compression = compression;
+        builder.retryOnRateLimit = retryOnRateLimit;
+        return builder;
+    }
+
+    // Getters
+    public Duration getConnectTimeout() {
+        return connectTimeout;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public boolean isHttp2() {
+        return http2;
+    }
+
+    public boolean isCompression() {
+        return compression;
+    }
+
+    public boolean isRetryOnRateLimit() {
+        return retryOnRateLimit;
+    }
+
+    public static final class Builder {
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        private Duration requestTimeout = Duration.ofSeconds(10);
+        private int maxRetries = 3;
+        private Duration initialBackoff = Duration.ofMillis(200);
+        private Duration maxBackoff = Duration.ofSeconds(5);
+        private boolean http2 = true;
+        private boolean compression = true;
+        private boolean retryOnRateLimit = true;
+
+        private Builder() {
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        /**
+         * Tiempo máximo de cada intento, hasta recibir las cabeceras
+         */
+        public Builder requestTimeout(Duration requestTimeout) {
+            this.requestTimeout = requestTimeout;
+            return this;
+        }
+
+        /**
+         * Reintentos tras un 5xx, un 429 o un error de red (0 = sin reintentos)
+         */
+        public Builder maxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("maxRetries no puede ser negativo");
+            }
+            this.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Espera base del primer reintento y tope de la espera exponencial
+         */
+        public Builder backoff(Duration initialBackoff, Duration maxBackoff) {
+            this.initialBackoff = initialBackoff;
+            this.maxBackoff = maxBackoff;
+            return this;
+        }
+
+        public Builder http2(boolean http2) {
+            this.http2 = http2;
+            return this;
+        }
+
+        /**
+         * Pide respuestas comprimidas (gzip/deflate) y las descomprime
+         */
+        public Builder compression(boolean compression) {
+            this.compression = compression;
+            return this;
+        }
+
+        /**
+         * Si es false, un 429 se devuelve sin reintentar para que lo gestione
+         * {@link RequestScheduler} en lugar de reintentarlo fuera de su ritmo
+         */
+        public Builder retryOnRateLimit(boolean retryOnRateLimit) {
+            this.retryOnRateLimit = retryOnRateLimit;
+            return this;
+        }
+
+        public TransportConfig build() {
+            return new TransportConfig(this);
+        }
+    }
+}
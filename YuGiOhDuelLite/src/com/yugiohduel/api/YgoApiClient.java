@@ -1,25 +1,91 @@
 package com.yugiohduel.api;
 
+import com.yugiohduel.api.RequestScheduler.Priority;
+import com.yugiohduel.journal.Journal;
+import com.yugiohduel.metrics.Metrics;
 import com.yugiohduel.model.Card;
-import org.json.JSONArray;
-import org.json.JSONObject;
+import com.yugiohduel.model.CardRegistry;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
 import java.net.URI;
-import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 /**
- * Cliente para consumir la API de YGOProDeck
+ * Cliente para consumir la API de YGOProDeck.
+ * Con un {@link RequestScheduler} todas las peticiones pasan por él, que
+ * respeta el límite de peticiones por IP de la API y gestiona los 429.
  */
 public class YgoApiClient {
     private static final String API_URL = "https://db.ygoprodeck.com/api/v7/randomcard.php";
-    private final HttpClient httpClient;
+    private static final String CATALOG_ENDPOINT = "cardinfo.php";
+    private static final int MAX_ATTEMPTS = 10;
+    private static final int DEFAULT_MAX_IN_FLIGHT = 4;
 
+    private final HttpTransport transport;
+    private final URI apiUri;
+    private final int maxInFlight;
+    private final RequestScheduler scheduler;
+
+    /**
+     * Cliente de la API pública, detrás del planificador compartido
+     */
     public YgoApiClient() {
-        this.httpClient = HttpClient.newBuilder()
-                .followRedirects(HttpClient.Redirect.ALWAYS)
-                .build();
+        this(URI.create(API_URL), DEFAULT_MAX_IN_FLIGHT, TransportConfig.defaults(), RequestScheduler.shared());
+    }
+
+    /**
+     * Constructor configurable, útil para apuntar a un servidor local de pruebas
+     * @param apiUri URI del endpoint randomcard.php
+     * @param maxInFlight Máximo de peticiones simultáneas en los lotes
+     */
+    public YgoApiClient(URI apiUri, int maxInFlight) {
+        this(apiUri, maxInFlight, TransportConfig.defaults());
+    }
+
+    /**
+     * @param apiUri URI del endpoint randomcard.php
+     * @param maxInFlight Máximo de peticiones simultáneas en los lotes
+     * @param transportConfig Tiempos máximos, reintentos y compresión del transporte HTTP
+     */
+    public YgoApiClient(URI apiUri, int maxInFlight, TransportConfig transportConfig) {
+        this(apiUri, maxInFlight, transportConfig, null);
+    }
+
+    /**
+     * @param apiUri URI del endpoint randomcard.php
+     * @param maxInFlight Máximo de peticiones simultáneas en los lotes
+     * @param transportConfig Tiempos máximos, reintentos y compresión del transporte HTTP.
+     *                        Con planificador los 429 no se reintentan en el transporte
+     * @param scheduler Planificador de las peticiones, o null para enviarlas directamente
+     */
+    public YgoApiClient(URI apiUri, int maxInFlight, TransportConfig transportConfig,
+                        RequestScheduler scheduler) {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("maxInFlight debe ser al menos 1");
+        }
+        this.apiUri = apiUri;
+        this.maxInFlight = maxInFlight;
+        this.scheduler = scheduler;
+        // Un 429 reintentado por el transporte saldría fuera del ritmo del planificador
+        this.transport = new HttpTransport(scheduler != null && transportConfig.isRetryOnRateLimit()
+                ? transportConfig.toBuilder().retryOnRateLimit(false).build()
+                : transportConfig);
     }
 
     /**
@@ -28,99 +94,294 @@ public class YgoApiClient {
      * @throws Exception si hay error de red o la carta no es un monstruo
      */
     public Card getRandomMonsterCard() throws Exception {
-        int maxAttempts = 10;
-
-        for (int i = 0; i < maxAttempts; i++) {
-            Card card = fetchRandomCard();
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            Card card = scheduler != null
+                    ? await(scheduler.submit(null, Priority.VISIBLE, this::fetchRandomCardAsync))
+                    : fetchRandomCard();
 
             if (card.isMonster()) {
                 return card;
             }
 
-            System.out.println("Carta obtenida no es monstruo: " + card.getName() +
-                    " (Tipo: " + card.getType() + "). Reintentando...");
+            logNonMonster(card);
         }
 
-        throw new Exception("No se pudo obtener una carta Monster después de " +
-                maxAttempts + " intentos");
+        throw noMonsterException();
     }
 
     /**
-     * Realiza la petición HTTP y parsea la respuesta JSON
-     * @return Card objeto con los datos parseados
-     * @throws Exception si hay error de red o parsing
+     * Obtiene varias cartas Monster aleatorias de forma concurrente.
+     * Mantiene como máximo {@code maxInFlight} peticiones en vuelo y solo
+     * reintenta los huecos que recibieron una carta que no es monstruo.
+     * @param count Número de cartas a obtener
+     * @return Futuro con la lista de cartas, en el orden de los huecos
      */
-    private Card fetchRandomCard() throws Exception {
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(API_URL))
-                .GET()
-                .build();
+    public CompletableFuture<List<Card>> getRandomMonsterCards(int count) {
+        return getRandomMonsterCards(count, Priority.VISIBLE);
+    }
 
-        HttpResponse<String> response = httpClient.send(
-                request,
-                HttpResponse.BodyHandlers.ofString()
-        );
+    /**
+     * Como {@link #getRandomMonsterCards(int)}, con la prioridad indicada en el planificador
+     * @param count Número de cartas a obtener
+     * @param priority VISIBLE para un duelo que espera, PREFETCH para precarga
+     */
+    public CompletableFuture<List<Card>> getRandomMonsterCards(int count, Priority priority) {
+        if (count < 0) {
+            throw new IllegalArgumentException("count no puede ser negativo");
+        }
 
-        System.out.println("HTTP Status: " + response.statusCode());
-        System.out.println("Response body: " + response.body().substring(0, Math.min(200, response.body().length())));
+        CompletableFuture<List<Card>> result = new CompletableFuture<>();
+        if (count == 0) {
+            result.complete(Collections.emptyList());
+            return result;
+        }
 
-        if (response.statusCode() != 200) {
-            throw new Exception("Error HTTP: " + response.statusCode());
+        Card[] slots = new Card[count];
+        AtomicInteger nextSlot = new AtomicInteger();
+        AtomicInteger pending = new AtomicInteger(count);
+
+        // Cada "carril" encadena huecos uno tras otro, acotando las peticiones en vuelo
+        int lanes = Math.min(count, maxInFlight);
+        for (int i = 0; i < lanes; i++) {
+            fillNextSlot(slots, nextSlot, pending, priority, result);
         }
 
-        return parseCardFromJson(response.body());
+        return result;
     }
 
     /**
-     * Convierte el JSON de respuesta en un objeto Card
-     * @param jsonString String JSON de la respuesta
-     * @return Card objeto parseado
+     * Toma el siguiente hueco libre y lo llena con una carta Monster
      */
-    private Card parseCardFromJson(String jsonString) {
-        try {
-            JSONObject json = new JSONObject(jsonString);
+    private void fillNextSlot(Card[] slots, AtomicInteger nextSlot, AtomicInteger pending,
+                              Priority priority, CompletableFuture<List<Card>> result) {
+        int slot = nextSlot.getAndIncrement();
+        if (slot >= slots.length || result.isDone()) {
+            return;
+        }
 
-            // Verificar si hay un error en la respuesta
-            if (json.has("error")) {
-                throw new RuntimeException("API Error: " + json.getString("error"));
+        fetchMonsterCardAsync(1, priority).whenComplete((card, error) -> {
+            if (error != null) {
+                result.completeExceptionally(unwrap(error));
+                return;
             }
 
-            // La API devuelve los datos dentro de un array "data"
-            if (!json.has("data")) {
-                throw new RuntimeException("La respuesta no contiene el campo 'data'");
+            slots[slot] = card;
+            if (pending.decrementAndGet() == 0) {
+                result.complete(new ArrayList<>(Arrays.asList(slots)));
+            } else {
+                fillNextSlot(slots, nextSlot, pending, priority, result);
             }
+        });
+    }
 
-            JSONArray dataArray = json.getJSONArray("data");
-            if (dataArray.length() == 0) {
-                throw new RuntimeException("El array 'data' está vacío");
+    /**
+     * Versión asíncrona del bucle de reintentos para un único hueco
+     */
+    private CompletableFuture<Card> fetchMonsterCardAsync(int attempt, Priority priority) {
+        // Cada reintento por carta no monstruo vuelve a pasar por el planificador
+        return schedule(null, priority, this::fetchRandomCardAsync).thenCompose(card -> {
+            if (card.isMonster()) {
+                return CompletableFuture.completedFuture(card);
             }
 
-            // Obtener el primer elemento del array
-            JSONObject cardData = dataArray.getJSONObject(0);
+            logNonMonster(card);
 
-            String name = cardData.getString("name");
-            String type = cardData.getString("type");
+            if (attempt >= MAX_ATTEMPTS) {
+                return CompletableFuture.failedFuture(noMonsterException());
+            }
+            return fetchMonsterCardAsync(attempt + 1, priority);
+        });
+    }
 
-            int atk = cardData.optInt("atk", 0);
-            int def = cardData.optInt("def", 0);
+    /**
+     * Obtiene una carta por su id (cardinfo.php?id=). Si ya está en
+     * {@link CardRegistry} no se hace ninguna petición, y las peticiones
+     * simultáneas por el mismo id se fusionan en una sola.
+     * @param id Identificador (passcode) de la carta
+     * @param priority Prioridad en el planificador
+     * @return Futuro con la carta
+     */
+    public CompletableFuture<Card> getCardById(int id, Priority priority) {
+        Card known = CardRegistry.shared().get(id);
+        if (known != null) {
+            return CompletableFuture.completedFuture(known);
+        }
+        URI uri = apiUri.resolve(CATALOG_ENDPOINT + "?id=" + id);
+        return schedule("card:" + id, priority, () -> fetchCardAsync(uri));
+    }
 
-            // Verificar que exista el array de imágenes
-            if (!cardData.has("card_images")) {
-                throw new RuntimeException("La respuesta no contiene imágenes de la carta");
+    /**
+     * Descarga el volcado completo de cartas (cardinfo.php) a un archivo local.
+     * Se escribe primero a un temporal para no dejar un catálogo a medias.
+     * Con planificador la descarga pasa por él, que marca el ritmo y la
+     * reencola ante un 429 (el transporte no reintenta los 429 en ese caso).
+     * @param target Ruta donde guardar el catálogo
+     * @throws Exception si hay error de red o de escritura
+     */
+    public void downloadCatalog(Path target) throws Exception {
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "cardinfo", ".part");
+
+        try {
+            if (scheduler != null) {
+                await(scheduler.submitBlocking("catalog", Priority.VISIBLE, () -> {
+                    fetchCatalog(temp);
+                    return null;
+                }));
+            } else {
+                fetchCatalog(temp);
             }
 
-            JSONArray cardImages = cardData.getJSONArray("card_images");
-            if (cardImages.length() == 0) {
-                throw new RuntimeException("El array de imágenes está vacío");
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private void fetchCatalog(Path temp) throws Exception {
+        HttpResponse<InputStream> response = transport.send(apiUri.resolve(CATALOG_ENDPOINT));
+
+        try (InputStream body = response.body()) {
+            checkStatus(response);
+            Files.copy(body, temp, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Pasa la petición por el planificador, o la lanza directamente si no hay
+     */
+    private <T> CompletableFuture<T> schedule(String key, Priority priority,
+                                              Supplier<CompletableFuture<T>> request) {
+        return scheduler != null ? scheduler.submit(key, priority, request) : request.get();
+    }
+
+    /**
+     * Espera un futuro propagando la causa original del fallo
+     */
+    private static <T> T await(CompletableFuture<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
             }
+            throw e;
+        }
+    }
 
-            String imageUrl = cardImages.getJSONObject(0).getString("image_url");
+    private void logNonMonster(Card card) {
+        Metrics.MONSTER_RETRIES.increment();
+        Journal.shared().info("api.nonMonster")
+                .add("id", card.getId())
+                .add("name", card.getName())
+                .add("type", card.getType())
+                .commit();
+    }
 
-            return new Card(name, atk, def, imageUrl, type);
+    private Exception noMonsterException() {
+        return new Exception("No se pudo obtener una carta Monster después de " +
+                MAX_ATTEMPTS + " intentos");
+    }
 
-        } catch (Exception e) {
-            System.err.println("Error parseando JSON: " + e.getMessage());
+    private static Throwable unwrap(Throwable error) {
+        if (error instanceof CompletionException && error.getCause() != null) {
+            return error.getCause();
+        }
+        return error;
+    }
+
+    /**
+     * Realiza la petición HTTP y parsea la respuesta JSON
+     * directamente desde el flujo del cuerpo
+     * @return Card objeto con los datos parseados
+     * @throws Exception si hay error de red o parsing
+     */
+    private Card fetchRandomCard() throws Exception {
+        long start = Metrics.startTimer();
+        HttpResponse<InputStream> response = transport.send(apiUri);
+        Metrics.HTTP_FETCH.recordSince(start);
+
+        try (InputStream body = response.body()) {
+            checkStatus(response);
+            return parseCard(body);
+        }
+    }
+
+    /**
+     * Realiza la petición HTTP sin bloquear el hilo que llama.
+     * El cuerpo de una carta es pequeño, así que se recibe completo y se
+     * parsea sin bloquear los hilos del HttpClient esperando datos.
+     * @return Futuro con la carta parseada
+     */
+    private CompletableFuture<Card> fetchRandomCardAsync() {
+        return fetchCardAsync(apiUri);
+    }
+
+    private CompletableFuture<Card> fetchCardAsync(URI uri) {
+        long start = Metrics.startTimer();
+        return transport.sendAsync(uri)
+                .thenApply(response -> {
+                    Metrics.HTTP_FETCH.recordSince(start);
+                    try {
+                        checkStatus(response);
+                        return parseCard(new ByteArrayInputStream(response.body()));
+                    } catch (Exception e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    /**
+     * Valida el código de estado de la respuesta HTTP
+     */
+    private static void checkStatus(HttpResponse<?> response) throws Exception {
+        if (response.statusCode() != 200) {
+            Metrics.HTTP_ERRORS.increment();
+            Journal.shared().warn("api.httpError")
+                    .add("status", response.statusCode())
+                    .add("uri", response.uri())
+                    .commit();
+            if (response.statusCode() == 429) {
+                throw new RateLimitedException(HttpTransport.retryAfterMillis(response));
+            }
+            throw new Exception("Error HTTP: " + response.statusCode());
+        }
+    }
+
+    /**
+     * Convierte el JSON de respuesta en un objeto Card
+     * @param jsonString String JSON de la respuesta
+     * @return Card objeto parseado
+     */
+    public static Card parseCardFromJson(String jsonString) {
+        try {
+            return new CardJsonReader(new StringReader(jsonString)).readFirstCard();
+        } catch (IOException e) {
+            // Un StringReader no falla al leer
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            Journal.shared().warn("api.parseError").add("error", e).commit();
+            throw new RuntimeException("Error al parsear la carta: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Parsea la primera carta de un flujo JSON sin construir el árbol completo
+     * @param body Cuerpo de la respuesta
+     * @return Card objeto parseado
+     */
+    private static Card parseCard(InputStream body) throws IOException {
+        long start = Metrics.startTimer();
+        try {
+            Card card = CardJsonReader.readFirstCard(body);
+            Metrics.JSON_PARSE.recordSince(start);
+            // Una carta que ya llegó antes se reutiliza y la recién leída se descarta
+            return CardRegistry.shared().intern(card);
+        } catch (RuntimeException e) {
+            Journal.shared().warn("api.parseError").add("error", e).commit();
             throw new RuntimeException("Error al parsear la carta: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,336 @@
+package com.yugiohduel.catalog;
+
+import com.yugiohduel.api.CardJsonReader;
+import com.yugiohduel.model.Card;
+import com.yugiohduel.model.CardRegistry;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Catálogo de cartas en formato binario, leído con un {@link MappedByteBuffer}.
+ * Abrirlo solo valida la cabecera y lee la tabla de tipos; las cartas se
+ * decodifican al pedirlas, así el arranque no depende del tamaño del
+ * catálogo y el heap solo guarda las cartas que se usan.
+ *
+ * Formato (big-endian):
+ * <pre>
+ * cabecera   magic "YGOC", versión, cartas, monstruos y offsets de cada sección
+ * registros  por carta: id, atk, def, código de tipo, flags,
+ *            offset del nombre y offset de la URL de imagen
+ * monstruos  índices de los registros que son monstruo
+ * tipos      cantidad y offset de cada nombre de tipo
+ * cadenas    longitud (u2) + bytes UTF-8
+ * </pre>
+ */
+public final class BinaryCardCatalog implements MonsterPool {
+    private static final int MAGIC = 0x59474F43;
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 32;
+    private static final int RECORD_SIZE = 24;
+    private static final short FLAG_MONSTER = 1;
+
+    // Offsets dentro de un registro
+    private static final int ID = 0;
+    private static final int ATK = 4;
+    private static final int DEF = 8;
+    private static final int TYPE = 12;
+    private static final int FLAGS = 14;
+    private static final int NAME = 16;
+    private static final int IMAGE = 20;
+
+    private final ByteBuffer buffer;
+    private final int cardCount;
+    private final int monsterCount;
+    private final int recordsOffset;
+    private final int monstersOffset;
+    private final int stringsOffset;
+    private final String[] types;
+
+    private BinaryCardCatalog(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("El archivo no es un catálogo binario de cartas");
+        }
+        if (buffer.getShort(4) != VERSION) {
+            throw new IOException("Versión de catálogo no soportada: " + buffer.getShort(4));
+        }
+        this.cardCount = buffer.getInt(8);
+        this.monsterCount = buffer.getInt(12);
+        this.recordsOffset = buffer.getInt(16);
+        this.monstersOffset = buffer.getInt(20);
+        int typesOffset = buffer.getInt(24);
+        this.stringsOffset = buffer.getInt(28);
+
+        int typeCount = buffer.getShort(typesOffset) & 0xFFFF;
+        this.types = new String[typeCount];
+        for (int i = 0; i < typeCount; i++) {
+            types[i] = readString(buffer.getInt(typesOffset + 2 + i * 4));
+        }
+    }
+
+    /**
+     * Ruta del catálogo binario junto al volcado JSON (cardinfo.json → cardinfo.bin)
+     */
+    public static Path binaryPathFor(Path jsonPath) {
+        String name = jsonPath.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        String base = dot > 0 ? name.substring(0, dot) : name;
+        return jsonPath.resolveSibling(base + ".bin");
+    }
+
+    /**
+     * Abre un catálogo binario en O(1): se mapea el archivo y se valida la cabecera
+     * @param path Ruta del archivo .bin
+     * @return Catálogo listo para usar
+     * @throws IOException si el archivo no existe o no tiene el formato esperado
+     */
+    public static BinaryCardCatalog open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // El mapeo sigue siendo válido después de cerrar el canal
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new BinaryCardCatalog(mapped);
+        }
+    }
+
+    /**
+     * Abre el catálogo binario que corresponde a un volcado JSON,
+     * regenerándolo si falta o es más viejo que el volcado
+     * @param jsonDump Volcado JSON de cardinfo.php (puede no existir)
+     * @return Catálogo abierto, o null si no hay volcado ni catálogo binario
+     * @throws IOException si la conversión o la apertura fallan
+     */
+    public static BinaryCardCatalog openOrConvert(Path jsonDump) throws IOException {
+        Path binaryPath = binaryPathFor(jsonDump);
+        if (Files.isRegularFile(jsonDump) && isOlder(binaryPath, jsonDump)) {
+            convert(jsonDump, binaryPath);
+        }
+        return Files.isRegularFile(binaryPath) ? open(binaryPath) : null;
+    }
+
+    private static boolean isOlder(Path path, Path reference) throws IOException {
+        return !Files.exists(path)
+                || Files.getLastModifiedTime(path).compareTo(Files.getLastModifiedTime(reference)) < 0;
+    }
+
+    /**
+     * Convierte un volcado JSON de cardinfo.php al formato binario
+     * @param jsonDump Volcado JSON
+     * @param target Archivo .bin a generar
+     * @throws IOException si no se puede leer el volcado o escribir el destino
+     */
+    public static void convert(Path jsonDump, Path target) throws IOException {
+        List<Card> cards = new ArrayList<>();
+        try (InputStream in = Files.newInputStream(jsonDump)) {
+            CardJsonReader.readCards(in, cards::add);
+        }
+        write(cards, target);
+    }
+
+    /**
+     * Escribe las cartas en formato binario.
+     * Se escribe primero a un temporal para no dejar un catálogo a medias.
+     */
+    public static void write(List<Card> cards, Path target) throws IOException {
+        ByteArrayOutputStream strings = new ByteArrayOutputStream();
+        Map<String, Integer> typeCodes = new LinkedHashMap<>();
+        List<Integer> typeOffsets = new ArrayList<>();
+
+        ByteBuffer records = ByteBuffer.allocate(cards.size() * RECORD_SIZE);
+        List<Integer> monsters = new ArrayList<>();
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            String type = card.getType() == null ? "" : card.getType();
+            Integer typeCode = typeCodes.get(type);
+            if (typeCode == null) {
+                typeCode = typeCodes.size();
+                typeCodes.put(type, typeCode);
+                typeOffsets.add(appendString(strings, type));
+            }
+            if (card.isMonster()) {
+                monsters.add(i);
+            }
+
+            records.putInt(card.getId())
+                    .putInt(card.getAtk())
+                    .putInt(card.getDef())
+                    .putShort(typeCode.shortValue())
+                    .putShort(card.isMonster() ? FLAG_MONSTER : 0)
+                    .putInt(appendString(strings, card.getName()))
+                    .putInt(appendString(strings, card.getImageUrl()));
+        }
+        if (typeCodes.size() > 0xFFFF) {
+            throw new IOException("Demasiados tipos de carta distintos");
+        }
+
+        int recordsOffset = HEADER_SIZE;
+        int monstersOffset = recordsOffset + records.capacity();
+        int typesOffset = monstersOffset + monsters.size() * 4;
+        int stringsOffset = typesOffset + 2 + typeOffsets.size() * 4;
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE)
+                .putInt(MAGIC)
+                .putShort(VERSION)
+                .putShort((short) 0)
+                .putInt(cards.size())
+                .putInt(monsters.size())
+                .putInt(recordsOffset)
+                .putInt(monstersOffset)
+                .putInt(typesOffset)
+                .putInt(stringsOffset);
+
+        ByteBuffer index = ByteBuffer.allocate(monsters.size() * 4 + 2 + typeOffsets.size() * 4);
+        for (int monster : monsters) {
+            index.putInt(monster);
+        }
+        index.putShort((short) typeOffsets.size());
+        for (int offset : typeOffsets) {
+            index.putInt(offset);
+        }
+
+        Path parent = target.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, "catalog", ".part");
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                ByteBuffer[] sections = {
+                        header.flip(), records.flip(), index.flip(), ByteBuffer.wrap(strings.toByteArray())
+                };
+                long remaining = 0;
+                for (ByteBuffer section : sections) {
+                    remaining += section.remaining();
+                }
+                while (remaining > 0) {
+                    remaining -= channel.write(sections);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Agrega una cadena al pool y devuelve su offset relativo al inicio del pool
+     */
+    private static int appendString(ByteArrayOutputStream strings, String value) throws IOException {
+        byte[] bytes = (value == null ? "" : value).getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            throw new IOException("Cadena demasiado larga para el catálogo: " + bytes.length + " bytes");
+        }
+        int offset = strings.size();
+        strings.write(bytes.length >>> 8);
+        strings.write(bytes.length);
+        strings.write(bytes);
+        return offset;
+    }
+
+    private String readString(int poolOffset) {
+        int position = stringsOffset + poolOffset;
+        int length = buffer.getShort(position) & 0xFFFF;
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; i++) {
+            bytes[i] = buffer.get(position + 2 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int record(int index) {
+        if (index < 0 || index >= cardCount) {
+            throw new IndexOutOfBoundsException("Carta " + index + " fuera de rango (" + cardCount + ")");
+        }
+        return recordsOffset + index * RECORD_SIZE;
+    }
+
+    /**
+     * Carta del registro indicado. Si la carta ya está en {@link CardRegistry}
+     * se devuelve esa instancia sin decodificar las cadenas.
+     * @param index Posición de la carta en el catálogo
+     * @return Carta con los datos del registro
+     */
+    public Card getCard(int index) {
+        int record = record(index);
+        CardRegistry registry = CardRegistry.shared();
+        Card known = registry.get(buffer.getInt(record + ID));
+        return known != null ? known : registry.intern(decodeCard(index));
+    }
+
+    /**
+     * Decodifica el registro indicado siempre, sin pasar por {@link CardRegistry}
+     * (por ejemplo para verificar el archivo)
+     */
+    public Card decodeCard(int index) {
+        int record = record(index);
+        return new Card(
+                buffer.getInt(record + ID),
+                readString(buffer.getInt(record + NAME)),
+                buffer.getInt(record + ATK),
+                buffer.getInt(record + DEF),
+                readString(buffer.getInt(record + IMAGE)),
+                types[buffer.getShort(record + TYPE) & 0xFFFF]
+        );
+    }
+
+    /**
+     * Decodifica el i-ésimo monstruo del catálogo
+     */
+    public Card getMonster(int monsterIndex) {
+        if (monsterIndex < 0 || monsterIndex >= monsterCount) {
+            throw new IndexOutOfBoundsException("Monstruo " + monsterIndex + " fuera de rango (" + monsterCount + ")");
+        }
+        return getCard(buffer.getInt(monstersOffset + monsterIndex * 4));
+    }
+
+    @Override
+    public Card randomMonster(Random random) {
+        if (monsterCount == 0) {
+            throw new IllegalStateException("El catálogo no contiene monstruos");
+        }
+        return getMonster(random.nextInt(monsterCount));
+    }
+
+    // Acceso a campos sin decodificar la carta completa
+    public int getId(int index) {
+        return buffer.getInt(record(index) + ID);
+    }
+
+    public int getAtk(int index) {
+        return buffer.getInt(record(index) + ATK);
+    }
+
+    public int getDef(int index) {
+        return buffer.getInt(record(index) + DEF);
+    }
+
+    public String getType(int index) {
+        return types[buffer.getShort(record(index) + TYPE) & 0xFFFF];
+    }
+
+    public boolean isMonster(int index) {
+        return (buffer.getShort(record(index) + FLAGS) & FLAG_MONSTER) != 0;
+    }
+
+    // Getters
+    public int size() {
+        return cardCount;
+    }
+
+    @Override
+    public int monsterCount() {
+        return monsterCount;
+    }
+}
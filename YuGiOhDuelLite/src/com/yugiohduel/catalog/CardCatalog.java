@@ -0,0 +1,113 @@
+package com.yugiohduel.catalog;
+
+import com.yugiohduel.api.CardJsonReader;
+import com.yugiohduel.model.Card;
+import com.yugiohduel.model.CardRegistry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Catálogo local con todas las cartas, cargado una sola vez desde un volcado
+ * de cardinfo.php. Mantiene en memoria la lista de monstruos para servir
+ * cartas aleatorias en O(1) sin acceder a la red.
+ */
+public class CardCatalog implements MonsterPool {
+    /** Propiedad del sistema para indicar otra ruta del catálogo */
+    public static final String PATH_PROPERTY = "ygo.catalog";
+
+    private final List<Card> cards;
+    private final List<Card> monsters;
+
+    private CardCatalog(List<Card> cards) {
+        this.cards = Collections.unmodifiableList(cards);
+
+        List<Card> monsterPool = new ArrayList<>();
+        for (Card card : cards) {
+            if (card.isMonster()) {
+                monsterPool.add(card);
+            }
+        }
+        this.monsters = Collections.unmodifiableList(monsterPool);
+    }
+
+    /**
+     * Ruta por defecto del catálogo: ~/.yugiohduel/cardinfo.json,
+     * o la indicada en la propiedad {@value #PATH_PROPERTY}
+     */
+    public static Path defaultPath() {
+        String override = System.getProperty(PATH_PROPERTY);
+        if (override != null && !override.isEmpty()) {
+            return Paths.get(override);
+        }
+        return Paths.get(System.getProperty("user.home"), ".yugiohduel", "cardinfo.json");
+    }
+
+    /**
+     * Carga el catálogo desde un archivo local
+     * @param path Ruta del volcado JSON
+     * @return Catálogo cargado
+     * @throws IOException si el archivo no se puede leer
+     */
+    public static CardCatalog load(Path path) throws IOException {
+        try (InputStream in = Files.newInputStream(path)) {
+            return load(in);
+        }
+    }
+
+    /**
+     * Carga el catálogo desde un flujo con el formato de cardinfo.php
+     * ({"data": [ ... ]}). Se parsea en streaming, sin construir el árbol
+     * JSON completo. Las cartas mal formadas se descartan y las cartas ya
+     * registradas en {@link CardRegistry} se reutilizan.
+     * @param in Flujo JSON
+     * @return Catálogo cargado
+     * @throws IOException si el flujo no se puede leer
+     */
+    public static CardCatalog load(InputStream in) throws IOException {
+        List<Card> cards = new ArrayList<>();
+        CardRegistry registry = CardRegistry.shared();
+        CardJsonReader.readCards(in, card -> cards.add(registry.intern(card)));
+        return new CardCatalog(cards);
+    }
+
+    /**
+     * Crea un catálogo a partir de cartas ya construidas
+     */
+    public static CardCatalog of(List<Card> cards) {
+        return new CardCatalog(new ArrayList<>(cards));
+    }
+
+    @Override
+    public Card randomMonster(Random random) {
+        if (monsters.isEmpty()) {
+            throw new IllegalStateException("El catálogo no contiene monstruos");
+        }
+        return monsters.get(random.nextInt(monsters.size()));
+    }
+
+    // Getters
+    public List<Card> getCards() {
+        return cards;
+    }
+
+    public List<Card> getMonsters() {
+        return monsters;
+    }
+
+    public int size() {
+        return cards.size();
+    }
+
+    @Override
+    public int monsterCount() {
+        return monsters.size();
+    }
+}
@@ -0,0 +1,312 @@
+package com.yugiohduel.catalog;
+
+import com.yugiohduel.model.Card;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Índice en memoria para buscar cartas de un catálogo completo.
+ * Los nombres se guardan ordenados para buscar por prefijo, ATK y DEF en
+ * arreglos primitivos ordenados para buscar por rango, y cada tipo de carta
+ * tiene su BitSet. Cada filtro produce un BitSet de posiciones y una consulta
+ * es la intersección de todos, sin recorrer los objetos Card.
+ *
+ * Ejemplo: monstruos cuyo nombre empieza con "Dark" y con ATK entre 2000 y 2500
+ * <pre>
+ * index.query().nameStartsWith("Dark").atkBetween(2000, 2500).monstersOnly().list();
+ * </pre>
+ */
+public class CardIndex {
+    private final Card[] cards;
+
+    // Nombres en minúsculas ordenados, y la posición de la carta de cada uno
+    private final String[] sortedNames;
+    private final int[] nameOrder;
+
+    private final int[] sortedAtk;
+    private final int[] atkOrder;
+    private final int[] sortedDef;
+    private final int[] defOrder;
+    private final int[] sortedIds;
+    private final int[] idOrder;
+
+    private final Map<String, BitSet> byType = new HashMap<>();
+    private final BitSet monsters;
+
+    public CardIndex(List<Card> cards) {
+        this.cards = cards.toArray(new Card[0]);
+        int n = this.cards.length;
+
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        String[] names = new String[n];
+        for (int i = 0; i < n; i++) {
+            names[i] = normalize(this.cards[i].getName());
+        }
+        Arrays.sort(order, (a, b) -> names[a].compareTo(names[b]));
+        this.sortedNames = new String[n];
+        this.nameOrder = new int[n];
+        for (int i = 0; i < n; i++) {
+            nameOrder[i] = order[i];
+            sortedNames[i] = names[order[i]];
+        }
+
+        int[] ids = new int[n];
+        int[] atk = new int[n];
+        int[] def = new int[n];
+        this.monsters = new BitSet(n);
+        for (int i = 0; i < n; i++) {
+            Card card = this.cards[i];
+            ids[i] = card.getId();
+            atk[i] = card.getAtk();
+            def[i] = card.getDef();
+            if (card.isMonster()) {
+                monsters.set(i);
+            }
+            byType.computeIfAbsent(card.getType(), type -> new BitSet(n)).set(i);
+        }
+        this.atkOrder = sortedOrder(atk);
+        this.sortedAtk = gather(atk, atkOrder);
+        this.defOrder = sortedOrder(def);
+        this.sortedDef = gather(def, defOrder);
+        this.idOrder = sortedOrder(ids);
+        this.sortedIds = gather(ids, idOrder);
+    }
+
+    /**
+     * Construye el índice sobre todas las cartas de un catálogo
+     */
+    public static CardIndex of(CardCatalog catalog) {
+        return new CardIndex(catalog.getCards());
+    }
+
+    /**
+     * Empieza una consulta; sin filtros devuelve todas las cartas
+     */
+    public Query query() {
+        return new Query();
+    }
+
+    /**
+     * Busca una carta por su id
+     * @return La carta, o null si no está en el índice
+     */
+    public Card findById(int id) {
+        int position = lowerBound(sortedIds, id);
+        if (position < sortedIds.length && sortedIds[position] == id) {
+            return cards[idOrder[position]];
+        }
+        return null;
+    }
+
+    // Filtros individuales
+
+    /**
+     * Cartas cuyo nombre empieza con el prefijo (sin distinguir mayúsculas)
+     */
+    public BitSet nameStartsWith(String prefix) {
+        String key = normalize(prefix);
+        int from = lowerBound(sortedNames, key);
+        int to = from;
+        while (to < sortedNames.length && sortedNames[to].startsWith(key)) {
+            to++;
+        }
+        return toBitSet(nameOrder, from, to);
+    }
+
+    /**
+     * Cartas con ATK en el rango cerrado [min, max]
+     */
+    public BitSet atkBetween(int min, int max) {
+        return toBitSet(atkOrder, lowerBound(sortedAtk, min), lowerBound(sortedAtk, max + 1L));
+    }
+
+    /**
+     * Cartas con DEF en el rango cerrado [min, max]
+     */
+    public BitSet defBetween(int min, int max) {
+        return toBitSet(defOrder, lowerBound(sortedDef, min), lowerBound(sortedDef, max + 1L));
+    }
+
+    /**
+     * Cartas de un tipo exacto, por ejemplo "Normal Monster"
+     */
+    public BitSet ofType(String type) {
+        BitSet set = byType.get(type);
+        return set == null ? new BitSet() : (BitSet) set.clone();
+    }
+
+    public BitSet monsters() {
+        return (BitSet) monsters.clone();
+    }
+
+    /**
+     * Convierte un conjunto de posiciones en cartas, en el orden del catálogo
+     */
+    public List<Card> cardsOf(BitSet positions) {
+        List<Card> result = new ArrayList<>(positions.cardinality());
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            result.add(cards[i]);
+        }
+        return result;
+    }
+
+    // Getters
+    public int size() {
+        return cards.length;
+    }
+
+    public Set<String> getTypes() {
+        return Collections.unmodifiableSet(byType.keySet());
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : name.toLowerCase(Locale.ROOT);
+    }
+
+    private BitSet toBitSet(int[] order, int from, int to) {
+        BitSet set = new BitSet(cards.length);
+        for (int i = from; i < to; i++) {
+            set.set(order[i]);
+        }
+        return set;
+    }
+
+    private static int[] sortedOrder(int[] values) {
+        // Ordena pares (valor, posición) empaquetados en long para no usar objetos
+        long[] packed = new long[values.length];
+        for (int i = 0; i < values.length; i++) {
+            packed[i] = ((long) values[i] << 32) | i;
+        }
+        Arrays.sort(packed);
+        int[] order = new int[values.length];
+        for (int i = 0; i < packed.length; i++) {
+            order[i] = (int) packed[i];
+        }
+        return order;
+    }
+
+    private static int[] gather(int[] values, int[] order) {
+        int[] sorted = new int[values.length];
+        for (int i = 0; i < order.length; i++) {
+            sorted[i] = values[order[i]];
+        }
+        return sorted;
+    }
+
+    /**
+     * Primera posición con valor >= key
+     */
+    private static int lowerBound(int[] sorted, long key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int lowerBound(String[] sorted, String key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Consulta que combina filtros por intersección de BitSets
+     */
+    public class Query {
+        private BitSet result;
+
+        private Query() {
+        }
+
+        public Query nameStartsWith(String prefix) {
+            return and(CardIndex.this.nameStartsWith(prefix));
+        }
+
+        public Query atkBetween(int min, int max) {
+            return and(CardIndex.this.atkBetween(min, max));
+        }
+
+        public Query defBetween(int min, int max) {
+            return and(CardIndex.this.defBetween(min, max));
+        }
+
+        public Query ofType(String type) {
+            BitSet set = byType.get(type);
+            return andShared(set == null ? new BitSet() : set);
+        }
+
+        public Query monstersOnly() {
+            return andShared(monsters);
+        }
+
+        /**
+         * Intersecta con un BitSet recién creado, que pasa a ser del resultado
+         */
+        private Query and(BitSet filter) {
+            if (result == null) {
+                result = filter;
+            } else {
+                result.and(filter);
+            }
+            return this;
+        }
+
+        /**
+         * Intersecta con un BitSet del índice, sin modificarlo
+         */
+        private Query andShared(BitSet filter) {
+            if (result == null) {
+                result = (BitSet) filter.clone();
+            } else {
+                result.and(filter);
+            }
+            return this;
+        }
+
+        /**
+         * Posiciones de las cartas que cumplen todos los filtros
+         */
+        public BitSet positions() {
+            if (result == null) {
+                BitSet all = new BitSet(cards.length);
+                all.set(0, cards.length);
+                return all;
+            }
+            return (BitSet) result.clone();
+        }
+
+        public int count() {
+            return result == null ? cards.length : result.cardinality();
+        }
+
+        public List<Card> list() {
+            return result == null ? Arrays.asList(cards.clone()) : cardsOf(result);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.yugiohduel.catalog;
+
+import com.yugiohduel.model.Card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Fuente local de cartas Monster aleatorias, sin acceso a la red
+ */
+public interface MonsterPool {
+
+    /**
+     * Obtiene una carta Monster aleatoria en O(1)
+     * @param random Generador a usar
+     * @return Carta Monster del catálogo
+     */
+    Card randomMonster(Random random);
+
+    /**
+     * Número de monstruos disponibles
+     */
+    int monsterCount();
+
+    /**
+     * Obtiene varias cartas Monster aleatorias
+     * @param count Número de cartas
+     * @param random Generador a usar
+     * @return Lista con las cartas elegidas
+     */
+    default List<Card> randomMonsters(int count, Random random) {
+        List<Card> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(randomMonster(random));
+        }
+        return result;
+    }
+}
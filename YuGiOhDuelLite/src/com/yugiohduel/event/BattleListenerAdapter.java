@@ -0,0 +1,38 @@
+package com.yugiohduel.event;
+
+import com.yugiohduel.game.BattleListener;
+
+/**
+ * Consumidor que traduce los eventos del bus a las llamadas de un
+ * {@link BattleListener}, en el mismo orden en que las hacía el duelo:
+ * onTurnResolved, onTurn y onScoreChanged por turno (y onLifePointsChanged si
+ * las reglas usan puntos de vida), y onDuelEnded al final.
+ * Los textos de las cartas se arman aquí, en el hilo del consumidor.
+ */
+public final class BattleListenerAdapter implements DuelEventHandler {
+    private final BattleListener listener;
+
+    public BattleListenerAdapter(BattleListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void onEvent(DuelEvent event, long sequence, boolean endOfBatch) {
+        switch (event.getType()) {
+            case TURN_RESOLVED:
+                listener.onTurnResolved(event.getPlayerCard(), event.getAiCard(), event.getOutcome());
+                listener.onTurn(event.getPlayerCard().toString(), event.getAiCard().toString(),
+                        event.getOutcome().getLabel());
+                listener.onScoreChanged(event.getPlayerScore(), event.getAiScore());
+                if (event.getDuel().getRules().hasLifePoints()) {
+                    listener.onLifePointsChanged(event.getPlayerLifePoints(), event.getAiLifePoints());
+                }
+                break;
+            case DUEL_ENDED:
+                listener.onDuelEnded(event.getOutcome().getLabel());
+                break;
+            default:
+                break;
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.yugiohduel.event;
+
+import com.yugiohduel.game.Duel;
+import com.yugiohduel.game.Outcome;
+import com.yugiohduel.model.Card;
+
+/**
+ * Ranura del anillo de {@link DuelEventBus}. Se crean todas al construir el
+ * bus y el productor las rellena en su sitio, así publicar no reserva memoria.
+ */
+public final class DuelEvent {
+
+    public enum Type {
+        /** Turno resuelto: cartas jugadas, resultado, puntajes y puntos de vida tras el turno */
+        TURN_RESOLVED,
+        /** Duelo terminado: ganador y puntajes finales */
+        DUEL_ENDED
+    }
+
+    private Type type;
+    private Duel duel;
+    private Card playerCard;
+    private Card aiCard;
+    private Outcome outcome;
+    private int playerScore;
+    private int aiScore;
+    private int playerLifePoints;
+    private int aiLifePoints;
+
+    DuelEvent() {
+    }
+
+    void setTurnResolved(Duel duel, Card playerCard, Card aiCard, Outcome outcome,
+                         int playerScore, int aiScore, int playerLifePoints, int aiLifePoints) {
+        this.type = Type.TURN_RESOLVED;
+        this.duel = duel;
+        this.playerCard = playerCard;
+        this.aiCard = aiCard;
+        this.outcome = outcome;
+        this.playerScore = playerScore;
+        this.aiScore = aiScore;
+        this.playerLifePoints = playerLifePoints;
+        this.aiLifePoints = aiLifePoints;
+    }
+
+    void setDuelEnded(Duel duel, Outcome winner, int playerScore, int aiScore) {
+        this.type = Type.DUEL_ENDED;
+        this.duel = duel;
+        this.playerCard = null;
+        this.aiCard = null;
+        this.outcome = winner;
+        this.playerScore = playerScore;
+        this.aiScore = aiScore;
+        this.playerLifePoints = 0;
+        this.aiLifePoints = 0;
+    }
+
+    // Getters
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * Duelo que publicó el evento, para distinguir duelos que comparten bus
+     */
+    public Duel getDuel() {
+        return duel;
+    }
+
+    /**
+     * @return Carta del jugador en TURN_RESOLVED, null en DUEL_ENDED
+     */
+    public Card getPlayerCard() {
+        return playerCard;
+    }
+
+    /**
+     * @return Carta de la IA en TURN_RESOLVED, null en DUEL_ENDED
+     */
+    public Card getAiCard() {
+        return aiCard;
+    }
+
+    /**
+     * @return Ganador del turno en TURN_RESOLVED, o del duelo en DUEL_ENDED
+     */
+    public Outcome getOutcome() {
+        return outcome;
+    }
+
+    public int getPlayerScore() {
+        return playerScore;
+    }
+
+    public int getAiScore() {
+        return aiScore;
+    }
+
+    /**
+     * @return Puntos de vida del jugador en TURN_RESOLVED (0 si las reglas no los usan)
+     */
+    public int getPlayerLifePoints() {
+        return playerLifePoints;
+    }
+
+    public int getAiLifePoints() {
+        return aiLifePoints;
+    }
+}
@@ -0,0 +1,191 @@
+package com.yugiohduel.event;
+
+import com.yugiohduel.game.Duel;
+import com.yugiohduel.game.Outcome;
+import com.yugiohduel.model.Card;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bus de eventos del duelo al estilo Disruptor: un anillo de
+ * {@link DuelEvent} creado de antemano, un cursor que marca lo publicado y
+ * una secuencia propia por consumidor. Publicar es rellenar una ranura y
+ * mover el cursor, sin cerrojos ni memoria nueva; cada consumidor avanza a
+ * su ritmo y procesa por lotes todo lo que encuentra publicado.
+ *
+ * Cada consumidor ({@link #subscribe}) tiene un hilo propio que espera con
+ * la {@link WaitStrategy} del bus. El bus conviene solo con consumidores
+ * asíncronos: quien necesita el resultado en el mismo hilo lo lee del duelo.
+ *
+ * Un solo hilo publica a la vez. Si el consumidor más lento va una vuelta
+ * entera por detrás, el productor espera a que libere ranuras.
+ */
+public final class DuelEventBus implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final DuelEvent[] ring;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final Sequence cursor = new Sequence();
+    private final List<EventProcessor> processors = new CopyOnWriteArrayList<>();
+    private volatile Sequence[] gating = new Sequence[0];
+
+    // Solo los usa el productor
+    private long nextSequence = Sequence.INITIAL;
+    private long cachedGating = Sequence.INITIAL;
+
+    public DuelEventBus() {
+        this(DEFAULT_CAPACITY, WaitStrategy.blocking());
+    }
+
+    /**
+     * @param capacity Ranuras del anillo, potencia de dos
+     * @param waitStrategy Espera de los consumidores con hilo propio
+     */
+    public DuelEventBus(int capacity, WaitStrategy waitStrategy) {
+        if (capacity < 1 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("La capacidad debe ser una potencia de dos: " + capacity);
+        }
+        this.ring = new DuelEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new DuelEvent();
+        }
+        this.mask = capacity - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    // Publicación
+
+    /**
+     * Publica un turno resuelto
+     */
+    public void publishTurnResolved(Duel duel, Card playerCard, Card aiCard, Outcome outcome,
+                                    int playerScore, int aiScore, int playerLifePoints, int aiLifePoints) {
+        long sequence = next();
+        ring[(int) sequence & mask].setTurnResolved(duel, playerCard, aiCard, outcome, playerScore, aiScore,
+                playerLifePoints, aiLifePoints);
+        publish(sequence);
+    }
+
+    /**
+     * Publica el final del duelo
+     */
+    public void publishDuelEnded(Duel duel, Outcome winner, int playerScore, int aiScore) {
+        long sequence = next();
+        ring[(int) sequence & mask].setDuelEnded(duel, winner, playerScore, aiScore);
+        publish(sequence);
+    }
+
+    /**
+     * Reserva la siguiente ranura, esperando si el consumidor más lento no la liberó
+     */
+    private long next() {
+        long sequence = nextSequence + 1;
+        long wrapPoint = sequence - ring.length;
+        if (wrapPoint > cachedGating) {
+            long minimum;
+            while (wrapPoint > (minimum = minimumGating(nextSequence))) {
+                LockSupport.parkNanos(1);
+            }
+            cachedGating = minimum;
+        }
+        nextSequence = sequence;
+        return sequence;
+    }
+
+    private void publish(long sequence) {
+        cursor.set(sequence);
+        waitStrategy.signalAllWhenBlocking();
+    }
+
+    private long minimumGating(long fallback) {
+        long minimum = fallback;
+        for (Sequence sequence : gating) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum;
+    }
+
+    // Consumidores
+
+    /**
+     * Agrega un consumidor con hilo propio (daemon). Recibe los eventos
+     * publicados a partir de ahora
+     * @param name Nombre del hilo
+     * @param handler Código que procesa cada evento
+     */
+    public EventProcessor subscribe(String name, DuelEventHandler handler) {
+        EventProcessor processor = new EventProcessor(this, name, handler, join());
+        processors.add(processor);
+        processor.start();
+        return processor;
+    }
+
+    private synchronized Sequence join() {
+        Sequence sequence = new Sequence();
+        sequence.set(cursor.get());
+        Sequence[] current = gating;
+        Sequence[] updated = new Sequence[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = sequence;
+        gating = updated;
+        return sequence;
+    }
+
+    /**
+     * Quita un consumidor: el productor deja de esperarlo
+     */
+    synchronized void leave(Sequence sequence) {
+        Sequence[] current = gating;
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == sequence) {
+                Sequence[] updated = new Sequence[current.length - 1];
+                System.arraycopy(current, 0, updated, 0, i);
+                System.arraycopy(current, i + 1, updated, i, current.length - i - 1);
+                gating = updated;
+                return;
+            }
+        }
+    }
+
+    void removeProcessor(EventProcessor processor) {
+        processors.remove(processor);
+    }
+
+    DuelEvent get(long sequence) {
+        return ring[(int) sequence & mask];
+    }
+
+    Sequence cursor() {
+        return cursor;
+    }
+
+    WaitStrategy waitStrategy() {
+        return waitStrategy;
+    }
+
+    // Getters
+
+    /**
+     * Última secuencia publicada (-1 si ninguna)
+     */
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    public int getCapacity() {
+        return ring.length;
+    }
+
+    /**
+     * Detiene los consumidores con hilo después de que procesen lo ya publicado
+     */
+    @Override
+    public void close() {
+        for (EventProcessor processor : processors) {
+            processor.close();
+        }
+    }
+}
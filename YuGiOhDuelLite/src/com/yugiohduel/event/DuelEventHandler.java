@@ -0,0 +1,14 @@
+package com.yugiohduel.event;
+
+/**
+ * Consumidor de eventos del bus. Recibe los eventos en orden y por lotes:
+ * {@code endOfBatch} indica el último evento disponible en ese momento,
+ * útil para agrupar trabajo caro (por ejemplo, un solo invokeLater por lote).
+ *
+ * El evento es una ranura reutilizada del anillo: no se debe guardar
+ * la referencia, solo copiar lo que haga falta.
+ */
+@FunctionalInterface
+public interface DuelEventHandler {
+    void onEvent(DuelEvent event, long sequence, boolean endOfBatch);
+}
@@ -0,0 +1,103 @@
+package com.yugiohduel.event;
+
+import com.yugiohduel.journal.Journal;
+
+/**
+ * Consumidor de {@link DuelEventBus} con hilo propio. Espera con la
+ * estrategia del bus y procesa de una vez todo lo publicado desde la
+ * última vuelta; solo entonces avanza su secuencia y libera las ranuras.
+ */
+public final class EventProcessor implements AutoCloseable {
+    private final DuelEventBus bus;
+    private final String name;
+    private final DuelEventHandler handler;
+    private final Sequence sequence;
+    private final Thread thread;
+    private volatile boolean halted;
+    private volatile long failures;
+
+    EventProcessor(DuelEventBus bus, String name, DuelEventHandler handler, Sequence sequence) {
+        this.bus = bus;
+        this.name = name;
+        this.handler = handler;
+        this.sequence = sequence;
+        this.thread = new Thread(this::run, name);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    private void run() {
+        Sequence cursor = bus.cursor();
+        WaitStrategy waitStrategy = bus.waitStrategy();
+        long next = sequence.get() + 1;
+        try {
+            while (true) {
+                long available = waitStrategy.waitFor(next, cursor, () -> halted);
+                if (available < next) {
+                    if (halted) {
+                        break;
+                    }
+                    continue;
+                }
+                for (long s = next; s <= available; s++) {
+                    try {
+                        handler.onEvent(bus.get(s), s, s == available);
+                    } catch (RuntimeException e) {
+                        // Un consumidor con errores no debe dejar de liberar ranuras
+                        failures++;
+                        Journal.shared().warn("event.handlerFailed")
+                                .add("handler", name)
+                                .add("error", e)
+                                .commit();
+                    }
+                }
+                sequence.set(available);
+                next = available + 1;
+                if (halted && available >= cursor.get()) {
+                    break;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            bus.leave(sequence);
+        }
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Última secuencia procesada
+     */
+    public long getSequence() {
+        return sequence.get();
+    }
+
+    /**
+     * Eventos cuyo procesamiento lanzó una excepción
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * Procesa lo ya publicado y detiene el hilo
+     */
+    @Override
+    public void close() {
+        halted = true;
+        bus.waitStrategy().signalAllWhenBlocking();
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        bus.removeProcessor(this);
+    }
+}
@@ -0,0 +1,57 @@
+package com.yugiohduel.event;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+
+/**
+ * Contador de secuencia del anillo: el cursor del productor o la última
+ * posición procesada por un consumidor. El valor va rodeado de relleno para
+ * que dos secuencias escritas por hilos distintos no compartan línea de caché.
+ */
+public final class Sequence extends SequenceValue {
+    /** Valor inicial: todavía no se publicó ni procesó nada */
+    public static final long INITIAL = -1L;
+
+    private static final VarHandle VALUE;
+
+    static {
+        try {
+            VALUE = MethodHandles.lookup().findVarHandle(SequenceValue.class, "value", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Relleno posterior al valor
+    @SuppressWarnings("unused")
+    private long p9, p10, p11, p12, p13, p14, p15;
+
+    public Sequence() {
+        this.value = INITIAL;
+    }
+
+    public long get() {
+        return value;
+    }
+
+    /**
+     * Escritura con semántica release: lo escrito antes (el evento) es visible
+     * para quien lea el nuevo valor, sin la barrera completa de un volatile
+     */
+    public void set(long newValue) {
+        VALUE.setRelease(this, newValue);
+    }
+}
+
+/**
+ * Relleno anterior al valor. La herencia obliga a la JVM a respetar el orden
+ * de los campos entre clases
+ */
+abstract class SequencePadding {
+    @SuppressWarnings("unused")
+    private long p1, p2, p3, p4, p5, p6, p7;
+}
+
+abstract class SequenceValue extends SequencePadding {
+    protected volatile long value;
+}
@@ -0,0 +1,143 @@
+package com.yugiohduel.event;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cómo espera un consumidor a que el productor publique la secuencia que necesita.
+ * - {@link #busySpin()}: menor latencia, ocupa un núcleo entero por consumidor.
+ * - {@link #yielding()}: gira un poco y luego cede el procesador.
+ * - {@link #sleeping()}: gira, cede y termina durmiendo ratos cortos; poca CPU.
+ * - {@link #blocking()}: duerme en una condición hasta que el productor avisa;
+ *   casi sin CPU en reposo, a costa de un aviso por publicación.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Espera hasta que el cursor alcance la secuencia o el consumidor se detenga
+     * @param sequence Secuencia que necesita el consumidor
+     * @param cursor Cursor del productor
+     * @param halted Indica si el consumidor se está deteniendo
+     * @return Último valor visto del cursor (menor que sequence si se detuvo)
+     */
+    long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) throws InterruptedException;
+
+    /**
+     * Aviso del productor tras publicar (y del bus al cerrarse)
+     */
+    void signalAllWhenBlocking();
+
+    static WaitStrategy busySpin() {
+        return new WaitStrategy() {
+            @Override
+            public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+                long available;
+                while ((available = cursor.get()) < sequence && !halted.getAsBoolean()) {
+                    Thread.onSpinWait();
+                }
+                return available;
+            }
+
+            @Override
+            public void signalAllWhenBlocking() {
+            }
+        };
+    }
+
+    static WaitStrategy yielding() {
+        return new BackoffWaitStrategy(100, Integer.MAX_VALUE);
+    }
+
+    static WaitStrategy sleeping() {
+        return new BackoffWaitStrategy(100, 100);
+    }
+
+    static WaitStrategy blocking() {
+        return new BlockingWaitStrategy();
+    }
+
+    /**
+     * Gira, luego cede el procesador y, agotados los intentos, duerme 100 µs por vuelta
+     */
+    final class BackoffWaitStrategy implements WaitStrategy {
+        private static final long SLEEP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+        private final int spins;
+        private final int yields;
+
+        BackoffWaitStrategy(int spins, int yields) {
+            this.spins = spins;
+            this.yields = yields;
+        }
+
+        @Override
+        public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) {
+            long available;
+            int counter = 0;
+            while ((available = cursor.get()) < sequence && !halted.getAsBoolean()) {
+                if (counter < spins) {
+                    Thread.onSpinWait();
+                } else if (counter < spins + yields) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(SLEEP_NANOS);
+                }
+                if (counter < Integer.MAX_VALUE) {
+                    counter++;
+                }
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+        }
+    }
+
+    /**
+     * Consumidores dormidos en una condición; el productor solo toma el
+     * cerrojo cuando hay alguno esperando
+     */
+    final class BlockingWaitStrategy implements WaitStrategy {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+        private volatile int waiters;
+
+        @Override
+        public long waitFor(long sequence, Sequence cursor, BooleanSupplier halted) throws InterruptedException {
+            long available = cursor.get();
+            if (available >= sequence) {
+                return available;
+            }
+            lock.lock();
+            waiters++;
+            try {
+                while ((available = cursor.get()) < sequence && !halted.getAsBoolean()) {
+                    published.await();
+                }
+            } finally {
+                waiters--;
+                lock.unlock();
+            }
+            return available;
+        }
+
+        @Override
+        public void signalAllWhenBlocking() {
+            // El cursor se publicó con release: la barrera evita leer waiters antes de tiempo
+            VarHandle.fullFence();
+            if (waiters == 0) {
+                return;
+            }
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.yugiohduel.game;
+
+import com.yugiohduel.rules.RuleSet;
+
+/**
+ * Estrategia con la que la IA elige su carta en cada turno.
+ * Recibe solo el estado visible: las manos restantes, los puntajes y los
+ * puntos de vida, no la carta que acaba de elegir el jugador.
+ */
+public interface AiStrategy {
+
+    /**
+     * Elige la carta de la IA para el turno actual
+     * @param rules Reglas con las que el duelo resuelve los turnos
+     * @param playerAttacks true si el jugador ataca en este turno
+     * @param aiAtk ATK de las cartas de la IA (se usan las primeras aiCount)
+     * @param aiDef DEF de las cartas de la IA, en el mismo orden
+     * @param aiCount Cartas que le quedan a la IA
+     * @param playerAtk ATK de las cartas del jugador (se usan las primeras playerCount)
+     * @param playerDef DEF de las cartas del jugador, en el mismo orden
+     * @param playerCount Cartas que le quedan al jugador
+     * @param aiScore Rondas ganadas por la IA
+     * @param playerScore Rondas ganadas por el jugador
+     * @param aiLifePoints Puntos de vida de la IA (0 si las reglas no los usan)
+     * @param playerLifePoints Puntos de vida del jugador
+     * @return Índice de la carta elegida, entre 0 y aiCount - 1
+     */
+    int chooseCard(RuleSet rules, boolean playerAttacks,
+                   int[] aiAtk, int[] aiDef, int aiCount,
+                   int[] playerAtk, int[] playerDef, int playerCount,
+                   int aiScore, int playerScore, int aiLifePoints, int playerLifePoints);
+}
@@ -1,8 +1,12 @@
 package com.yugiohduel.game;
 
+import com.yugiohduel.model.Card;
+
 /**
  * Interfaz para notificar eventos del duelo.
  * Permite desacoplar la lógica del juego de la interfaz gráfica.
+ * {@link Duel} publica en un bus de eventos; para recibirlos aquí se
+ * suscribe un {@link com.yugiohduel.event.BattleListenerAdapter}.
  */
 public interface BattleListener {
 
@@ -14,6 +18,16 @@ public interface BattleListener {
      */
     void onTurn(String playerCard, String aiCard, String winner);
 
+    /**
+     * Se ejecuta al resolver un turno, antes de {@link #onTurn}, con las cartas
+     * jugadas en lugar de texto (por ejemplo para grabar repeticiones)
+     * @param playerCard Carta del jugador (null si el duelo solo tiene ATK/DEF)
+     * @param aiCard Carta de la IA (null si el duelo solo tiene ATK/DEF)
+     * @param outcome Ganador del turno
+     */
+    default void onTurnResolved(Card playerCard, Card aiCard, Outcome outcome) {
+    }
+
     /**
      * Se ejecuta cuando cambia el puntaje
      * @param playerScore Puntos del jugador
@@ -21,6 +35,14 @@ public interface BattleListener {
      */
     void onScoreChanged(int playerScore, int aiScore);
 
+    /**
+     * Se ejecuta después de {@link #onScoreChanged} si las reglas usan puntos de vida
+     * @param playerLifePoints Puntos de vida del jugador
+     * @param aiLifePoints Puntos de vida de la IA
+     */
+    default void onLifePointsChanged(int playerLifePoints, int aiLifePoints) {
+    }
+
     /**
      * Se ejecuta cuando el duelo termina
      * @param winner Ganador del duelo ("Player" o "AI")
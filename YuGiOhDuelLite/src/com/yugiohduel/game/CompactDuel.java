@@ -0,0 +1,281 @@
+package com.yugiohduel.game;
+
+import com.yugiohduel.model.Card;
+import com.yugiohduel.rules.RuleSet;
+
+/**
+ * Estado compacto de un duelo para simulaciones masivas.
+ * Las manos son arrays de ATK/DEF con borrado por intercambio con el último,
+ * el resultado es un {@link Outcome} y el listener solo se invoca si hay uno
+ * suscrito, así un turno no reserva memoria. La instancia se reutiliza entre
+ * duelos con {@link #reset()}.
+ *
+ * A diferencia de {@link Duel}, la IA no elige aquí: quien conduce el duelo
+ * pasa ambos índices a {@link #playTurn(int, int)}. Los turnos se resuelven
+ * con las mismas reglas compiladas ({@link RuleSet}).
+ */
+public final class CompactDuel {
+    private final RuleSet rules;
+    private final int winningScore;
+    private final boolean lifePoints;
+
+    private final int[] playerAtk;
+    private final int[] playerDef;
+    private final int[] aiAtk;
+    private final int[] aiDef;
+    // Solo se usan para las notificaciones al listener
+    private final Card[] playerCards;
+    private final Card[] aiCards;
+
+    private int playerCount;
+    private int aiCount;
+    private int playerScore;
+    private int aiScore;
+    private int playerLifePoints;
+    private int aiLifePoints;
+    private boolean playerAttacks;
+    private int turns;
+    private boolean duelEnded;
+    private Outcome winner;
+    private BattleListener listener;
+
+    public CompactDuel() {
+        this(RuleSet.configured());
+    }
+
+    /**
+     * @param rules Reglas del duelo; las manos admiten hasta su tamaño de mano
+     */
+    public CompactDuel(RuleSet rules) {
+        int handCapacity = rules.getHandSize();
+        this.rules = rules;
+        this.winningScore = rules.getWinningScore();
+        this.lifePoints = rules.hasLifePoints();
+        this.playerAtk = new int[handCapacity];
+        this.playerDef = new int[handCapacity];
+        this.aiAtk = new int[handCapacity];
+        this.aiDef = new int[handCapacity];
+        this.playerCards = new Card[handCapacity];
+        this.aiCards = new Card[handCapacity];
+        reset();
+    }
+
+    /**
+     * Establece el listener para eventos de batalla (null para ninguno)
+     */
+    public void setBattleListener(BattleListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Vacía las manos y los puntajes para jugar otro duelo; ataca primero el jugador
+     */
+    public void reset() {
+        reset(true);
+    }
+
+    /**
+     * Vacía las manos y los puntajes para jugar otro duelo
+     * @param playerAttacksFirst true si el jugador ataca en el primer turno
+     */
+    public void reset(boolean playerAttacksFirst) {
+        playerCount = 0;
+        aiCount = 0;
+        playerScore = 0;
+        aiScore = 0;
+        playerLifePoints = rules.getLifePoints();
+        aiLifePoints = rules.getLifePoints();
+        playerAttacks = playerAttacksFirst;
+        turns = 0;
+        duelEnded = false;
+        winner = null;
+    }
+
+    /**
+     * Agrega una carta al mazo del jugador
+     */
+    public void addPlayerCard(int atk, int def) {
+        playerCards[playerCount] = null;
+        playerAtk[playerCount] = atk;
+        playerDef[playerCount++] = def;
+    }
+
+    /**
+     * Agrega una carta al mazo del jugador conservándola para las notificaciones
+     */
+    public void addPlayerCard(Card card) {
+        playerCards[playerCount] = card;
+        playerAtk[playerCount] = card.getAtk();
+        playerDef[playerCount++] = card.getDef();
+    }
+
+    /**
+     * Agrega una carta al mazo de la IA
+     */
+    public void addAiCard(int atk, int def) {
+        aiCards[aiCount] = null;
+        aiAtk[aiCount] = atk;
+        aiDef[aiCount++] = def;
+    }
+
+    /**
+     * Agrega una carta al mazo de la IA conservándola para las notificaciones
+     */
+    public void addAiCard(Card card) {
+        aiCards[aiCount] = card;
+        aiAtk[aiCount] = card.getAtk();
+        aiDef[aiCount++] = card.getDef();
+    }
+
+    /**
+     * Ejecuta un turno de batalla
+     * @param playerIndex Índice de la carta del jugador
+     * @param aiIndex Índice de la carta de la IA
+     * @return Resultado del turno, o null si el duelo terminó o un índice no es válido
+     */
+    public Outcome playTurn(int playerIndex, int aiIndex) {
+        if (duelEnded || playerIndex < 0 || playerIndex >= playerCount
+                || aiIndex < 0 || aiIndex >= aiCount) {
+            return null;
+        }
+
+        int result = rules.resolve(playerAttacks, playerAtk[playerIndex], playerDef[playerIndex],
+                aiAtk[aiIndex], aiDef[aiIndex]);
+        Outcome outcome = RuleSet.outcome(result);
+        if (outcome == Outcome.PLAYER) {
+            playerScore++;
+        } else if (outcome == Outcome.AI) {
+            aiScore++;
+        }
+        if (lifePoints) {
+            applyDamage(result);
+        }
+        playerAttacks = !playerAttacks;
+        turns++;
+
+        if (listener != null) {
+            notifyTurn(playerIndex, aiIndex, outcome);
+        }
+
+        removePlayerCard(playerIndex);
+        removeAiCard(aiIndex);
+
+        if (playerScore >= winningScore || aiScore >= winningScore) {
+            endDuel(playerScore >= winningScore ? Outcome.PLAYER : Outcome.AI);
+        } else if (lifePoints && (playerLifePoints == 0 || aiLifePoints == 0)) {
+            endDuel(aiLifePoints == 0 ? Outcome.PLAYER : Outcome.AI);
+        } else if (playerCount == 0 || aiCount == 0) {
+            // Sin cartas y sin ganador: el duelo termina en empate
+            duelEnded = true;
+        }
+
+        return outcome;
+    }
+
+    // Fuera de playTurn para que siga siendo corto y el JIT lo incorpore en el bucle de quien lo llama
+
+    /**
+     * Borrado por intercambio: la última carta ocupa el hueco
+     */
+    private void removePlayerCard(int index) {
+        int last = --playerCount;
+        playerAtk[index] = playerAtk[last];
+        playerDef[index] = playerDef[last];
+        playerCards[index] = playerCards[last];
+    }
+
+    private void removeAiCard(int index) {
+        int last = --aiCount;
+        aiAtk[index] = aiAtk[last];
+        aiDef[index] = aiDef[last];
+        aiCards[index] = aiCards[last];
+    }
+
+    private void applyDamage(int result) {
+        playerLifePoints = Math.max(0, playerLifePoints - RuleSet.playerDamage(result));
+        aiLifePoints = Math.max(0, aiLifePoints - RuleSet.aiDamage(result));
+    }
+
+    private void notifyTurn(int playerIndex, int aiIndex, Outcome outcome) {
+        listener.onTurnResolved(playerCards[playerIndex], aiCards[aiIndex], outcome);
+        listener.onTurn(describe(playerCards[playerIndex], playerAtk[playerIndex], playerDef[playerIndex]),
+                describe(aiCards[aiIndex], aiAtk[aiIndex], aiDef[aiIndex]),
+                outcome.getLabel());
+        listener.onScoreChanged(playerScore, aiScore);
+        if (lifePoints) {
+            listener.onLifePointsChanged(playerLifePoints, aiLifePoints);
+        }
+    }
+
+    private void endDuel(Outcome winner) {
+        duelEnded = true;
+        this.winner = winner;
+        if (listener != null) {
+            listener.onDuelEnded(winner.getLabel());
+        }
+    }
+
+    private static String describe(Card card, int atk, int def) {
+        return card != null ? card.toString() : String.format("[ATK:%d / DEF:%d]", atk, def);
+    }
+
+    // Getters
+    public RuleSet getRules() {
+        return rules;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public int getAiCount() {
+        return aiCount;
+    }
+
+    public int getPlayerAtk(int index) {
+        return playerAtk[index];
+    }
+
+    public int getPlayerDef(int index) {
+        return playerDef[index];
+    }
+
+    public int getAiAtk(int index) {
+        return aiAtk[index];
+    }
+
+    public int getAiDef(int index) {
+        return aiDef[index];
+    }
+
+    public int getPlayerScore() {
+        return playerScore;
+    }
+
+    public int getAiScore() {
+        return aiScore;
+    }
+
+    public int getPlayerLifePoints() {
+        return playerLifePoints;
+    }
+
+    public int getAiLifePoints() {
+        return aiLifePoints;
+    }
+
+    public int getTurns() {
+        return turns;
+    }
+
+    public boolean isDuelEnded() {
+        return duelEnded;
+    }
+
+    /**
+     * @return Ganador del duelo (PLAYER o AI), o null si no terminó o quedó en empate
+     */
+    public Outcome getWinner() {
+        return winner;
+    }
+}
@@ -1,32 +1,72 @@
 package com.yugiohduel.game;
 
+import com.yugiohduel.event.DuelEventBus;
+import com.yugiohduel.metrics.Metrics;
 import com.yugiohduel.model.Card;
+import com.yugiohduel.rules.RuleSet;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
 
 /**
- * Gestiona la lógica completa del duelo entre el jugador y la IA
+ * Gestiona la lógica completa del duelo entre el jugador y la IA.
+ * Cada turno lo resuelve un {@link RuleSet}; quien tiene el turno ataca y
+ * el turno pasa al rival después de cada batalla.
+ * Los turnos y el final se publican en un {@link DuelEventBus}; el duelo
+ * no espera a quienes los consumen.
  */
 public class Duel {
     private List<Card> playerCards;
     private List<Card> aiCards;
+    private final RuleSet rules;
     private int playerScore;
     private int aiScore;
+    private int playerLifePoints;
+    private int aiLifePoints;
     private boolean playerTurn;
-    private BattleListener listener;
+    private DuelEventBus eventBus;
     private Random random;
+    private AiStrategy aiStrategy;
     private boolean duelEnded;
+    private Outcome duelWinner;
+    // Último turno jugado, para quien lo consulta justo después de playTurn
+    private Card lastPlayerCard;
+    private Card lastAiCard;
+    private Outcome lastTurnOutcome;
 
-    private static final int WINNING_SCORE = 2;
+    /** Cartas que recibe cada jugador con las reglas clásicas */
+    public static final int HAND_SIZE = 3;
+    /** Rondas ganadas necesarias para ganar el duelo con las reglas clásicas */
+    public static final int WINNING_SCORE = 2;
 
     public Duel() {
+        this(new Random());
+    }
+
+    /**
+     * Crea un duelo con un generador dado, para simulaciones reproducibles,
+     * con las reglas de {@link RuleSet#configured()}
+     * @param random Generador usado para el turno inicial y la elección de la IA
+     */
+    public Duel(Random random) {
+        this(random, RuleSet.configured());
+    }
+
+    /**
+     * @param random Generador usado para el turno inicial y la elección de la IA
+     * @param rules Reglas con las que se resuelven los turnos
+     */
+    public Duel(Random random, RuleSet rules) {
         this.playerCards = new ArrayList<>();
         this.aiCards = new ArrayList<>();
+        this.rules = rules;
         this.playerScore = 0;
         this.aiScore = 0;
-        this.random = new Random();
+        this.playerLifePoints = rules.getLifePoints();
+        this.aiLifePoints = rules.getLifePoints();
+        this.random = random;
+        this.aiStrategy = new RandomAiStrategy(random);
         this.duelEnded = false;
 
         // Determinar turno inicial aleatoriamente
@@ -34,10 +74,17 @@ public class Duel {
     }
 
     /**
-     * Establece el listener para eventos de batalla
+     * Establece el bus donde se publican los eventos de batalla (null para ninguno)
+     */
+    public void setEventBus(DuelEventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /**
+     * Establece cómo elige la IA su carta (por defecto, al azar)
      */
-    public void setBattleListener(BattleListener listener) {
-        this.listener = listener;
+    public void setAiStrategy(AiStrategy aiStrategy) {
+        this.aiStrategy = aiStrategy;
     }
 
     /**
@@ -58,7 +105,7 @@ public class Duel {
      * Verifica si el duelo está listo para comenzar
      */
     public boolean isReady() {
-        return playerCards.size() == 3 && aiCards.size() == 3;
+        return playerCards.size() == rules.getHandSize() && aiCards.size() == rules.getHandSize();
     }
 
     /**
@@ -74,61 +121,103 @@ public class Duel {
             return;
         }
 
+        long start = Metrics.startTimer();
+
         // Jugador elige su carta
         Card playerCard = playerCards.get(playerCardIndex);
 
-        // IA elige carta aleatoria
-        int aiCardIndex = random.nextInt(aiCards.size());
+        // IA elige carta según su estrategia
+        int aiCardIndex = chooseAiCard();
         Card aiCard = aiCards.get(aiCardIndex);
 
-        // Determinar ganador del turno
-        String winner = determineWinner(playerCard, aiCard);
+        // Determinar ganador del turno y daño según las reglas
+        int result = rules.resolve(playerTurn, playerCard.getAtk(), playerCard.getDef(),
+                aiCard.getAtk(), aiCard.getDef());
+        Outcome winner = RuleSet.outcome(result);
 
-        // Actualizar puntajes
-        if (winner.equals("Player")) {
+        // Actualizar puntajes y puntos de vida
+        if (winner == Outcome.PLAYER) {
             playerScore++;
-        } else if (winner.equals("AI")) {
+        } else if (winner == Outcome.AI) {
             aiScore++;
         }
+        if (rules.hasLifePoints()) {
+            applyDamage(result);
+        }
+        playerTurn = !playerTurn;
+        lastPlayerCard = playerCard;
+        lastAiCard = aiCard;
+        lastTurnOutcome = winner;
+        Metrics.TURN_RESOLUTION.recordSince(start);
 
-        // Notificar eventos
-        if (listener != null) {
-            listener.onTurn(playerCard.toString(), aiCard.toString(), winner);
-            listener.onScoreChanged(playerScore, aiScore);
+        // Publicar el turno; los consumidores lo procesan en sus hilos
+        if (eventBus != null) {
+            eventBus.publishTurnResolved(this, playerCard, aiCard, winner, playerScore, aiScore,
+                    playerLifePoints, aiLifePoints);
         }
 
         // Remover cartas usadas
         playerCards.remove(playerCardIndex);
         aiCards.remove(aiCardIndex);
 
-        // Verificar si el duelo terminó
-        if (playerScore >= WINNING_SCORE || aiScore >= WINNING_SCORE) {
+        checkDuelEnded();
+    }
+
+    private void applyDamage(int result) {
+        playerLifePoints = Math.max(0, playerLifePoints - RuleSet.playerDamage(result));
+        aiLifePoints = Math.max(0, aiLifePoints - RuleSet.aiDamage(result));
+    }
+
+    /**
+     * Verifica si el duelo terminó: por rondas ganadas o por quedarse sin vida
+     */
+    private void checkDuelEnded() {
+        int winningScore = rules.getWinningScore();
+        if (playerScore >= winningScore || aiScore >= winningScore) {
             duelEnded = true;
-            String duelWinner = playerScore >= WINNING_SCORE ? "Player" : "AI";
-            if (listener != null) {
-                listener.onDuelEnded(duelWinner);
-            }
+            duelWinner = playerScore >= winningScore ? Outcome.PLAYER : Outcome.AI;
+        } else if (rules.hasLifePoints() && (playerLifePoints == 0 || aiLifePoints == 0)) {
+            duelEnded = true;
+            duelWinner = aiLifePoints == 0 ? Outcome.PLAYER : Outcome.AI;
+        }
+        if (duelEnded && eventBus != null) {
+            eventBus.publishDuelEnded(this, duelWinner, playerScore, aiScore);
         }
     }
 
     /**
-     * Determina el ganador comparando ATK vs DEF
-     * Reglas simplificadas: ambos atacan, gana el mayor ATK
+     * Consulta a la estrategia de la IA con el estado visible del duelo
      */
-    private String determineWinner(Card playerCard, Card aiCard) {
-        int playerPower = playerCard.getAtk();
-        int aiPower = aiCard.getAtk();
-
-        if (playerPower > aiPower) {
-            return "Player";
-        } else if (aiPower > playerPower) {
-            return "AI";
-        } else {
-            return "Draw";
+    private int chooseAiCard() {
+        int[] aiAtk = atkValues(aiCards);
+        int[] playerAtk = atkValues(playerCards);
+        return aiStrategy.chooseCard(rules, playerTurn,
+                aiAtk, defValues(aiCards), aiAtk.length,
+                playerAtk, defValues(playerCards), playerAtk.length,
+                aiScore, playerScore, aiLifePoints, playerLifePoints);
+    }
+
+    private static int[] atkValues(List<Card> cards) {
+        int[] values = new int[cards.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = cards.get(i).getAtk();
         }
+        return values;
+    }
+
+    private static int[] defValues(List<Card> cards) {
+        int[] values = new int[cards.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = cards.get(i).getDef();
+        }
+        return values;
     }
 
     // Getters
+    public RuleSet getRules() {
+        return rules;
+    }
+
     public List<Card> getPlayerCards() {
         return new ArrayList<>(playerCards);
     }
@@ -145,6 +234,20 @@ public class Duel {
         return aiScore;
     }
 
+    /**
+     * Puntos de vida del jugador (0 si las reglas no los usan)
+     */
+    public int getPlayerLifePoints() {
+        return playerLifePoints;
+    }
+
+    public int getAiLifePoints() {
+        return aiLifePoints;
+    }
+
+    /**
+     * @return true si el jugador ataca en el próximo turno
+     */
     public boolean isPlayerTurn() {
         return playerTurn;
     }
@@ -152,4 +255,29 @@ public class Duel {
     public boolean isDuelEnded() {
         return duelEnded;
     }
+
+    /**
+     * @return Ganador del duelo (PLAYER o AI), o null si no ha terminado
+     */
+    public Outcome getWinner() {
+        return duelWinner;
+    }
+
+    /**
+     * Carta que jugó el jugador en el último turno, o null si aún no hubo turnos
+     */
+    public Card getLastPlayerCard() {
+        return lastPlayerCard;
+    }
+
+    public Card getLastAiCard() {
+        return lastAiCard;
+    }
+
+    /**
+     * @return Ganador del último turno, o null si aún no hubo turnos
+     */
+    public Outcome getLastTurnOutcome() {
+        return lastTurnOutcome;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,299 @@
+package com.yugiohduel.game;
+
+import com.yugiohduel.rules.RuleSet;
+
+import java.util.Arrays;
+
+/**
+ * IA por búsqueda sobre las manos restantes, los puntajes y los puntos de vida.
+ * En cada turno la IA maximiza su valor esperado (victoria = 1, empate = 0.5,
+ * derrota = 0). La jugada del jugador se modela como uniforme (expectimax) o
+ * como la peor para la IA (minimax). Cada enfrentamiento se resuelve con
+ * {@link RuleSet#resolve}, el mismo que usa el duelo, así la búsqueda ve las
+ * posiciones, el DEF, el daño y quién ataca en cada turno.
+ *
+ * Los estados se guardan en una tabla de transposición indexada por las
+ * máscaras de cartas restantes, los puntajes y la vida, así las posiciones que se
+ * repiten por distintos órdenes de juego se evalúan una sola vez. La búsqueda
+ * se profundiza de forma iterativa y se detiene al agotar el presupuesto de
+ * tiempo por jugada, usando entonces la última profundidad completa.
+ * No es thread-safe: una instancia se puede reutilizar entre duelos (la
+ * generación descarta la tabla anterior sin recorrerla), pero siempre
+ * desde el mismo hilo.
+ */
+public class ExpectimaxAiStrategy implements AiStrategy {
+    private static final long DEFAULT_BUDGET_NANOS = 1_000_000;
+    private static final int TABLE_BITS = 16;
+    private static final int DEADLINE_CHECK_INTERVAL = 256;
+
+    private final boolean adversarialPlayer;
+    private final long budgetNanos;
+
+    // Tabla de transposición con direccionamiento abierto; la generación
+    // invalida todas las entradas de una jugada anterior sin recorrerlas
+    private final long[] tableKeys = new long[1 << TABLE_BITS];
+    private final long[] tableLives = new long[1 << TABLE_BITS];
+    private final double[] tableValues = new double[1 << TABLE_BITS];
+    private final byte[] tableDepths = new byte[1 << TABLE_BITS];
+    private final int[] tableGenerations = new int[1 << TABLE_BITS];
+    private int generation;
+
+    // Estado de la búsqueda en curso
+    private RuleSet rules;
+    private int[] aiAtk;
+    private int[] aiDef;
+    private int[] playerAtk;
+    private int[] playerDef;
+    private int winningScore;
+    private boolean lifePoints;
+    private long deadline;
+    private int nodesSinceCheck;
+    private boolean timedOut;
+
+    public ExpectimaxAiStrategy() {
+        this(false, DEFAULT_BUDGET_NANOS);
+    }
+
+    /**
+     * @param adversarialPlayer true para minimax (el jugador elige lo peor para la IA),
+     *                          false para expectimax (el jugador elige al azar)
+     * @param budgetNanos Presupuesto de tiempo por jugada
+     */
+    public ExpectimaxAiStrategy(boolean adversarialPlayer, long budgetNanos) {
+        this.adversarialPlayer = adversarialPlayer;
+        this.budgetNanos = budgetNanos;
+    }
+
+    @Override
+    public int chooseCard(RuleSet rules, boolean playerAttacks,
+                          int[] aiAtk, int[] aiDef, int aiCount,
+                          int[] playerAtk, int[] playerDef, int playerCount,
+                          int aiScore, int playerScore, int aiLifePoints, int playerLifePoints) {
+        if (aiCount <= 1) {
+            return 0;
+        }
+        if (aiCount > RuleSet.MAX_HAND_SIZE || playerCount > RuleSet.MAX_HAND_SIZE) {
+            throw new IllegalArgumentException("La búsqueda admite hasta " + RuleSet.MAX_HAND_SIZE + " cartas por mano");
+        }
+
+        this.rules = rules;
+        this.aiAtk = aiAtk;
+        this.aiDef = aiDef;
+        this.playerAtk = playerAtk;
+        this.playerDef = playerDef;
+        this.winningScore = rules.getWinningScore();
+        this.lifePoints = rules.hasLifePoints();
+        this.deadline = System.nanoTime() + budgetNanos;
+        this.nodesSinceCheck = 0;
+        this.timedOut = false;
+        nextGeneration();
+
+        int aiMask = (1 << aiCount) - 1;
+        int playerMask = (1 << playerCount) - 1;
+        int maxDepth = Math.min(aiCount, playerCount);
+
+        int bestCard = 0;
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            int candidate = bestRootCard(aiMask, playerMask, aiScore, playerScore,
+                    aiLifePoints, playerLifePoints, playerAttacks, depth);
+            if (timedOut) {
+                break;
+            }
+            bestCard = candidate;
+        }
+
+        this.rules = null;
+        this.aiAtk = null;
+        this.aiDef = null;
+        this.playerAtk = null;
+        this.playerDef = null;
+        return bestCard;
+    }
+
+    /**
+     * Evalúa cada carta de la IA en la raíz y devuelve la mejor
+     */
+    private int bestRootCard(int aiMask, int playerMask, int aiScore, int playerScore,
+                             int aiLife, int playerLife, boolean playerAttacks, int depth) {
+        int bestCard = 0;
+        double bestValue = -1;
+        for (int a = 0; a < RuleSet.MAX_HAND_SIZE; a++) {
+            if ((aiMask & (1 << a)) == 0) {
+                continue;
+            }
+            double value = replyValue(a, aiMask, playerMask, aiScore, playerScore,
+                    aiLife, playerLife, playerAttacks, depth);
+            if (timedOut) {
+                return bestCard;
+            }
+            if (value > bestValue) {
+                bestValue = value;
+                bestCard = a;
+            }
+        }
+        return bestCard;
+    }
+
+    /**
+     * Valor de jugar la carta a de la IA, según la respuesta del jugador.
+     * Tras el turno el atacante cambia, igual que en el duelo.
+     */
+    private double replyValue(int a, int aiMask, int playerMask, int aiScore, int playerScore,
+                              int aiLife, int playerLife, boolean playerAttacks, int depth) {
+        double total = 0;
+        double worst = 1;
+        int replies = 0;
+        for (int p = 0; p < RuleSet.MAX_HAND_SIZE; p++) {
+            if ((playerMask & (1 << p)) == 0) {
+                continue;
+            }
+            int result = rules.resolve(playerAttacks, playerAtk[p], playerDef[p], aiAtk[a], aiDef[a]);
+            Outcome outcome = RuleSet.outcome(result);
+            int nextAiScore = outcome == Outcome.AI ? aiScore + 1 : aiScore;
+            int nextPlayerScore = outcome == Outcome.PLAYER ? playerScore + 1 : playerScore;
+            int nextAiLife = aiLife;
+            int nextPlayerLife = playerLife;
+            if (lifePoints) {
+                nextAiLife = Math.max(0, aiLife - RuleSet.aiDamage(result));
+                nextPlayerLife = Math.max(0, playerLife - RuleSet.playerDamage(result));
+            }
+            double value = search(aiMask & ~(1 << a), playerMask & ~(1 << p),
+                    nextAiScore, nextPlayerScore, nextAiLife, nextPlayerLife, !playerAttacks, depth - 1);
+            total += value;
+            worst = Math.min(worst, value);
+            replies++;
+        }
+        return adversarialPlayer ? worst : total / replies;
+    }
+
+    /**
+     * Valor del estado para la IA, explorando hasta la profundidad indicada.
+     * El final se decide como en el duelo: primero las rondas, luego la vida.
+     */
+    private double search(int aiMask, int playerMask, int aiScore, int playerScore,
+                          int aiLife, int playerLife, boolean playerAttacks, int depth) {
+        if (aiScore >= winningScore) {
+            return 1;
+        }
+        if (playerScore >= winningScore) {
+            return 0;
+        }
+        if (lifePoints && aiLife == 0) {
+            return 0;
+        }
+        if (lifePoints && playerLife == 0) {
+            return 1;
+        }
+        if (aiMask == 0 || playerMask == 0) {
+            return 0.5;
+        }
+        // Las hojas también cuentan: con manos grandes son la mayor parte del trabajo
+        if (++nodesSinceCheck >= DEADLINE_CHECK_INTERVAL) {
+            nodesSinceCheck = 0;
+            if (System.nanoTime() > deadline) {
+                timedOut = true;
+            }
+        }
+        if (timedOut) {
+            return 0.5;
+        }
+        if (depth == 0) {
+            return estimate(aiMask, playerMask, aiScore, playerScore, aiLife, playerLife, playerAttacks);
+        }
+
+        // Con las mismas máscaras se jugaron los mismos turnos, así que el atacante también coincide
+        long key = ((long) aiMask << 32) | ((long) playerMask << 16) | (aiScore << 8) | playerScore;
+        long lives = ((long) aiLife << 32) | playerLife;
+        int slot = probe(key, lives);
+        if (tableGenerations[slot] == generation && tableKeys[slot] == key && tableLives[slot] == lives
+                && tableDepths[slot] >= depth) {
+            return tableValues[slot];
+        }
+
+        double best = 0;
+        for (int a = 0; a < RuleSet.MAX_HAND_SIZE; a++) {
+            if ((aiMask & (1 << a)) != 0) {
+                best = Math.max(best, replyValue(a, aiMask, playerMask, aiScore, playerScore,
+                        aiLife, playerLife, playerAttacks, depth));
+            }
+        }
+
+        if (!timedOut) {
+            tableKeys[slot] = key;
+            tableLives[slot] = lives;
+            tableValues[slot] = best;
+            tableDepths[slot] = (byte) depth;
+            tableGenerations[slot] = generation;
+        }
+        return best;
+    }
+
+    /**
+     * Estimación en la frontera de la búsqueda: puntaje actual, diferencia
+     * de vida y proporción de enfrentamientos favorables entre las cartas
+     * restantes con el atacante del próximo turno
+     */
+    private double estimate(int aiMask, int playerMask, int aiScore, int playerScore,
+                            int aiLife, int playerLife, boolean playerAttacks) {
+        int favorable = 0;
+        int pairs = 0;
+        for (int a = 0; a < RuleSet.MAX_HAND_SIZE; a++) {
+            if ((aiMask & (1 << a)) == 0) {
+                continue;
+            }
+            for (int p = 0; p < RuleSet.MAX_HAND_SIZE; p++) {
+                if ((playerMask & (1 << p)) == 0) {
+                    continue;
+                }
+                Outcome outcome = RuleSet.outcome(
+                        rules.resolve(playerAttacks, playerAtk[p], playerDef[p], aiAtk[a], aiDef[a]));
+                if (outcome == Outcome.AI) {
+                    favorable++;
+                } else if (outcome == Outcome.PLAYER) {
+                    favorable--;
+                }
+                pairs++;
+            }
+        }
+        double value = 0.5
+                + 0.5 * (aiScore - playerScore) / winningScore
+                + 0.25 * favorable / pairs;
+        if (lifePoints) {
+            value += 0.25 * (aiLife - playerLife) / rules.getLifePoints();
+        }
+        return Math.max(0, Math.min(1, value));
+    }
+
+    /**
+     * Ranura de la clave: la que ya la contiene, una libre de esta generación,
+     * o la posición base si el vecindario está lleno (se reemplaza)
+     */
+    private int probe(long key, long lives) {
+        int mask = tableKeys.length - 1;
+        int home = (int) (mix(key ^ lives * 0x9e3779b97f4a7c15L) & mask);
+        for (int i = 0; i < 8; i++) {
+            int slot = (home + i) & mask;
+            if (tableGenerations[slot] != generation
+                    || (tableKeys[slot] == key && tableLives[slot] == lives)) {
+                return slot;
+            }
+        }
+        return home;
+    }
+
+    private static long mix(long key) {
+        key ^= key >>> 33;
+        key *= 0xff51afd7ed558ccdL;
+        key ^= key >>> 33;
+        return key;
+    }
+
+    private void nextGeneration() {
+        generation++;
+        if (generation == 0) {
+            // Tras dar la vuelta se limpian las marcas para no confundir generaciones
+            Arrays.fill(tableGenerations, 0);
+            generation = 1;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.yugiohduel.game;
+
+/**
+ * Resultado de un turno o de un duelo.
+ * Evita construir y comparar cadenas en la lógica del juego; la etiqueta
+ * es la que reciben los listeners ("Player", "AI" o "Draw").
+ */
+public enum Outcome {
+    PLAYER("Player"),
+    AI("AI"),
+    DRAW("Draw");
+
+    private final String label;
+
+    Outcome(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+}
@@ -0,0 +1,24 @@
+package com.yugiohduel.game;
+
+import com.yugiohduel.rules.RuleSet;
+
+import java.util.Random;
+
+/**
+ * La IA elige una carta al azar (comportamiento original del juego)
+ */
+public class RandomAiStrategy implements AiStrategy {
+    private final Random random;
+
+    public RandomAiStrategy(Random random) {
+        this.random = random;
+    }
+
+    @Override
+    public int chooseCard(RuleSet rules, boolean playerAttacks,
+                          int[] aiAtk, int[] aiDef, int aiCount,
+                          int[] playerAtk, int[] playerDef, int playerCount,
+                          int aiScore, int playerScore, int aiLifePoints, int playerLifePoints) {
+        return random.nextInt(aiCount);
+    }
+}
@@ -0,0 +1,489 @@
+package com.yugiohduel.journal;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Diario de diagnóstico estructurado y asíncrono, en líneas JSON:
+ * <pre>
+ * {"ts":"2026-10-17T10:15:30.120Z","level":"INFO","event":"api.nonMonster","thread":"...","id":1234,"name":"..."}
+ * </pre>
+ * Quien registra reserva una ranura preasignada de un anillo, la rellena y
+ * la publica, sin bloqueos ni E/S; un hilo escritor convierte lo publicado a
+ * JSON y lo escribe en bloque en un FileChannel. Si el anillo está lleno el
+ * registro se descarta y se cuenta, así la consola o el disco nunca frenan
+ * al hilo que registra.
+ *
+ * El nivel se cambia en caliente con {@link #setLevel} (también por JMX);
+ * por debajo del nivel, registrar es una lectura volátil. El archivo se crea
+ * con el primer registro y al pasar de {@value #DEFAULT_MAX_FILE_BYTES} bytes
+ * se rota a un único ".1".
+ */
+public final class Journal implements JournalMXBean, AutoCloseable {
+    public static final String PATH_PROPERTY = "ygo.journal";
+    public static final String LEVEL_PROPERTY = "ygo.journal.level";
+    public static final int DEFAULT_CAPACITY = 4096;
+    public static final long DEFAULT_MAX_FILE_BYTES = 16L * 1024 * 1024;
+
+    public enum Level {
+        DEBUG,
+        INFO,
+        WARN,
+        ERROR,
+        /** Solo como nivel del diario: no registra nada */
+        OFF
+    }
+
+    private static final long NOT_PUBLISHED = -1;
+    // Mientras hay actividad reciente el escritor revisa cada 2 ms; tras 100 ms
+    // sin registros se duerme hasta que un registro lo despierte
+    private static final long BUSY_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    private static final int BUSY_ROUNDS = 50;
+    private static final long IDLE_PARK_NANOS = TimeUnit.SECONDS.toNanos(5);
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_BATCH = 512;
+
+    private static volatile Journal shared;
+
+    private final Path path;
+    private final long maxFileBytes;
+    private final JournalRecord[] slots;
+    private final int mask;
+    private final AtomicLongArray published;
+    private final AtomicLong head = new AtomicLong();
+    // Siguiente secuencia que escribirá el hilo escritor; libera las ranuras anteriores
+    private final AtomicLong consumed = new AtomicLong();
+    private final JournalRecord inert = new JournalRecord(null);
+    private final LongAdder dropped = new LongAdder();
+    private volatile Level level;
+    private volatile long written;
+    private volatile boolean closed;
+    private volatile boolean writerSleeping;
+    private final Thread writer;
+
+    // Solo los usa el hilo escritor
+    private final StringBuilder batch = new StringBuilder(BUFFER_SIZE);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private FileChannel channel;
+    private boolean failed;
+
+    /**
+     * @param path Archivo de líneas JSON; se crea con el primer registro
+     * @param level Nivel mínimo que se registra
+     * @param capacity Registros pendientes máximos; se redondea a potencia de dos
+     * @param maxFileBytes Tamaño a partir del cual se rota el archivo
+     */
+    public Journal(Path path, Level level, int capacity, long maxFileBytes) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.path = path;
+        this.maxFileBytes = maxFileBytes;
+        this.level = level;
+        this.mask = size - 1;
+        this.slots = new JournalRecord[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = new JournalRecord(this);
+            published.set(i, NOT_PUBLISHED);
+        }
+        this.writer = new Thread(this::run, "journal-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Diario del proceso, en {@value #PATH_PROPERTY} (por defecto
+     * ~/.yugiohduel/journal.jsonl) con el nivel de {@value #LEVEL_PROPERTY}
+     * (por defecto INFO). Se publica en JMX y se vacía al salir.
+     * Se llama desde los caminos de las peticiones, así que nunca falla por la
+     * configuración: una ruta o un nivel inválidos se reemplazan por los de
+     * por defecto y se avisa una vez, y si JMX no lo acepta sigue sin JMX.
+     */
+    public static Journal shared() {
+        Journal journal = shared;
+        if (journal != null) {
+            return journal;
+        }
+        synchronized (Journal.class) {
+            if (shared == null) {
+                shared = createShared();
+            }
+            return shared;
+        }
+    }
+
+    private static Journal createShared() {
+        String configuredLevel = System.getProperty(LEVEL_PROPERTY, Level.INFO.name());
+        Level level = Level.INFO;
+        String levelProblem = null;
+        try {
+            level = parseLevel(configuredLevel);
+        } catch (IllegalArgumentException e) {
+            levelProblem = e.getMessage();
+        }
+
+        Path path;
+        String pathProblem = null;
+        try {
+            path = defaultPath();
+        } catch (InvalidPathException e) {
+            path = homePath();
+            pathProblem = e.getMessage();
+        }
+
+        Journal journal = new Journal(path, level, DEFAULT_CAPACITY, DEFAULT_MAX_FILE_BYTES);
+        if (levelProblem != null) {
+            journal.reportConfigProblem("journal.badLevel", levelProblem);
+        }
+        if (pathProblem != null) {
+            journal.reportConfigProblem("journal.badPath", pathProblem);
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(journal,
+                    new ObjectName("com.yugiohduel:type=Journal,name=shared"));
+        } catch (JMException | RuntimeException e) {
+            // Sin JMX solo se pierde el cambio de nivel en caliente
+            journal.reportConfigProblem("journal.jmxUnavailable", e.toString());
+        }
+        Runtime.getRuntime().addShutdownHook(new Thread(journal::close, "journal-shutdown"));
+        return journal;
+    }
+
+    /**
+     * Avisa de una configuración inválida: una línea en consola, porque el
+     * diario puede no estar donde se espera, y un registro WARN
+     */
+    private void reportConfigProblem(String event, String message) {
+        System.err.println("Journal: " + message);
+        warn(event).add("error", message).commit();
+    }
+
+    /**
+     * Ruta por defecto del diario: ~/.yugiohduel/journal.jsonl,
+     * o la indicada en la propiedad {@value #PATH_PROPERTY}
+     */
+    public static Path defaultPath() {
+        String override = System.getProperty(PATH_PROPERTY);
+        if (override != null && !override.isEmpty()) {
+            return Paths.get(override);
+        }
+        return homePath();
+    }
+
+    private static Path homePath() {
+        return Paths.get(System.getProperty("user.home"), ".yugiohduel", "journal.jsonl");
+    }
+
+    private static Level parseLevel(String value) {
+        try {
+            return Level.valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Nivel de diario desconocido: " + value, e);
+        }
+    }
+
+    // Registro
+
+    public boolean isEnabled(Level level) {
+        return level.compareTo(this.level) >= 0 && level != Level.OFF;
+    }
+
+    /**
+     * Empieza un registro; hay que completarlo con {@link JournalRecord#commit()}
+     * @param event Nombre del evento, una constante como "api.parseError"
+     * @return Ranura para rellenar, o un registro inerte si el nivel está
+     *         apagado o el diario lleno
+     */
+    public JournalRecord at(Level level, String event) {
+        if (!isEnabled(level) || closed) {
+            return inert;
+        }
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - consumed.get() > mask) {
+                dropped.increment();
+                return inert;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        JournalRecord record = slots[(int) sequence & mask];
+        record.begin(sequence, level, event);
+        return record;
+    }
+
+    public JournalRecord debug(String event) {
+        return at(Level.DEBUG, event);
+    }
+
+    public JournalRecord info(String event) {
+        return at(Level.INFO, event);
+    }
+
+    public JournalRecord warn(String event) {
+        return at(Level.WARN, event);
+    }
+
+    public JournalRecord error(String event) {
+        return at(Level.ERROR, event);
+    }
+
+    void publish(JournalRecord record) {
+        published.lazySet((int) record.sequence & mask, record.sequence);
+        // Con tráfico el escritor no duerme y esto es solo una lectura volátil
+        if (writerSleeping) {
+            writerSleeping = false;
+            LockSupport.unpark(writer);
+        }
+    }
+
+    // Hilo escritor
+
+    private void run() {
+        int idleRounds = 0;
+        try {
+            while (true) {
+                // Se lee antes de drenar: si ya estaba cerrado, este drenaje ve todo lo publicado antes de close()
+                boolean closing = closed;
+                int drained = drain();
+                if (drained > 0) {
+                    flush(drained);
+                    idleRounds = 0;
+                } else if (closing) {
+                    break;
+                } else if (idleRounds < BUSY_ROUNDS) {
+                    idleRounds++;
+                    LockSupport.parkNanos(this, BUSY_PARK_NANOS);
+                } else {
+                    sleepUntilPublished();
+                }
+            }
+        } finally {
+            closeChannel();
+        }
+    }
+
+    /**
+     * Duerme hasta que publish() o close() lo despierten. Se vuelve a mirar
+     * el anillo tras anunciarse, por si un registro llegó justo antes; el
+     * tiempo máximo cubre un aviso que se cruce con la publicación.
+     */
+    private void sleepUntilPublished() {
+        writerSleeping = true;
+        long next = consumed.get();
+        if (published.get((int) next & mask) != next && !closed) {
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+        writerSleeping = false;
+    }
+
+    /**
+     * Pasa a JSON los registros publicados en orden y libera sus ranuras
+     */
+    private int drain() {
+        int drained = 0;
+        long next = consumed.get();
+        while (drained < MAX_BATCH) {
+            int index = (int) next & mask;
+            if (published.get(index) != next) {
+                break;
+            }
+            JournalRecord record = slots[index];
+            appendJson(record);
+            record.clear();
+            next++;
+            drained++;
+            consumed.lazySet(next);
+        }
+        return drained;
+    }
+
+    private void appendJson(JournalRecord record) {
+        batch.append("{\"ts\":\"");
+        DateTimeFormatter.ISO_INSTANT.formatTo(Instant.ofEpochMilli(record.timeMillis), batch);
+        batch.append("\",\"level\":\"").append(record.level.name())
+                .append("\",\"event\":");
+        appendString(record.event);
+        batch.append(",\"thread\":");
+        appendString(record.thread);
+        for (int i = 0; i < record.fieldCount; i++) {
+            batch.append(',');
+            appendString(record.keys[i]);
+            batch.append(':');
+            Object value = record.values[i];
+            if (value == null) {
+                batch.append(record.numbers[i]);
+            } else {
+                appendString(describe(value));
+            }
+        }
+        batch.append("}\n");
+    }
+
+    private static String describe(Object value) {
+        if (value instanceof Throwable) {
+            Throwable error = (Throwable) value;
+            return error.getClass().getSimpleName() + ": " + error.getMessage();
+        }
+        return value.toString();
+    }
+
+    private void appendString(String value) {
+        batch.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                batch.append('\\').append(c);
+            } else if (c == '\n') {
+                batch.append("\\n");
+            } else if (c < 0x20) {
+                batch.append(String.format("\\u%04x", (int) c));
+            } else {
+                batch.append(c);
+            }
+        }
+        batch.append('"');
+    }
+
+    /**
+     * Escribe el lote en el archivo. Si el archivo falla, el diario sigue
+     * aceptando registros y los descarta.
+     */
+    private void flush(int records) {
+        try {
+            if (!failed) {
+                if (channel == null) {
+                    openChannel();
+                }
+                CharBuffer chars = CharBuffer.wrap(batch);
+                CoderResult result;
+                do {
+                    result = encoder.encode(chars, buffer, true);
+                    writeBuffer();
+                } while (result.isOverflow());
+                encoder.reset();
+                written += records;
+                if (channel.size() >= maxFileBytes) {
+                    rotate();
+                }
+            }
+        } catch (IOException e) {
+            failed = true;
+            buffer.clear();
+            // Único aviso por consola, fuera de los hilos que registran
+            System.err.println("Journal disabled, cannot write " + path + ": " + e.getMessage());
+        } finally {
+            batch.setLength(0);
+        }
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private void openChannel() throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void rotate() throws IOException {
+        channel.close();
+        channel = null;
+        Files.move(path, path.resolveSibling(path.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        openChannel();
+    }
+
+    private void closeChannel() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                // Nada más que hacer al cerrar
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Deja de aceptar registros, escribe lo ya publicado y cierra el archivo
+     */
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(writer);
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Getters
+
+    public Level level() {
+        return level;
+    }
+
+    public void setLevel(Level level) {
+        this.level = level;
+    }
+
+    @Override
+    public String getLevel() {
+        return level.name();
+    }
+
+    @Override
+    public void setLevel(String level) {
+        this.level = parseLevel(level);
+    }
+
+    /**
+     * Registros escritos en el archivo
+     */
+    @Override
+    public long getWrittenCount() {
+        return written;
+    }
+
+    /**
+     * Registros descartados porque el anillo estaba lleno
+     */
+    @Override
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    @Override
+    public String getPath() {
+        return path.toString();
+    }
+}
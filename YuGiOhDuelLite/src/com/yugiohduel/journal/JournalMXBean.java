@@ -0,0 +1,19 @@
+package com.yugiohduel.journal;
+
+/**
+ * Vista JMX de un {@link Journal}: el nivel se puede cambiar en caliente
+ */
+public interface JournalMXBean {
+    String getLevel();
+
+    /**
+     * @param level DEBUG, INFO, WARN, ERROR u OFF
+     */
+    void setLevel(String level);
+
+    long getWrittenCount();
+
+    long getDroppedCount();
+
+    String getPath();
+}
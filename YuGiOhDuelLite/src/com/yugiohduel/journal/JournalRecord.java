@@ -0,0 +1,97 @@
+package com.yugiohduel.journal;
+
+/**
+ * Registro del diario. Las ranuras se crean al construir el {@link Journal}
+ * y se reutilizan: quien registra rellena la ranura en su sitio y la publica
+ * con {@link #commit()}, así registrar no reserva memoria.
+ *
+ * Los valores de tipo objeto se convierten a texto en el hilo escritor, no
+ * en el que registra; deben ser inmutables (un String, una Card, una URI).
+ *
+ * Cuando el nivel está apagado o el diario está lleno se recibe un registro
+ * inerte que ignora todo. {@link #commit()} debe llamarse siempre.
+ */
+public final class JournalRecord {
+    /** Campos máximos por registro; los que sobren se ignoran */
+    public static final int MAX_FIELDS = 6;
+
+    private final Journal journal;
+
+    // Cabecera, la rellena Journal al reservar la ranura
+    long sequence;
+    long timeMillis;
+    Journal.Level level;
+    String event;
+    String thread;
+
+    int fieldCount;
+    final String[] keys = new String[MAX_FIELDS];
+    final long[] numbers = new long[MAX_FIELDS];
+    final Object[] values = new Object[MAX_FIELDS];
+
+    /**
+     * @param journal Diario dueño de la ranura, null para el registro inerte
+     */
+    JournalRecord(Journal journal) {
+        this.journal = journal;
+    }
+
+    void begin(long sequence, Journal.Level level, String event) {
+        this.sequence = sequence;
+        this.timeMillis = System.currentTimeMillis();
+        this.level = level;
+        this.event = event;
+        this.thread = Thread.currentThread().getName();
+        this.fieldCount = 0;
+    }
+
+    /**
+     * Agrega un campo numérico
+     */
+    public JournalRecord add(String key, long value) {
+        if (journal != null && fieldCount < MAX_FIELDS) {
+            keys[fieldCount] = key;
+            values[fieldCount] = null;
+            numbers[fieldCount++] = value;
+        }
+        return this;
+    }
+
+    /**
+     * Agrega un campo de texto; el valor se convierte con toString() al escribirse
+     */
+    public JournalRecord add(String key, Object value) {
+        if (journal != null && fieldCount < MAX_FIELDS) {
+            keys[fieldCount] = key;
+            values[fieldCount++] = value != null ? value : "null";
+        }
+        return this;
+    }
+
+    /**
+     * Publica el registro para el hilo escritor
+     */
+    public void commit() {
+        if (journal != null) {
+            journal.publish(this);
+        }
+    }
+
+    /**
+     * Suelta las referencias una vez escrito, para no retener objetos
+     */
+    void clear() {
+        for (int i = 0; i < fieldCount; i++) {
+            values[i] = null;
+        }
+        event = null;
+        thread = null;
+    }
+
+    /**
+     * @return false si es el registro inerte: nivel apagado o diario lleno
+     */
+    public boolean isActive() {
+        return journal != null;
+    }
+}
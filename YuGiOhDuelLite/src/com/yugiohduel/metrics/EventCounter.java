@@ -0,0 +1,41 @@
+package com.yugiohduel.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contador de eventos con baja contención entre hilos.
+ * Si las métricas están apagadas, {@link #increment()} no hace nada.
+ */
+public final class EventCounter implements EventCounterMXBean {
+    private final String name;
+    private final LongAdder count = new LongAdder();
+
+    public EventCounter(String name) {
+        this.name = name;
+    }
+
+    public void increment() {
+        if (Metrics.ENABLED) {
+            count.increment();
+        }
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public void reset() {
+        count.reset();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + getCount();
+    }
+}
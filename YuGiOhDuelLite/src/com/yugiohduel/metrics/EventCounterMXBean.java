@@ -0,0 +1,10 @@
+package com.yugiohduel.metrics;
+
+/**
+ * Vista JMX de un {@link EventCounter}
+ */
+public interface EventCounterMXBean {
+    long getCount();
+
+    void reset();
+}
@@ -0,0 +1,150 @@
+package com.yugiohduel.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latencias con cubetas logarítmicas al estilo HDR.
+ * Cada potencia de dos se divide en {@value #SUB_BUCKETS} cubetas lineales,
+ * así el error relativo de los percentiles queda acotado (~12%) para
+ * cualquier magnitud, de nanosegundos a minutos, con memoria fija.
+ * Registrar es una suma atómica sin bloqueos.
+ */
+public final class LatencyHistogram implements LatencyHistogramMXBean {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (64 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final String name;
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public LatencyHistogram(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Registra el tiempo transcurrido desde un instante de {@link Metrics#startTimer()}.
+     * Si las métricas están apagadas no hace nada.
+     */
+    public void recordSince(long startNanos) {
+        if (Metrics.ENABLED) {
+            record(System.nanoTime() - startNanos);
+        }
+    }
+
+    /**
+     * Registra una duración, sin importar si las métricas están encendidas
+     * @param nanos Duración en nanosegundos
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        totalNanos.add(value);
+        maxNanos.accumulate(value);
+    }
+
+    /**
+     * Valor por debajo del cual cae la fracción dada de las muestras
+     * @param percentile Percentil entre 0 y 100
+     * @return Límite superior de la cubeta correspondiente, en nanosegundos
+     */
+    public long percentileNanos(double percentile) {
+        long total = count.sum();
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100.0));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBound(i), maxNanos.get());
+            }
+        }
+        return maxNanos.get();
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long lowerBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = SUB_BUCKETS + index % SUB_BUCKETS;
+        return subBucket << (exponent - SUB_BUCKET_BITS);
+    }
+
+    private static long upperBound(int index) {
+        return index + 1 < BUCKET_COUNT ? lowerBound(index + 1) - 1 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public long getCount() {
+        return count.sum();
+    }
+
+    @Override
+    public double getMeanMicros() {
+        long total = count.sum();
+        return total == 0 ? 0 : totalNanos.sum() / (total * 1000.0);
+    }
+
+    @Override
+    public double getMaxMicros() {
+        return maxNanos.get() / 1000.0;
+    }
+
+    @Override
+    public double getP50Micros() {
+        return percentileNanos(50) / 1000.0;
+    }
+
+    @Override
+    public double getP90Micros() {
+        return percentileNanos(90) / 1000.0;
+    }
+
+    @Override
+    public double getP99Micros() {
+        return percentileNanos(99) / 1000.0;
+    }
+
+    @Override
+    public double getP999Micros() {
+        return percentileNanos(99.9) / 1000.0;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: n=%d mean=%.1fus p50=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                name, getCount(), getMeanMicros(), getP50Micros(), getP99Micros(),
+                getP999Micros(), getMaxMicros());
+    }
+}
@@ -0,0 +1,22 @@
+package com.yugiohduel.metrics;
+
+/**
+ * Vista JMX de un {@link LatencyHistogram}. Los tiempos se expresan en microsegundos.
+ */
+public interface LatencyHistogramMXBean {
+    long getCount();
+
+    double getMeanMicros();
+
+    double getMaxMicros();
+
+    double getP50Micros();
+
+    double getP90Micros();
+
+    double getP99Micros();
+
+    double getP999Micros();
+
+    void reset();
+}
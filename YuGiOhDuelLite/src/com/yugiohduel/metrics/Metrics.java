@@ -0,0 +1,132 @@
+package com.yugiohduel.metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Métricas de los caminos calientes del juego.
+ * Se encienden con {@code -Dygo.metrics=true}; entonces se publican como
+ * MBeans bajo el dominio {@value #JMX_DOMAIN} (visibles en JConsole o
+ * VisualVM) y, con {@code -Dygo.metrics.dumpSeconds=N}, se imprime un
+ * resumen cada N segundos.
+ *
+ * Apagadas no cuestan nada: {@link #ENABLED} es una constante y el JIT
+ * elimina las llamadas a {@code System.nanoTime()} y a los contadores.
+ */
+public final class Metrics {
+    public static final String ENABLED_PROPERTY = "ygo.metrics";
+    public static final String DUMP_PROPERTY = "ygo.metrics.dumpSeconds";
+    public static final String JMX_DOMAIN = "com.yugiohduel";
+
+    public static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    /** Petición HTTP a la API, hasta tener la respuesta */
+    public static final LatencyHistogram HTTP_FETCH = new LatencyHistogram("httpFetch");
+    /** Parseo del JSON de una carta */
+    public static final LatencyHistogram JSON_PARSE = new LatencyHistogram("jsonParse");
+    /** Obtención de los bytes de una imagen, desde disco o red */
+    public static final LatencyHistogram IMAGE_LOAD = new LatencyHistogram("imageLoad");
+    /** Decodificación y escalado de una miniatura */
+    public static final LatencyHistogram IMAGE_SCALE = new LatencyHistogram("imageScale");
+    /** Resolución de un turno: elección de la IA y comparación */
+    public static final LatencyHistogram TURN_RESOLUTION = new LatencyHistogram("turnResolution");
+    /** Desde pulsar Start Duel hasta que las cartas se pueden jugar */
+    public static final LatencyHistogram DUEL_READY = new LatencyHistogram("duelReady");
+    /** Espera de una petición en la cola del planificador hasta salir */
+    public static final LatencyHistogram SCHEDULER_WAIT = new LatencyHistogram("schedulerWait");
+
+    /** Cartas descartadas por no ser monstruo */
+    public static final EventCounter MONSTER_RETRIES = new EventCounter("monsterRetries");
+    /** Respuestas HTTP con código distinto de 200 */
+    public static final EventCounter HTTP_ERRORS = new EventCounter("httpErrors");
+    /** Reintentos HTTP tras un 5xx, un 429 o un error de red */
+    public static final EventCounter HTTP_RETRIES = new EventCounter("httpRetries");
+    /** Respuestas 429 que el planificador reencoló frenando el ritmo */
+    public static final EventCounter RATE_LIMITED = new EventCounter("rateLimited");
+    /** Peticiones que se unieron a otra idéntica ya en vuelo */
+    public static final EventCounter COALESCED_REQUESTS = new EventCounter("coalescedRequests");
+
+    private static final List<LatencyHistogram> HISTOGRAMS =
+            Arrays.asList(HTTP_FETCH, JSON_PARSE, IMAGE_LOAD, IMAGE_SCALE, TURN_RESOLUTION,
+                    DUEL_READY, SCHEDULER_WAIT);
+    private static final List<EventCounter> COUNTERS =
+            Arrays.asList(MONSTER_RETRIES, HTTP_ERRORS, HTTP_RETRIES, RATE_LIMITED, COALESCED_REQUESTS);
+
+    static {
+        if (ENABLED) {
+            registerMBeans();
+            long dumpSeconds = Long.getLong(DUMP_PROPERTY, 0);
+            if (dumpSeconds > 0) {
+                startPeriodicDump(dumpSeconds);
+            }
+        }
+    }
+
+    private Metrics() {
+    }
+
+    /**
+     * Instante de inicio para {@link LatencyHistogram#recordSince(long)}
+     * @return System.nanoTime() si las métricas están encendidas, 0 si no
+     */
+    public static long startTimer() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Resumen de todas las métricas, una por línea
+     */
+    public static String summary() {
+        StringBuilder sb = new StringBuilder("=== Metrics ===\n");
+        for (LatencyHistogram histogram : HISTOGRAMS) {
+            sb.append(histogram).append('\n');
+        }
+        for (EventCounter counter : COUNTERS) {
+            sb.append(counter).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Reinicia todas las métricas
+     */
+    public static void resetAll() {
+        HISTOGRAMS.forEach(LatencyHistogram::reset);
+        COUNTERS.forEach(EventCounter::reset);
+    }
+
+    private static void registerMBeans() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (LatencyHistogram histogram : HISTOGRAMS) {
+                server.registerMBean(histogram, objectName("Latency", histogram.getName()));
+            }
+            for (EventCounter counter : COUNTERS) {
+                server.registerMBean(counter, objectName("Counter", counter.getName()));
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("No se pudieron registrar las métricas en JMX", e);
+        }
+    }
+
+    private static ObjectName objectName(String type, String name) throws JMException {
+        return new ObjectName(JMX_DOMAIN + ":type=" + type + ",name=" + name);
+    }
+
+    private static void startPeriodicDump(long periodSeconds) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> System.out.print(summary()),
+                periodSeconds, periodSeconds, TimeUnit.SECONDS);
+    }
+}
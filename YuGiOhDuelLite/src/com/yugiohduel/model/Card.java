@@ -2,13 +2,28 @@ package com.yugiohduel.model;
 
 /**
  * Representa una carta de Yu-Gi-Oh! con sus atributos básicos.
+ * Es inmutable y se identifica por su id en la API: dos cartas con el mismo
+ * id son iguales. Para compartir una única instancia por id se usa
+ * {@link CardRegistry}.
+ *
+ * Para ocupar poco en catálogos grandes el tipo es un {@link CardType} y
+ * la URL de imagen estándar (prefijo común + id + ".jpg") no se guarda,
+ * se reconstruye al pedirla.
  */
-public class Card {
-    private String name;
-    private int atk;
-    private int def;
-    private String imageUrl;
-    private String type;
+public final class Card {
+    /** Prefijo común de las imágenes de YGOProDeck */
+    public static final String IMAGE_URL_PREFIX = "https://images.ygoprodeck.com/images/cards/";
+    private static final String IMAGE_URL_SUFFIX = ".jpg";
+
+    private final int id;
+    private final String name;
+    private final int atk;
+    private final int def;
+    private final CardType cardType;
+    // null si la URL es la estándar para el id
+    private final String imageUrl;
+    // Solo para tipos que CardType no conoce
+    private final String customType;
 
     /**
      * Constructor completo de la carta
@@ -19,14 +34,47 @@ public class Card {
      * @param type Tipo de carta (Monster, Spell, Trap)
      */
     public Card(String name, int atk, int def, String imageUrl, String type) {
+        this(0, name, atk, def, imageUrl, type);
+    }
+
+    /**
+     * Constructor con el identificador de la carta en la API
+     * @param id Identificador (passcode) de la carta en YGOProDeck
+     * @param name Nombre de la carta
+     * @param atk Puntos de ataque
+     * @param def Puntos de defensa
+     * @param imageUrl URL de la imagen de la carta (null equivale a "")
+     * @param type Tipo de carta (Monster, Spell, Trap)
+     */
+    public Card(int id, String name, int atk, int def, String imageUrl, String type) {
+        this.id = id;
         this.name = name;
         this.atk = atk;
         this.def = def;
-        this.imageUrl = imageUrl;
-        this.type = type;
+        this.cardType = CardType.fromLabel(type);
+        this.customType = cardType.getLabel() == null ? type : null;
+        this.imageUrl = isStandardImageUrl(id, imageUrl) ? null : (imageUrl == null ? "" : imageUrl);
+    }
+
+    /**
+     * URL de imagen que YGOProDeck asigna a un id
+     */
+    public static String standardImageUrl(int id) {
+        return IMAGE_URL_PREFIX + id + IMAGE_URL_SUFFIX;
+    }
+
+    private static boolean isStandardImageUrl(int id, String imageUrl) {
+        return id > 0 && imageUrl != null
+                && imageUrl.startsWith(IMAGE_URL_PREFIX)
+                && imageUrl.endsWith(IMAGE_URL_SUFFIX)
+                && imageUrl.equals(standardImageUrl(id));
     }
 
     // Getters
+    public int getId() {
+        return id;
+    }
+
     public String getName() {
         return name;
     }
@@ -40,11 +88,18 @@ public class Card {
     }
 
     public String getImageUrl() {
-        return imageUrl;
+        return imageUrl != null ? imageUrl : standardImageUrl(id);
     }
 
+    /**
+     * Texto del tipo tal como lo devuelve la API
+     */
     public String getType() {
-        return type;
+        return customType != null ? customType : cardType.getLabel();
+    }
+
+    public CardType getCardType() {
+        return cardType;
     }
 
     /**
@@ -52,11 +107,30 @@ public class Card {
      * @return true si es un monstruo, false en caso contrario
      */
     public boolean isMonster() {
-        return type != null && type.toLowerCase().contains("monster");
+        return cardType.isMonster();
+    }
+
+    /**
+     * Las cartas se comparan por id; sin id (0) solo es igual a sí misma
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof Card)) {
+            return false;
+        }
+        return id != 0 && id == ((Card) other).id;
+    }
+
+    @Override
+    public int hashCode() {
+        return id != 0 ? Integer.hashCode(id) : System.identityHashCode(this);
     }
 
     @Override
     public String toString() {
         return String.format("%s [ATK:%d / DEF:%d]", name, atk, def);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package com.yugiohduel.model;
+
+/**
+ * Registro canónico de cartas por id: la primera instancia registrada para
+ * un id es la que se comparte desde entonces. Así las cartas que llegan
+ * repetidas de la API o del catálogo no duplican nombres ni objetos.
+ *
+ * Es una tabla abierta de ids primitivos, sin un Integer ni un nodo por
+ * carta. Las cartas sin id (0) no se registran.
+ */
+public final class CardRegistry {
+    private static final CardRegistry SHARED = new CardRegistry();
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private int[] ids;
+    private Card[] cards;
+    private int size;
+
+    public CardRegistry() {
+        this.ids = new int[INITIAL_CAPACITY];
+        this.cards = new Card[INITIAL_CAPACITY];
+    }
+
+    /**
+     * Registro compartido por toda la aplicación
+     */
+    public static CardRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * Devuelve la instancia canónica de la carta, registrándola si es la primera
+     * @param card Carta recién construida
+     * @return La carta ya registrada con ese id, o la misma carta
+     */
+    public synchronized Card intern(Card card) {
+        int id = card.getId();
+        if (id == 0) {
+            return card;
+        }
+        int slot = find(id);
+        if (cards[slot] != null) {
+            return cards[slot];
+        }
+        ids[slot] = id;
+        cards[slot] = card;
+        if (++size * 2 > ids.length) {
+            grow();
+        }
+        return card;
+    }
+
+    /**
+     * @return La carta registrada con ese id, o null
+     */
+    public synchronized Card get(int id) {
+        return id == 0 ? null : cards[find(id)];
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Ranura del id, o la ranura libre donde iría
+     */
+    private int find(int id) {
+        int mask = ids.length - 1;
+        int slot = mix(id) & mask;
+        while (cards[slot] != null && ids[slot] != id) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        int[] oldIds = ids;
+        Card[] oldCards = cards;
+        ids = new int[oldIds.length * 2];
+        cards = new Card[oldCards.length * 2];
+        for (int i = 0; i < oldCards.length; i++) {
+            if (oldCards[i] != null) {
+                int slot = find(oldIds[i]);
+                ids[slot] = oldIds[i];
+                cards[slot] = oldCards[i];
+            }
+        }
+    }
+
+    private static int mix(int id) {
+        // Los passcodes son casi secuenciales: se dispersan antes de enmascarar
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
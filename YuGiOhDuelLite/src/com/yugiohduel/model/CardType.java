@@ -0,0 +1,96 @@
+package com.yugiohduel.model;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tipos de carta de la API de YGOProDeck (campo "type").
+ * Cada carta guarda una referencia a la constante en lugar de su propia
+ * cadena, y saber si es un monstruo es leer un campo.
+ * Los tipos que la API agregue en el futuro se representan con
+ * {@link #OTHER_MONSTER} u {@link #OTHER}, y la carta conserva el texto.
+ */
+public enum CardType {
+    NORMAL_MONSTER("Normal Monster"),
+    NORMAL_TUNER_MONSTER("Normal Tuner Monster"),
+    EFFECT_MONSTER("Effect Monster"),
+    TUNER_MONSTER("Tuner Monster"),
+    FLIP_MONSTER("Flip Monster"),
+    FLIP_EFFECT_MONSTER("Flip Effect Monster"),
+    FLIP_TUNER_EFFECT_MONSTER("Flip Tuner Effect Monster"),
+    SPIRIT_MONSTER("Spirit Monster"),
+    UNION_EFFECT_MONSTER("Union Effect Monster"),
+    GEMINI_MONSTER("Gemini Monster"),
+    TOON_MONSTER("Toon Monster"),
+    RITUAL_MONSTER("Ritual Monster"),
+    RITUAL_EFFECT_MONSTER("Ritual Effect Monster"),
+    FUSION_MONSTER("Fusion Monster"),
+    SYNCHRO_MONSTER("Synchro Monster"),
+    SYNCHRO_TUNER_MONSTER("Synchro Tuner Monster"),
+    SYNCHRO_PENDULUM_EFFECT_MONSTER("Synchro Pendulum Effect Monster"),
+    XYZ_MONSTER("XYZ Monster"),
+    XYZ_PENDULUM_EFFECT_MONSTER("XYZ Pendulum Effect Monster"),
+    LINK_MONSTER("Link Monster"),
+    PENDULUM_NORMAL_MONSTER("Pendulum Normal Monster"),
+    PENDULUM_EFFECT_MONSTER("Pendulum Effect Monster"),
+    PENDULUM_TUNER_EFFECT_MONSTER("Pendulum Tuner Effect Monster"),
+    PENDULUM_FLIP_EFFECT_MONSTER("Pendulum Flip Effect Monster"),
+    PENDULUM_EFFECT_RITUAL_MONSTER("Pendulum Effect Ritual Monster"),
+    PENDULUM_EFFECT_FUSION_MONSTER("Pendulum Effect Fusion Monster"),
+    SPELL_CARD("Spell Card"),
+    TRAP_CARD("Trap Card"),
+    SKILL_CARD("Skill Card"),
+    TOKEN("Token"),
+    /** Tipo desconocido que contiene "monster" */
+    OTHER_MONSTER(null),
+    /** Cualquier otro tipo desconocido */
+    OTHER(null);
+
+    private static final Map<String, CardType> BY_LABEL = new HashMap<>();
+
+    static {
+        for (CardType type : values()) {
+            if (type.label != null) {
+                BY_LABEL.put(type.label, type);
+            }
+        }
+    }
+
+    private final String label;
+    private final boolean monster;
+
+    CardType(String label) {
+        this.label = label;
+        this.monster = label == null
+                ? "OTHER_MONSTER".equals(name())
+                : label.toLowerCase(Locale.ROOT).contains("monster");
+    }
+
+    /**
+     * Tipo correspondiente al texto de la API
+     * @param label Texto del campo "type", por ejemplo "Effect Monster"
+     * @return La constante, o OTHER_MONSTER / OTHER si el texto no es conocido
+     */
+    public static CardType fromLabel(String label) {
+        if (label == null) {
+            return OTHER;
+        }
+        CardType type = BY_LABEL.get(label);
+        if (type != null) {
+            return type;
+        }
+        return label.toLowerCase(Locale.ROOT).contains("monster") ? OTHER_MONSTER : OTHER;
+    }
+
+    /**
+     * @return Texto de la API, o null para los tipos desconocidos
+     */
+    public String getLabel() {
+        return label;
+    }
+
+    public boolean isMonster() {
+        return monster;
+    }
+}
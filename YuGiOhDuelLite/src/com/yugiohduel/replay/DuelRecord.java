@@ -0,0 +1,287 @@
+package com.yugiohduel.replay;
+
+import com.yugiohduel.game.Outcome;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Registro compacto de un duelo terminado: semilla, ids de las cartas de
+ * cada mano y, por turno, qué carta jugó cada uno y quién ganó.
+ * No guarda texto; los nombres se recuperan del catálogo al reproducir.
+ *
+ * Formato en disco (big-endian):
+ * <pre>
+ * u2 longitud del resto del registro
+ * i8 semilla
+ * u1 cartas del jugador, u1 cartas de la IA
+ * i4 id de cada carta del jugador, luego de cada carta de la IA
+ * u1 turnos
+ * por turno: u1 (posición jugador &lt;&lt; 4 | posición IA), u1 resultado
+ * u1 ganador del duelo
+ * solo si las reglas usan puntos de vida:
+ *   i4 puntos de vida iniciales
+ *   por turno: i4 vida del jugador, i4 vida de la IA al terminar el turno
+ * </pre>
+ * Las posiciones se refieren a la mano inicial, así que una mano admite
+ * hasta {@value #MAX_HAND_SIZE} cartas. El bloque de puntos de vida se
+ * detecta por la longitud del registro, así los registros sin él se leen igual.
+ */
+public final class DuelRecord {
+    public static final int MAX_HAND_SIZE = 16;
+
+    // Códigos de resultado en disco; 0 = sin ganador
+    private static final Outcome[] OUTCOMES = {null, Outcome.PLAYER, Outcome.AI, Outcome.DRAW};
+
+    private final long seed;
+    private final int[] playerCardIds;
+    private final int[] aiCardIds;
+    private final byte[] playerSlots;
+    private final byte[] aiSlots;
+    private final Outcome[] turnOutcomes;
+    private final Outcome winner;
+    // 0 si las reglas no usan puntos de vida; entonces los arreglos de vida están vacíos
+    private final int startingLifePoints;
+    private final int[] playerLifePoints;
+    private final int[] aiLifePoints;
+
+    DuelRecord(long seed, int[] playerCardIds, int[] aiCardIds,
+               byte[] playerSlots, byte[] aiSlots, Outcome[] turnOutcomes, Outcome winner,
+               int startingLifePoints, int[] playerLifePoints, int[] aiLifePoints) {
+        if (playerCardIds.length > MAX_HAND_SIZE || aiCardIds.length > MAX_HAND_SIZE) {
+            throw new IllegalArgumentException("Una repetición admite hasta " + MAX_HAND_SIZE + " cartas por mano");
+        }
+        this.seed = seed;
+        this.playerCardIds = playerCardIds;
+        this.aiCardIds = aiCardIds;
+        this.playerSlots = playerSlots;
+        this.aiSlots = aiSlots;
+        this.turnOutcomes = turnOutcomes;
+        this.winner = winner;
+        this.startingLifePoints = startingLifePoints;
+        this.playerLifePoints = playerLifePoints;
+        this.aiLifePoints = aiLifePoints;
+    }
+
+    /**
+     * Crea un registro a partir de datos ya conocidos (por ejemplo de una simulación)
+     * @param playerSlots Posición en la mano inicial de la carta del jugador, por turno
+     * @param aiSlots Posición en la mano inicial de la carta de la IA, por turno
+     * @param turnOutcomes Ganador de cada turno
+     * @param winner Ganador del duelo, o null si terminó sin ganador
+     */
+    public static DuelRecord of(long seed, int[] playerCardIds, int[] aiCardIds,
+                                int[] playerSlots, int[] aiSlots, Outcome[] turnOutcomes, Outcome winner) {
+        return of(seed, playerCardIds, aiCardIds, playerSlots, aiSlots, turnOutcomes, winner,
+                0, new int[0], new int[0]);
+    }
+
+    /**
+     * Crea un registro de un duelo con puntos de vida
+     * @param startingLifePoints Puntos de vida al empezar, 0 si las reglas no los usan
+     * @param playerLifePoints Vida del jugador al terminar cada turno
+     * @param aiLifePoints Vida de la IA al terminar cada turno
+     */
+    public static DuelRecord of(long seed, int[] playerCardIds, int[] aiCardIds,
+                                int[] playerSlots, int[] aiSlots, Outcome[] turnOutcomes, Outcome winner,
+                                int startingLifePoints, int[] playerLifePoints, int[] aiLifePoints) {
+        int turns = turnOutcomes.length;
+        byte[] player = new byte[turns];
+        byte[] ai = new byte[turns];
+        for (int i = 0; i < turns; i++) {
+            player[i] = (byte) playerSlots[i];
+            ai[i] = (byte) aiSlots[i];
+        }
+        boolean lifePoints = startingLifePoints > 0;
+        return new DuelRecord(seed, playerCardIds.clone(), aiCardIds.clone(), player, ai,
+                turnOutcomes.clone(), winner, startingLifePoints,
+                lifePoints ? Arrays.copyOf(playerLifePoints, turns) : new int[0],
+                lifePoints ? Arrays.copyOf(aiLifePoints, turns) : new int[0]);
+    }
+
+    // Codificación
+
+    int encodedSize() {
+        return 2 + bodySize();
+    }
+
+    private int bodySize() {
+        int size = 8 + 2 + 4 * (playerCardIds.length + aiCardIds.length) + 1 + 2 * turnOutcomes.length + 1;
+        return hasLifePoints() ? size + 4 + 8 * turnOutcomes.length : size;
+    }
+
+    void writeTo(ByteBuffer buffer) {
+        buffer.putShort((short) bodySize());
+        buffer.putLong(seed);
+        buffer.put((byte) playerCardIds.length);
+        buffer.put((byte) aiCardIds.length);
+        for (int id : playerCardIds) {
+            buffer.putInt(id);
+        }
+        for (int id : aiCardIds) {
+            buffer.putInt(id);
+        }
+        buffer.put((byte) turnOutcomes.length);
+        for (int i = 0; i < turnOutcomes.length; i++) {
+            buffer.put((byte) (playerSlots[i] << 4 | aiSlots[i]));
+            buffer.put(code(turnOutcomes[i]));
+        }
+        buffer.put(code(winner));
+        if (hasLifePoints()) {
+            buffer.putInt(startingLifePoints);
+            for (int i = 0; i < turnOutcomes.length; i++) {
+                buffer.putInt(playerLifePoints[i]);
+                buffer.putInt(aiLifePoints[i]);
+            }
+        }
+    }
+
+    /**
+     * Lee el cuerpo de un registro (sin el prefijo de longitud)
+     * @param end Posición donde termina el registro en el buffer
+     */
+    static DuelRecord readFrom(ByteBuffer buffer, int end) throws IOException {
+        long seed = buffer.getLong();
+        int[] playerCardIds = new int[buffer.get() & 0xFF];
+        int[] aiCardIds = new int[buffer.get() & 0xFF];
+        for (int i = 0; i < playerCardIds.length; i++) {
+            playerCardIds[i] = buffer.getInt();
+        }
+        for (int i = 0; i < aiCardIds.length; i++) {
+            aiCardIds[i] = buffer.getInt();
+        }
+
+        int turns = buffer.get() & 0xFF;
+        byte[] playerSlots = new byte[turns];
+        byte[] aiSlots = new byte[turns];
+        Outcome[] turnOutcomes = new Outcome[turns];
+        for (int i = 0; i < turns; i++) {
+            int slots = buffer.get() & 0xFF;
+            playerSlots[i] = (byte) (slots >>> 4);
+            aiSlots[i] = (byte) (slots & 0x0F);
+            turnOutcomes[i] = outcome(buffer.get());
+        }
+        Outcome winner = outcome(buffer.get());
+
+        int startingLifePoints = 0;
+        int[] playerLifePoints = new int[0];
+        int[] aiLifePoints = new int[0];
+        if (buffer.position() < end) {
+            startingLifePoints = buffer.getInt();
+            playerLifePoints = new int[turns];
+            aiLifePoints = new int[turns];
+            for (int i = 0; i < turns; i++) {
+                playerLifePoints[i] = buffer.getInt();
+                aiLifePoints[i] = buffer.getInt();
+            }
+        }
+        return new DuelRecord(seed, playerCardIds, aiCardIds, playerSlots, aiSlots, turnOutcomes, winner,
+                startingLifePoints, playerLifePoints, aiLifePoints);
+    }
+
+    private static byte code(Outcome outcome) {
+        if (outcome == null) {
+            return 0;
+        }
+        switch (outcome) {
+            case PLAYER:
+                return 1;
+            case AI:
+                return 2;
+            default:
+                return 3;
+        }
+    }
+
+    private static Outcome outcome(byte code) throws IOException {
+        if (code < 0 || code >= OUTCOMES.length) {
+            throw new IOException("Código de resultado inválido en la repetición: " + code);
+        }
+        return OUTCOMES[code];
+    }
+
+    // Getters
+    public long getSeed() {
+        return seed;
+    }
+
+    public int[] getPlayerCardIds() {
+        return playerCardIds.clone();
+    }
+
+    public int[] getAiCardIds() {
+        return aiCardIds.clone();
+    }
+
+    public int getTurnCount() {
+        return turnOutcomes.length;
+    }
+
+    public int getPlayerCardId(int turn) {
+        return playerCardIds[playerSlots[turn]];
+    }
+
+    public int getAiCardId(int turn) {
+        return aiCardIds[aiSlots[turn]];
+    }
+
+    public Outcome getTurnOutcome(int turn) {
+        return turnOutcomes[turn];
+    }
+
+    /**
+     * @return Ganador del duelo, o null si terminó sin ganador
+     */
+    public Outcome getWinner() {
+        return winner;
+    }
+
+    public boolean hasLifePoints() {
+        return startingLifePoints > 0;
+    }
+
+    /**
+     * Puntos de vida al empezar el duelo (0 si las reglas no los usan)
+     */
+    public int getStartingLifePoints() {
+        return startingLifePoints;
+    }
+
+    /**
+     * Vida del jugador al terminar el turno; solo si {@link #hasLifePoints()}
+     */
+    public int getPlayerLifePoints(int turn) {
+        return playerLifePoints[turn];
+    }
+
+    public int getAiLifePoints(int turn) {
+        return aiLifePoints[turn];
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof DuelRecord)) {
+            return false;
+        }
+        DuelRecord record = (DuelRecord) other;
+        return seed == record.seed
+                && Arrays.equals(playerCardIds, record.playerCardIds)
+                && Arrays.equals(aiCardIds, record.aiCardIds)
+                && Arrays.equals(playerSlots, record.playerSlots)
+                && Arrays.equals(aiSlots, record.aiSlots)
+                && Arrays.equals(turnOutcomes, record.turnOutcomes)
+                && winner == record.winner
+                && startingLifePoints == record.startingLifePoints
+                && Arrays.equals(playerLifePoints, record.playerLifePoints)
+                && Arrays.equals(aiLifePoints, record.aiLifePoints);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seed) * 31 + Arrays.hashCode(turnOutcomes);
+    }
+}
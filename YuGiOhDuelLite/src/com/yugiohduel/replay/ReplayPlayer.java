@@ -0,0 +1,108 @@
+package com.yugiohduel.replay;
+
+import com.yugiohduel.game.BattleListener;
+import com.yugiohduel.game.Outcome;
+import com.yugiohduel.model.Card;
+
+import java.util.function.IntFunction;
+
+/**
+ * Reproduce un {@link DuelRecord} sobre un {@link BattleListener}, con los
+ * mismos eventos que un duelo en vivo, incluidos los puntos de vida si el
+ * duelo los usaba. Puede ir a cualquier velocidad o saltar directamente al
+ * estado final.
+ */
+public class ReplayPlayer {
+    /** Pausa entre turnos a velocidad 1 */
+    public static final long TURN_MILLIS = 800;
+
+    private final IntFunction<Card> cardLookup;
+
+    /**
+     * @param cardLookup Busca una carta por id (por ejemplo {@code CardIndex::findById});
+     *                   si devuelve null se muestra solo el id
+     */
+    public ReplayPlayer(IntFunction<Card> cardLookup) {
+        this.cardLookup = cardLookup;
+    }
+
+    /**
+     * Reproduce el duelo turno a turno
+     * @param speed Multiplicador de velocidad; 0 o infinito reproduce sin pausas
+     * @throws InterruptedException si se interrumpe durante una pausa
+     */
+    public void play(DuelRecord record, BattleListener listener, double speed) throws InterruptedException {
+        long pauseMillis = speed > 0 && !Double.isInfinite(speed) ? Math.round(TURN_MILLIS / speed) : 0;
+
+        int playerScore = 0;
+        int aiScore = 0;
+        if (record.hasLifePoints()) {
+            listener.onLifePointsChanged(record.getStartingLifePoints(), record.getStartingLifePoints());
+        }
+        for (int turn = 0; turn < record.getTurnCount(); turn++) {
+            if (turn > 0 && pauseMillis > 0) {
+                Thread.sleep(pauseMillis);
+            }
+
+            Card playerCard = cardLookup.apply(record.getPlayerCardId(turn));
+            Card aiCard = cardLookup.apply(record.getAiCardId(turn));
+            Outcome outcome = record.getTurnOutcome(turn);
+            if (outcome == Outcome.PLAYER) {
+                playerScore++;
+            } else if (outcome == Outcome.AI) {
+                aiScore++;
+            }
+
+            listener.onTurnResolved(playerCard, aiCard, outcome);
+            listener.onTurn(describe(playerCard, record.getPlayerCardId(turn)),
+                    describe(aiCard, record.getAiCardId(turn)),
+                    outcome.getLabel());
+            listener.onScoreChanged(playerScore, aiScore);
+            if (record.hasLifePoints()) {
+                listener.onLifePointsChanged(record.getPlayerLifePoints(turn), record.getAiLifePoints(turn));
+            }
+        }
+
+        if (record.getWinner() != null) {
+            listener.onDuelEnded(record.getWinner().getLabel());
+        }
+    }
+
+    /**
+     * Salta al estado final: solo notifica el puntaje final y el ganador
+     */
+    public void jumpToEnd(DuelRecord record, BattleListener listener) {
+        int[] score = finalScore(record);
+        listener.onScoreChanged(score[0], score[1]);
+        if (record.hasLifePoints()) {
+            int last = record.getTurnCount() - 1;
+            listener.onLifePointsChanged(
+                    last >= 0 ? record.getPlayerLifePoints(last) : record.getStartingLifePoints(),
+                    last >= 0 ? record.getAiLifePoints(last) : record.getStartingLifePoints());
+        }
+        if (record.getWinner() != null) {
+            listener.onDuelEnded(record.getWinner().getLabel());
+        }
+    }
+
+    /**
+     * Puntaje final del duelo, sin consultar el catálogo
+     * @return {puntos del jugador, puntos de la IA}
+     */
+    public static int[] finalScore(DuelRecord record) {
+        int[] score = new int[2];
+        for (int turn = 0; turn < record.getTurnCount(); turn++) {
+            Outcome outcome = record.getTurnOutcome(turn);
+            if (outcome == Outcome.PLAYER) {
+                score[0]++;
+            } else if (outcome == Outcome.AI) {
+                score[1]++;
+            }
+        }
+        return score;
+    }
+
+    private static String describe(Card card, int id) {
+        return card != null ? card.toString() : "Card #" + id;
+    }
+}
@@ -0,0 +1,176 @@
+package com.yugiohduel.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Lee un archivo de repeticiones de forma secuencial con lecturas NIO en
+ * bloques grandes, para recorrer archivos de millones de duelos sin cargar
+ * todo en memoria. Un último registro incompleto (por ejemplo si el juego
+ * se cerró mientras escribía) se ignora.
+ */
+public class ReplayReader implements Closeable {
+    private static final int DEFAULT_BUFFER_SIZE = 256 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer;
+    private boolean endOfFile;
+    private boolean truncated;
+
+    public ReplayReader(Path path) throws IOException {
+        this(path, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param bufferSize Tamaño de cada lectura del archivo
+     */
+    public ReplayReader(Path path, int bufferSize) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = ByteBuffer.allocateDirect(Math.max(bufferSize, 1 << 16));
+        this.buffer.flip();
+        try {
+            readHeader();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Verifica que un archivo existente sea un archivo de repeticiones y
+     * lo recorre sin decodificar los registros
+     * @return Longitud hasta el final del último registro completo
+     */
+    static long completeLength(Path path) throws IOException {
+        try (ReplayReader reader = new ReplayReader(path)) {
+            while (reader.skip()) {
+                // Solo se avanza
+            }
+            return reader.position();
+        }
+    }
+
+    /**
+     * Posición en el archivo del próximo byte sin consumir
+     */
+    private long position() throws IOException {
+        return channel.position() - buffer.remaining();
+    }
+
+    private void readHeader() throws IOException {
+        if (!ensure(ReplayWriter.HEADER_SIZE) || buffer.getInt() != ReplayWriter.MAGIC) {
+            throw new IOException("El archivo no es un archivo de repeticiones");
+        }
+        short version = buffer.getShort();
+        if (version != ReplayWriter.VERSION) {
+            throw new IOException("Versión de repeticiones no soportada: " + version);
+        }
+        buffer.getShort();
+    }
+
+    /**
+     * Lee el siguiente duelo
+     * @return El duelo, o null al llegar al final del archivo
+     */
+    public DuelRecord next() throws IOException {
+        int length = nextLength();
+        if (length < 0) {
+            return null;
+        }
+        int end = buffer.position() + length;
+        try {
+            DuelRecord record = DuelRecord.readFrom(buffer, end);
+            if (buffer.position() != end) {
+                throw new IOException("Registro de repetición con longitud inconsistente");
+            }
+            return record;
+        } catch (RuntimeException e) {
+            throw new IOException("Registro de repetición dañado", e);
+        }
+    }
+
+    /**
+     * Salta el siguiente duelo sin decodificarlo
+     * @return false al llegar al final del archivo
+     */
+    public boolean skip() throws IOException {
+        int length = nextLength();
+        if (length < 0) {
+            return false;
+        }
+        buffer.position(buffer.position() + length);
+        return true;
+    }
+
+    /**
+     * Entrega cada duelo restante al consumidor
+     * @return Número de duelos leídos
+     */
+    public long forEach(Consumer<DuelRecord> consumer) throws IOException {
+        long count = 0;
+        DuelRecord record;
+        while ((record = next()) != null) {
+            consumer.accept(record);
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Deja en el buffer el registro completo y devuelve su longitud, o -1 al final
+     */
+    private int nextLength() throws IOException {
+        if (!ensure(2)) {
+            return -1;
+        }
+        int length = buffer.getShort(buffer.position()) & 0xFFFF;
+        if (!ensure(2 + length)) {
+            return -1;
+        }
+        buffer.position(buffer.position() + 2);
+        return length;
+    }
+
+    /**
+     * Garantiza al menos n bytes disponibles en el buffer
+     * @return false si el archivo termina antes
+     */
+    private boolean ensure(int n) throws IOException {
+        if (buffer.remaining() >= n) {
+            return true;
+        }
+        if (n > buffer.capacity()) {
+            throw new IOException("Registro de repetición más grande que el buffer de lectura");
+        }
+        buffer.compact();
+        while (buffer.position() < n && !endOfFile) {
+            if (channel.read(buffer) < 0) {
+                endOfFile = true;
+            }
+        }
+        buffer.flip();
+        if (buffer.remaining() >= n) {
+            return true;
+        }
+        // Quedan bytes sueltos al final: registro incompleto
+        truncated = buffer.hasRemaining();
+        return false;
+    }
+
+    /**
+     * Indica si el archivo terminaba con un registro incompleto
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,155 @@
+package com.yugiohduel.replay;
+
+import com.yugiohduel.game.Outcome;
+import com.yugiohduel.model.Card;
+import com.yugiohduel.rules.RuleSet;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Arma el {@link DuelRecord} de un duelo mientras se juega.
+ * Se crea con las manos completas y recibe cada turno desde los eventos
+ * TURN_RESOLVED de {@link com.yugiohduel.event.DuelEventBus}.
+ */
+public class ReplayRecorder {
+    private final long seed;
+    private final Card[] playerHand;
+    private final Card[] aiHand;
+    private final boolean[] playerUsed;
+    private final boolean[] aiUsed;
+    private final int winningScore;
+    private final int startingLifePoints;
+
+    private final int[] playerSlots;
+    private final int[] aiSlots;
+    private final Outcome[] outcomes;
+    private final int[] playerLifePoints;
+    private final int[] aiLifePoints;
+    private int turns;
+    private int playerScore;
+    private int aiScore;
+    // Ganador que anunció el duelo con finish()
+    private Outcome endedWinner;
+
+    /**
+     * @param seed Semilla del generador del duelo
+     * @param playerHand Mano inicial del jugador
+     * @param aiHand Mano inicial de la IA
+     * @param rules Reglas del duelo: rondas para ganar y puntos de vida
+     */
+    public ReplayRecorder(long seed, List<Card> playerHand, List<Card> aiHand, RuleSet rules) {
+        this.seed = seed;
+        this.playerHand = playerHand.toArray(new Card[0]);
+        this.aiHand = aiHand.toArray(new Card[0]);
+        this.playerUsed = new boolean[this.playerHand.length];
+        this.aiUsed = new boolean[this.aiHand.length];
+        this.winningScore = rules.getWinningScore();
+        this.startingLifePoints = rules.getLifePoints();
+
+        int maxTurns = Math.min(this.playerHand.length, this.aiHand.length);
+        this.playerSlots = new int[maxTurns];
+        this.aiSlots = new int[maxTurns];
+        this.outcomes = new Outcome[maxTurns];
+        this.playerLifePoints = new int[maxTurns];
+        this.aiLifePoints = new int[maxTurns];
+    }
+
+    /**
+     * Registra un turno resuelto
+     * @param playerLife Vida del jugador al terminar el turno (se ignora sin puntos de vida)
+     * @param aiLife Vida de la IA al terminar el turno
+     */
+    public void recordTurn(Card playerCard, Card aiCard, Outcome outcome, int playerLife, int aiLife) {
+        if (isFinished()) {
+            throw new IllegalStateException("El duelo grabado ya terminó");
+        }
+        playerSlots[turns] = claimSlot(playerHand, playerUsed, playerCard);
+        aiSlots[turns] = claimSlot(aiHand, aiUsed, aiCard);
+        outcomes[turns] = outcome;
+        playerLifePoints[turns] = playerLife;
+        aiLifePoints[turns] = aiLife;
+        turns++;
+
+        if (outcome == Outcome.PLAYER) {
+            playerScore++;
+        } else if (outcome == Outcome.AI) {
+            aiScore++;
+        }
+    }
+
+    /**
+     * Posición en la mano inicial de una carta aún no jugada.
+     * Se compara por identidad: la misma carta puede repetirse en una mano.
+     */
+    private static int claimSlot(Card[] hand, boolean[] used, Card card) {
+        for (int i = 0; i < hand.length; i++) {
+            if (!used[i] && hand[i] == card) {
+                used[i] = true;
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("La carta jugada no está en la mano grabada: " + card);
+    }
+
+    /**
+     * Cierra la grabación con el ganador que anunció el duelo
+     */
+    public void finish(Outcome winner) {
+        this.endedWinner = winner;
+    }
+
+    /**
+     * El duelo terminó: alguien alcanzó el puntaje, alguien se quedó sin vida,
+     * no quedan cartas o se cerró con {@link #finish}. Se decide con el último
+     * turno, igual que en {@link com.yugiohduel.game.Duel}, así un duelo que
+     * se queda sin vida en su última carta no se guarda sin ganador.
+     */
+    public boolean isFinished() {
+        return endedWinner != null || scoreWinner() != null || lifePointsWinner() != null
+                || turns == outcomes.length;
+    }
+
+    private Outcome scoreWinner() {
+        if (playerScore >= winningScore) {
+            return Outcome.PLAYER;
+        }
+        return aiScore >= winningScore ? Outcome.AI : null;
+    }
+
+    private Outcome lifePointsWinner() {
+        if (startingLifePoints == 0 || turns == 0) {
+            return null;
+        }
+        if (aiLifePoints[turns - 1] == 0) {
+            return Outcome.PLAYER;
+        }
+        return playerLifePoints[turns - 1] == 0 ? Outcome.AI : null;
+    }
+
+    /**
+     * Registro con los turnos grabados hasta ahora
+     */
+    public DuelRecord toRecord() {
+        Outcome winner = endedWinner;
+        if (winner == null) {
+            winner = scoreWinner();
+        }
+        if (winner == null) {
+            winner = lifePointsWinner();
+        }
+        return DuelRecord.of(seed, ids(playerHand), ids(aiHand),
+                Arrays.copyOf(playerSlots, turns),
+                Arrays.copyOf(aiSlots, turns),
+                Arrays.copyOf(outcomes, turns), winner,
+                startingLifePoints, playerLifePoints, aiLifePoints);
+    }
+
+    private static int[] ids(Card[] hand) {
+        int[] ids = new int[hand.length];
+        for (int i = 0; i < hand.length; i++) {
+            ids[i] = hand[i].getId();
+        }
+        return ids;
+    }
+}
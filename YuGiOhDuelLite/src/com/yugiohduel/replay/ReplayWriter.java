@@ -0,0 +1,101 @@
+package com.yugiohduel.replay;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Escribe duelos al final de un archivo de repeticiones.
+ * El archivo es un log de solo agregado: una cabecera y luego registros
+ * {@link DuelRecord} uno tras otro. Los registros se acumulan en un buffer
+ * y se escriben en bloque. Si el juego se cerró a mitad de un registro, el
+ * resto incompleto se descarta al abrir, antes de agregar nada detrás.
+ */
+public class ReplayWriter implements Closeable {
+    static final int MAGIC = 0x59474F52;
+    static final short VERSION = 1;
+    static final int HEADER_SIZE = 8;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long duelsWritten;
+
+    /**
+     * Abre el archivo para agregar duelos, creándolo con su cabecera si no existe.
+     * Un archivo existente se recorre entero una vez para encontrar el final
+     * del último registro completo.
+     * @throws IOException si no se puede abrir o no es un archivo de repeticiones
+     */
+    public ReplayWriter(Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        long completeLength = -1;
+        if (Files.exists(path) && Files.size(path) > 0) {
+            completeLength = ReplayReader.completeLength(path);
+        }
+
+        this.channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        if (completeLength >= 0 && channel.size() > completeLength) {
+            // Si se agregara detrás de un registro cortado, todos los siguientes se leerían desplazados
+            channel.truncate(completeLength);
+        }
+        if (channel.size() == 0) {
+            buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        }
+    }
+
+    /**
+     * Ruta por defecto del archivo de repeticiones: ~/.yugiohduel/replays.bin
+     */
+    public static Path defaultPath() {
+        return Paths.get(System.getProperty("user.home"), ".yugiohduel", "replays.bin");
+    }
+
+    /**
+     * Agrega un duelo. Queda en el buffer hasta el próximo {@link #flush()}
+     * o hasta que el buffer se llena.
+     */
+    public void append(DuelRecord record) throws IOException {
+        if (buffer.remaining() < record.encodedSize()) {
+            writeBuffer();
+        }
+        record.writeTo(buffer);
+        duelsWritten++;
+    }
+
+    /**
+     * Escribe al archivo todo lo pendiente
+     */
+    public void flush() throws IOException {
+        writeBuffer();
+    }
+
+    private void writeBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    public long getDuelsWritten() {
+        return duelsWritten;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            writeBuffer();
+        } finally {
+            channel.close();
+        }
+    }
+}
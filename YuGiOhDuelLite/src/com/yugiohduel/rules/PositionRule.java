@@ -0,0 +1,14 @@
+package com.yugiohduel.rules;
+
+/**
+ * Posición en la que recibe el ataque la carta de quien no tiene el turno.
+ * La carta de quien ataca siempre está en posición de ataque.
+ */
+public enum PositionRule {
+    /** Ambas cartas en ataque: se comparan ATK contra ATK (reglas clásicas) */
+    ALL_ATTACK,
+    /** La carta que defiende está siempre en defensa: ATK contra DEF */
+    DEFENDER_IN_DEFENSE,
+    /** La carta que defiende elige la posición con el valor más alto (en empate, ataque) */
+    DEFENDER_BEST_STAT
+}
@@ -0,0 +1,485 @@
+package com.yugiohduel.rules;
+
+import com.yugiohduel.game.Duel;
+import com.yugiohduel.game.Outcome;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+
+/**
+ * Reglas de batalla declaradas como datos: tamaño de mano, rondas para
+ * ganar, puntos de vida, posición de la carta que defiende y qué pasa en
+ * cada comparación (gana quien ataca, quien defiende o nadie, y quién recibe
+ * como daño la diferencia).
+ *
+ * Al construirse, las reglas se compilan en una tabla de 12 entradas indexada
+ * por quién ataca, la posición del defensor y el signo de la diferencia; cada
+ * entrada ya trae el resultado del turno y a quién va el daño. Resolver un
+ * turno es una resta, un signo y una lectura de la tabla, sin ramas por regla.
+ * Si las reglas solo comparan ATK contra ATK, sin daño y igual para ambos
+ * atacantes (como las clásicas), se compila un atajo que compara los ATK y
+ * devuelve una de tres entradas, sin elegir posición ni atacante.
+ *
+ * Quien tiene el turno ataca y el turno se alterna; con {@link PositionRule#ALL_ATTACK}
+ * y sin daño las reglas son simétricas y da igual quién ataque.
+ */
+public final class RuleSet {
+    /** Propiedad con el nombre de unas reglas incluidas o la ruta de un .properties */
+    public static final String RULES_PROPERTY = "ygo.rules";
+    /** Cartas máximas por mano, el límite de las repeticiones y de la IA */
+    public static final int MAX_HAND_SIZE = 16;
+
+    /**
+     * Lado de la batalla que gana la ronda o recibe el daño
+     */
+    public enum Side {
+        ATTACKER,
+        DEFENDER,
+        NONE
+    }
+
+    /** Ambos atacan, gana el mayor ATK, sin puntos de vida: las reglas de siempre */
+    public static final RuleSet CLASSIC = builder("classic").build();
+
+    /** El defensor elige ataque o defensa; atacar a una defensa mayor no destruye a nadie */
+    public static final RuleSet POSITIONS = builder("positions")
+            .positions(PositionRule.DEFENDER_BEST_STAT)
+            .build();
+
+    /** Posiciones y 4000 puntos de vida: pierde también quien se queda sin vida */
+    public static final RuleSet LIFE_POINTS = builder("lifepoints")
+            .handSize(5)
+            .winningScore(3)
+            .lifePoints(4000)
+            .positions(PositionRule.DEFENDER_BEST_STAT)
+            .attackVsAttackDamage(Side.DEFENDER, Side.NONE, Side.ATTACKER)
+            .attackVsDefenseDamage(Side.NONE, Side.NONE, Side.ATTACKER)
+            .build();
+
+    // Formato del resultado de resolve(): ordinal de Outcome, banderas de daño y cantidad
+    private static final int OUTCOME_MASK = 0b11;
+    private static final int PLAYER_DAMAGE = 1 << 2;
+    private static final int AI_DAMAGE = 1 << 3;
+    private static final int AMOUNT_SHIFT = 4;
+    private static final Outcome[] OUTCOMES = Outcome.values();
+
+    // Columnas de la tabla según el signo de (valor del atacante - valor del defensor)
+    private static final int LOWER = 0;
+    private static final int EQUAL = 1;
+    private static final int HIGHER = 2;
+    private static final int DEFENSE_ROW = 3;
+    private static final int AI_ATTACKS = 6;
+
+    private static final int MODE_ATTACK = 0;
+    private static final int MODE_DEFENSE = 1;
+    private static final int MODE_BEST = 2;
+
+    private static volatile RuleSet configured;
+
+    private final String name;
+    private final int handSize;
+    private final int winningScore;
+    private final int lifePoints;
+    private final PositionRule positionRule;
+    private final int positionMode;
+    private final int[] table;
+    private final boolean atkOnly;
+    // Entradas del atajo ATK contra ATK, copiadas de la tabla
+    private final int atkLower;
+    private final int atkEqual;
+    private final int atkHigher;
+
+    private RuleSet(Builder builder) {
+        this.name = builder.name;
+        this.handSize = builder.handSize;
+        this.winningScore = builder.winningScore;
+        this.lifePoints = builder.lifePoints;
+        this.positionRule = builder.positionRule;
+        this.positionMode = positionRule == PositionRule.ALL_ATTACK ? MODE_ATTACK
+                : positionRule == PositionRule.DEFENDER_IN_DEFENSE ? MODE_DEFENSE : MODE_BEST;
+        this.table = compile(builder.winners, builder.damage, lifePoints > 0);
+        this.atkOnly = positionMode == MODE_ATTACK && isAtkOnly(table);
+        this.atkLower = table[LOWER];
+        this.atkEqual = table[EQUAL];
+        this.atkHigher = table[HIGHER];
+    }
+
+    /**
+     * La mitad de la IA repite la del jugador con los lados cambiados y no hay daño
+     */
+    private static boolean isAtkOnly(int[] table) {
+        for (int column = LOWER; column <= HIGHER; column++) {
+            int playerEntry = table[column];
+            int aiEntry = table[AI_ATTACKS + HIGHER - column];
+            if (playerEntry != aiEntry || (playerEntry & ~OUTCOME_MASK) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Arma la tabla para ambos atacantes, traduciendo atacante y defensor
+     * a jugador e IA
+     */
+    private static int[] compile(Side[][] winners, Side[][] damage, boolean lifePoints) {
+        int[] table = new int[12];
+        for (int attacker = 0; attacker < 2; attacker++) {
+            boolean playerAttacks = attacker == 0;
+            for (int row = 0; row < 2; row++) {
+                for (int column = LOWER; column <= HIGHER; column++) {
+                    Side winner = winners[row][column];
+                    Outcome outcome = winner == Side.NONE ? Outcome.DRAW
+                            : (winner == Side.ATTACKER) == playerAttacks ? Outcome.PLAYER : Outcome.AI;
+                    int entry = outcome.ordinal();
+
+                    Side hurt = damage[row][column];
+                    if (lifePoints && hurt != Side.NONE) {
+                        entry |= (hurt == Side.ATTACKER) == playerAttacks ? PLAYER_DAMAGE : AI_DAMAGE;
+                    }
+                    table[attacker * AI_ATTACKS + row * DEFENSE_ROW + column] = entry;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Resuelve un turno
+     * @param playerAttacks true si ataca el jugador, false si ataca la IA
+     * @return Resultado codificado; se lee con {@link #outcome(int)},
+     *         {@link #playerDamage(int)} y {@link #aiDamage(int)}
+     */
+    public int resolve(boolean playerAttacks, int playerAtk, int playerDef, int aiAtk, int aiDef) {
+        if (atkOnly) {
+            return playerAtk > aiAtk ? atkHigher : playerAtk < aiAtk ? atkLower : atkEqual;
+        }
+        return resolveWithPositions(playerAttacks, playerAtk, playerDef, aiAtk, aiDef);
+    }
+
+    private int resolveWithPositions(boolean playerAttacks, int playerAtk, int playerDef, int aiAtk, int aiDef) {
+        int attack = playerAttacks ? playerAtk : aiAtk;
+        int defenderAtk = playerAttacks ? aiAtk : playerAtk;
+        int defenderDef = playerAttacks ? aiDef : playerDef;
+
+        boolean inDefense = positionMode == MODE_DEFENSE
+                || (positionMode == MODE_BEST && defenderDef > defenderAtk);
+        int difference = attack - (inDefense ? defenderDef : defenderAtk);
+        int index = (playerAttacks ? 0 : AI_ATTACKS) + (inDefense ? DEFENSE_ROW : 0)
+                + Integer.signum(difference) + EQUAL;
+        return table[index] | (Math.abs(difference) << AMOUNT_SHIFT);
+    }
+
+    /**
+     * Ganador del turno de un resultado de {@link #resolve}
+     */
+    public static Outcome outcome(int result) {
+        return OUTCOMES[result & OUTCOME_MASK];
+    }
+
+    /**
+     * Puntos de vida que pierde el jugador en un resultado de {@link #resolve}
+     */
+    public static int playerDamage(int result) {
+        return (result & PLAYER_DAMAGE) != 0 ? result >>> AMOUNT_SHIFT : 0;
+    }
+
+    /**
+     * Puntos de vida que pierde la IA en un resultado de {@link #resolve}
+     */
+    public static int aiDamage(int result) {
+        return (result & AI_DAMAGE) != 0 ? result >>> AMOUNT_SHIFT : 0;
+    }
+
+    /**
+     * Reglas indicadas en la propiedad {@value #RULES_PROPERTY}, o las clásicas
+     * si no está definida. Se leen una vez por proceso.
+     * @throws IllegalArgumentException si la propiedad no nombra reglas válidas
+     */
+    public static RuleSet configured() {
+        RuleSet rules = configured;
+        if (rules != null) {
+            return rules;
+        }
+        synchronized (RuleSet.class) {
+            if (configured == null) {
+                String value = System.getProperty(RULES_PROPERTY);
+                try {
+                    configured = value == null || value.isEmpty() ? CLASSIC : forName(value);
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("No se pudieron leer las reglas de " + value, e);
+                }
+            }
+            return configured;
+        }
+    }
+
+    /**
+     * Reglas incluidas por nombre ("classic", "positions", "lifepoints"),
+     * o si no coincide ninguno, el archivo .properties de esa ruta
+     */
+    public static RuleSet forName(String nameOrPath) throws IOException {
+        switch (nameOrPath.toLowerCase(Locale.ROOT)) {
+            case "classic":
+                return CLASSIC;
+            case "positions":
+                return POSITIONS;
+            case "lifepoints":
+                return LIFE_POINTS;
+            default:
+                return load(Paths.get(nameOrPath));
+        }
+    }
+
+    /**
+     * Carga reglas de un archivo .properties (ver {@link #fromProperties})
+     */
+    public static RuleSet load(Path path) throws IOException {
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+        }
+        String fileName = path.getFileName().toString();
+        return fromProperties(properties, fileName.replaceFirst("\\.properties$", ""));
+    }
+
+    /**
+     * Reglas declaradas en propiedades; las que falten toman el valor clásico.
+     * <pre>
+     * handSize=5
+     * winningScore=3
+     * lifePoints=4000
+     * positions=DEFENDER_BEST_STAT
+     * # Ganador cuando el atacante tiene más, igual y menos
+     * attackVsAttack=ATTACKER,NONE,DEFENDER
+     * attackVsAttack.damage=DEFENDER,NONE,ATTACKER
+     * attackVsDefense=ATTACKER,NONE,NONE
+     * attackVsDefense.damage=NONE,NONE,ATTACKER
+     * </pre>
+     * @param defaultName Nombre si las propiedades no traen "name"
+     * @throws IllegalArgumentException si algún valor no es válido
+     */
+    public static RuleSet fromProperties(Properties properties, String defaultName) {
+        Builder builder = builder(properties.getProperty("name", defaultName));
+        String value = properties.getProperty("handSize");
+        if (value != null) {
+            builder.handSize(parseInt("handSize", value));
+        }
+        value = properties.getProperty("winningScore");
+        if (value != null) {
+            builder.winningScore(parseInt("winningScore", value));
+        }
+        value = properties.getProperty("lifePoints");
+        if (value != null) {
+            builder.lifePoints(parseInt("lifePoints", value));
+        }
+        value = properties.getProperty("positions");
+        if (value != null) {
+            builder.positions(parse(PositionRule.class, "positions", value));
+        }
+        parseRow(properties, "attackVsAttack", builder.winners[0]);
+        parseRow(properties, "attackVsAttack.damage", builder.damage[0]);
+        parseRow(properties, "attackVsDefense", builder.winners[1]);
+        parseRow(properties, "attackVsDefense.damage", builder.damage[1]);
+        return builder.build();
+    }
+
+    private static void parseRow(Properties properties, String key, Side[] row) {
+        String value = properties.getProperty(key);
+        if (value == null) {
+            return;
+        }
+        String[] sides = value.split(",");
+        if (sides.length != 3) {
+            throw new IllegalArgumentException(key + " necesita tres valores (mayor, igual, menor): " + value);
+        }
+        row[HIGHER] = parse(Side.class, key, sides[0]);
+        row[EQUAL] = parse(Side.class, key, sides[1]);
+        row[LOWER] = parse(Side.class, key, sides[2]);
+    }
+
+    private static int parseInt(String key, String value) {
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " no es un número: " + value, e);
+        }
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String key, String value) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(key + " tiene un valor desconocido: " + value, e);
+        }
+    }
+
+    public static Builder builder(String name) {
+        return new Builder(name);
+    }
+
+    // Getters
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Cartas que recibe cada jugador
+     */
+    public int getHandSize() {
+        return handSize;
+    }
+
+    /**
+     * Rondas ganadas necesarias para ganar el duelo
+     */
+    public int getWinningScore() {
+        return winningScore;
+    }
+
+    /**
+     * Puntos de vida iniciales, 0 si las reglas no los usan
+     */
+    public int getLifePoints() {
+        return lifePoints;
+    }
+
+    public boolean hasLifePoints() {
+        return lifePoints > 0;
+    }
+
+    public PositionRule getPositionRule() {
+        return positionRule;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    /**
+     * Declaración de unas reglas; los valores por defecto son los clásicos
+     */
+    public static final class Builder {
+        private final String name;
+        private int handSize = Duel.HAND_SIZE;
+        private int winningScore = Duel.WINNING_SCORE;
+        private int lifePoints;
+        private PositionRule positionRule = PositionRule.ALL_ATTACK;
+        // [fila: ataque, defensa][columna: menor, igual, mayor]
+        private final Side[][] winners = {
+                {Side.DEFENDER, Side.NONE, Side.ATTACKER},
+                {Side.NONE, Side.NONE, Side.ATTACKER}
+        };
+        private final Side[][] damage = {
+                {Side.NONE, Side.NONE, Side.NONE},
+                {Side.NONE, Side.NONE, Side.NONE}
+        };
+
+        private Builder(String name) {
+            this.name = name;
+        }
+
+        public Builder handSize(int handSize) {
+            this.handSize = handSize;
+            return this;
+        }
+
+        public Builder winningScore(int winningScore) {
+            this.winningScore = winningScore;
+            return this;
+        }
+
+        /**
+         * Puntos de vida iniciales; 0 desactiva el daño
+         */
+        public Builder lifePoints(int lifePoints) {
+            this.lifePoints = lifePoints;
+            return this;
+        }
+
+        public Builder positions(PositionRule positionRule) {
+            this.positionRule = positionRule;
+            return this;
+        }
+
+        /**
+         * Quién gana la ronda cuando el defensor está en ataque, según el ATK
+         * del atacante sea mayor, igual o menor que el del defensor
+         */
+        public Builder attackVsAttack(Side higher, Side equal, Side lower) {
+            setRow(winners[0], higher, equal, lower);
+            return this;
+        }
+
+        /**
+         * Quién recibe la diferencia como daño cuando el defensor está en ataque
+         */
+        public Builder attackVsAttackDamage(Side higher, Side equal, Side lower) {
+            setRow(damage[0], higher, equal, lower);
+            return this;
+        }
+
+        /**
+         * Quién gana la ronda cuando el defensor está en defensa, según el ATK
+         * del atacante sea mayor, igual o menor que la DEF del defensor
+         */
+        public Builder attackVsDefense(Side higher, Side equal, Side lower) {
+            setRow(winners[1], higher, equal, lower);
+            return this;
+        }
+
+        /**
+         * Quién recibe la diferencia como daño cuando el defensor está en defensa
+         */
+        public Builder attackVsDefenseDamage(Side higher, Side equal, Side lower) {
+            setRow(damage[1], higher, equal, lower);
+            return this;
+        }
+
+        private static void setRow(Side[] row, Side higher, Side equal, Side lower) {
+            row[HIGHER] = higher;
+            row[EQUAL] = equal;
+            row[LOWER] = lower;
+        }
+
+        /**
+         * Valida y compila las reglas
+         * @throws IllegalArgumentException si las reglas no permiten jugar o ganar
+         */
+        public RuleSet build() {
+            if (handSize < 1 || handSize > MAX_HAND_SIZE) {
+                throw new IllegalArgumentException("La mano debe tener entre 1 y " + MAX_HAND_SIZE
+                        + " cartas: " + handSize);
+            }
+            if (winningScore < 1) {
+                throw new IllegalArgumentException("El puntaje para ganar debe ser positivo: " + winningScore);
+            }
+            if (lifePoints < 0) {
+                throw new IllegalArgumentException("Los puntos de vida no pueden ser negativos: " + lifePoints);
+            }
+            if (lifePoints == 0 && winningScore > handSize) {
+                throw new IllegalArgumentException("Sin puntos de vida nadie puede ganar " + winningScore
+                        + " rondas con " + handSize + " cartas");
+            }
+            if (positionRule == null) {
+                throw new IllegalArgumentException("Falta la regla de posiciones");
+            }
+            for (Side[][] rows : new Side[][][]{winners, damage}) {
+                for (Side[] row : rows) {
+                    for (Side side : row) {
+                        if (side == null) {
+                            throw new IllegalArgumentException("Falta un resultado en la tabla de " + name);
+                        }
+                    }
+                }
+            }
+            return new RuleSet(this);
+        }
+    }
+}
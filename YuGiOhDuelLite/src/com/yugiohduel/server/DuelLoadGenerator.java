@@ -0,0 +1,250 @@
+package com.yugiohduel.server;
+
+import com.yugiohduel.metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Cliente de carga para {@link DuelServer}. Abre conexiones activas que
+ * juegan duelos completos sin pausa (NEW y PLAY hasta END) y, aparte,
+ * conexiones inactivas que solo se mantienen abiertas. Todo corre en un
+ * único hilo con un Selector, como el servidor.
+ *
+ * Mide duelos y turnos por segundo y la latencia de cada comando.
+ */
+public class DuelLoadGenerator {
+    private final InetSocketAddress address;
+    private final int activeConnections;
+    private final int idleConnections;
+
+    /**
+     * @param address Dirección del servidor
+     * @param activeConnections Conexiones que juegan duelos
+     * @param idleConnections Conexiones abiertas sin actividad
+     */
+    public DuelLoadGenerator(InetSocketAddress address, int activeConnections, int idleConnections) {
+        this.address = address;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+    }
+
+    /**
+     * Genera carga durante el tiempo indicado
+     * @param seconds Duración de la medición
+     * @return Resumen de la medición
+     */
+    public Result run(double seconds) throws IOException {
+        List<SocketChannel> idle = new ArrayList<>(idleConnections);
+        SplittableRandom rng = new SplittableRandom(42);
+        LatencyHistogram latency = new LatencyHistogram("commandLatency");
+        long duels = 0;
+        long turns = 0;
+
+        try (Selector selector = Selector.open()) {
+            for (int i = 0; i < idleConnections; i++) {
+                idle.add(SocketChannel.open(address));
+            }
+            for (int i = 0; i < activeConnections; i++) {
+                SocketChannel channel = SocketChannel.open(address);
+                channel.socket().setTcpNoDelay(true);
+                channel.configureBlocking(false);
+                Player player = new Player(channel);
+                channel.register(selector, SelectionKey.OP_READ, player);
+                player.send("NEW");
+            }
+
+            long start = System.nanoTime();
+            long deadline = start + (long) (seconds * 1e9);
+            while (System.nanoTime() < deadline) {
+                selector.select(100);
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    Player player = (Player) key.attachment();
+                    String line;
+                    while ((line = player.readLine()) != null) {
+                        latency.record(System.nanoTime() - player.sentAt);
+                        if (line.startsWith("HAND")) {
+                            player.cardsLeft = line.split(" ").length - 1;
+                        } else if (line.startsWith("TURN")) {
+                            turns++;
+                            player.cardsLeft--;
+                        } else if (line.startsWith("END")) {
+                            turns++;
+                            duels++;
+                            player.cardsLeft = 0;
+                        } else {
+                            throw new IOException("Respuesta inesperada del servidor: " + line);
+                        }
+                        player.send(player.cardsLeft > 0
+                                ? "PLAY " + rng.nextInt(player.cardsLeft)
+                                : "NEW");
+                    }
+                }
+            }
+            long elapsed = System.nanoTime() - start;
+
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            return new Result(activeConnections, idleConnections, duels, turns, elapsed, latency);
+        } finally {
+            for (SocketChannel channel : idle) {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Conexión activa: un comando en vuelo a la vez
+     */
+    private static final class Player {
+        final SocketChannel channel;
+        final ByteBuffer input = ByteBuffer.allocate(DuelServer.MAX_LINE * 4);
+        int cardsLeft;
+        long sentAt;
+
+        Player(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        void send(String command) throws IOException {
+            ByteBuffer bytes = ByteBuffer.wrap((command + "\n").getBytes(StandardCharsets.US_ASCII));
+            sentAt = System.nanoTime();
+            // Comandos de pocos bytes: el buffer del socket los acepta enteros
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+        }
+
+        /**
+         * @return La siguiente línea completa recibida, o null si no hay
+         */
+        String readLine() throws IOException {
+            String line = nextLine();
+            if (line != null) {
+                return line;
+            }
+            if (channel.read(input) < 0) {
+                throw new IOException("El servidor cerró la conexión");
+            }
+            return nextLine();
+        }
+
+        private String nextLine() {
+            for (int i = 0; i < input.position(); i++) {
+                if (input.get(i) == '\n') {
+                    String line = new String(input.array(), 0, i, StandardCharsets.US_ASCII);
+                    input.flip();
+                    input.position(i + 1);
+                    input.compact();
+                    return line;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Resumen de una medición
+     */
+    public static class Result {
+        private final int activeConnections;
+        private final int idleConnections;
+        private final long duels;
+        private final long turns;
+        private final long elapsedNanos;
+        private final LatencyHistogram latency;
+
+        Result(int activeConnections, int idleConnections, long duels, long turns,
+               long elapsedNanos, LatencyHistogram latency) {
+            this.activeConnections = activeConnections;
+            this.idleConnections = idleConnections;
+            this.duels = duels;
+            this.turns = turns;
+            this.elapsedNanos = elapsedNanos;
+            this.latency = latency;
+        }
+
+        // Getters
+        public long getDuels() {
+            return duels;
+        }
+
+        public long getTurns() {
+            return turns;
+        }
+
+        public double getDuelsPerSecond() {
+            return duels * 1e9 / elapsedNanos;
+        }
+
+        public double getTurnsPerSecond() {
+            return turns * 1e9 / elapsedNanos;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("sessions=%d active + %d idle, duels=%d (%.0f/s), turns=%d (%.0f/s), "
+                            + "command latency p50=%.0f us p99=%.0f us max=%.0f us",
+                    activeConnections, idleConnections, duels, getDuelsPerSecond(), turns, getTurnsPerSecond(),
+                    latency.getP50Micros(), latency.getP99Micros(), latency.getMaxMicros());
+        }
+    }
+
+    /**
+     * Generador de carga desde la línea de comandos. Sin host se levanta un
+     * servidor en este mismo proceso con el catálogo local.
+     * Uso: DuelLoadGenerator [activas] [inactivas] [segundos] [host] [puerto]
+     */
+    public static void main(String[] args) throws Exception {
+        int active = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int idle = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        double seconds = args.length > 2 ? Double.parseDouble(args[2]) : 10;
+
+        DuelServer embedded = null;
+        InetSocketAddress address;
+        if (args.length > 3) {
+            int port = args.length > 4 ? Integer.parseInt(args[4]) : DuelServer.DEFAULT_PORT;
+            address = new InetSocketAddress(args[3], port);
+        } else {
+            embedded = new DuelServer(DuelServer.openCatalog(), new InetSocketAddress("127.0.0.1", 0));
+            address = new InetSocketAddress("127.0.0.1", embedded.getPort());
+            DuelServer server = embedded;
+            Thread serverThread = new Thread(() -> {
+                try {
+                    server.run();
+                } catch (IOException e) {
+                    System.err.println("Duel server failed: " + e.getMessage());
+                }
+            }, "duel-server");
+            serverThread.setDaemon(true);
+            serverThread.start();
+        }
+
+        System.out.println("Load generator: " + active + " active, " + idle + " idle connections to "
+                + address + " for " + seconds + " s");
+        Result result = new DuelLoadGenerator(address, active, idle).run(seconds);
+        System.out.println(result);
+        if (embedded != null) {
+            System.out.println("Server: duels=" + embedded.getDuelsStarted() + " turns=" + embedded.getTurnsPlayed()
+                    + ", live threads in process=" + Thread.activeCount());
+            embedded.close();
+        }
+    }
+}
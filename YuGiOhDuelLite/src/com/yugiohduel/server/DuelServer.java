@@ -0,0 +1,416 @@
+package com.yugiohduel.server;
+
+import com.yugiohduel.catalog.BinaryCardCatalog;
+import com.yugiohduel.catalog.CardCatalog;
+import com.yugiohduel.catalog.MonsterPool;
+import com.yugiohduel.game.Duel;
+import com.yugiohduel.journal.Journal;
+import com.yugiohduel.model.Card;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Servidor de duelos sin interfaz: un único hilo atiende todas las
+ * conexiones con un {@link Selector}, así una conexión inactiva solo cuesta
+ * su canal y unos cientos de bytes de buffers, no un hilo. Cada conexión
+ * tiene su propio {@link Duel}; las cartas salen de un {@link MonsterPool}
+ * local, sin red.
+ *
+ * Protocolo de texto, una línea por comando y una línea por respuesta:
+ * <pre>
+ * NEW [semilla]   → HAND id:atk:def id:atk:def id:atk:def
+ * HAND            → HAND ... (cartas que le quedan al jugador)
+ * PLAY índice     → TURN atkJugador atkIA ganadorTurno puntosJugador puntosIA
+ *                   o, en el último turno, END ... ganadorDuelo
+ * QUIT            → BYE y se cierra la conexión
+ * otro / inválido → ERR mensaje
+ * </pre>
+ * Los ganadores usan las etiquetas de los listeners ("Player", "AI", "Draw").
+ *
+ * Los duelos no publican eventos: la respuesta de cada turno se arma en el
+ * hilo del selector con el último turno del duelo, sin pasar por un bus.
+ */
+public class DuelServer implements Closeable {
+    public static final int DEFAULT_PORT = 7420;
+
+    /** Longitud máxima de una línea de comando */
+    static final int MAX_LINE = 128;
+    /** Salida pendiente a partir de la cual se deja de leer al cliente */
+    private static final int MAX_PENDING_OUTPUT = 64 * 1024;
+    /** Pausa de las aceptaciones tras un fallo de accept(), por ejemplo sin descriptores libres */
+    private static final long ACCEPT_BACKOFF_MILLIS = 100;
+
+    private final MonsterPool pool;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final SelectionKey acceptKey;
+    // Se obtiene al arrancar: sin descriptores libres ya no se podrían cargar sus clases
+    private final Journal journal = Journal.shared();
+    // Instante (System.nanoTime) hasta el que no se aceptan conexiones; 0 si se aceptan
+    private long acceptPausedUntil;
+    private final Random random = new Random();
+    private volatile boolean running = true;
+
+    // Estadísticas; se leen desde otros hilos
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final LongAdder duelsStarted = new LongAdder();
+    private final LongAdder turnsPlayed = new LongAdder();
+
+    /**
+     * Abre el socket del servidor; las conexiones se atienden en {@link #run()}
+     * @param pool Cartas para repartir
+     * @param address Dirección de escucha (puerto 0 para uno libre)
+     */
+    public DuelServer(MonsterPool pool, InetSocketAddress address) throws IOException {
+        if (pool.monsterCount() == 0) {
+            throw new IllegalArgumentException("El catálogo no contiene monstruos");
+        }
+        this.pool = pool;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, 1024);
+        serverChannel.configureBlocking(false);
+        this.acceptKey = serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+    }
+
+    /**
+     * Atiende conexiones hasta que se llame a {@link #close()}
+     */
+    public void run() throws IOException {
+        try {
+            while (running) {
+                selectUntilAcceptResumes();
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key == acceptKey) {
+                        // Un fallo al aceptar nunca cierra el canal del servidor
+                        accept();
+                        continue;
+                    }
+                    try {
+                        if (key.isReadable()) {
+                            read(key);
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            write(key);
+                        }
+                    } catch (IOException e) {
+                        // Conexión rota: solo afecta a esa sesión
+                        closeSession(key);
+                    }
+                }
+            }
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                if (key.attachment() != null) {
+                    closeSession(key);
+                }
+            }
+            serverChannel.close();
+            selector.close();
+        }
+    }
+
+    /**
+     * Detiene el bucle; se puede llamar desde cualquier hilo
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+    }
+
+    /**
+     * Espera eventos. Si las aceptaciones están en pausa, espera como mucho
+     * hasta que termine la pausa y entonces vuelve a escuchar conexiones.
+     */
+    private void selectUntilAcceptResumes() throws IOException {
+        if (acceptPausedUntil == 0) {
+            selector.select();
+            return;
+        }
+        long remainingMillis = (acceptPausedUntil - System.nanoTime()) / 1_000_000;
+        if (remainingMillis > 0) {
+            selector.select(remainingMillis);
+        } else {
+            selector.selectNow();
+        }
+        if (System.nanoTime() - acceptPausedUntil >= 0) {
+            acceptPausedUntil = 0;
+            acceptKey.interestOps(SelectionKey.OP_ACCEPT);
+        }
+    }
+
+    /**
+     * Acepta las conexiones pendientes. Si accept() falla (por ejemplo sin
+     * descriptores libres) se deja de aceptar un momento en vez de girar sobre
+     * el mismo error; si falla la preparación de un canal aceptado, solo se
+     * cierra ese canal.
+     */
+    private void accept() {
+        while (true) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (IOException e) {
+                journal.warn("server.acceptFailed").add("error", e).commit();
+                acceptKey.interestOps(0);
+                acceptPausedUntil = System.nanoTime() + ACCEPT_BACKOFF_MILLIS * 1_000_000;
+                return;
+            }
+            if (channel == null) {
+                return;
+            }
+            try {
+                channel.configureBlocking(false);
+                channel.socket().setTcpNoDelay(true);
+                channel.register(selector, SelectionKey.OP_READ, new DuelSession(channel, MAX_LINE));
+                openSessions.incrementAndGet();
+            } catch (IOException e) {
+                journal.warn("server.setupFailed").add("error", e).commit();
+                try {
+                    channel.close();
+                } catch (IOException closeError) {
+                    // Ya estaba cerrada
+                }
+            }
+        }
+    }
+
+    private void read(SelectionKey key) throws IOException {
+        DuelSession session = (DuelSession) key.attachment();
+        if (session.channel.read(session.input) < 0) {
+            closeSession(key);
+            return;
+        }
+
+        // Procesar todas las líneas completas; un cliente puede encadenar comandos
+        ByteBuffer input = session.input;
+        input.flip();
+        int lineStart = 0;
+        for (int i = 0; i < input.limit() && !session.closeAfterFlush; i++) {
+            if (input.get(i) == '\n') {
+                int end = i > lineStart && input.get(i - 1) == '\r' ? i - 1 : i;
+                handle(session, decode(input, lineStart, end));
+                lineStart = i + 1;
+            }
+        }
+        input.position(lineStart);
+        input.compact();
+        if (!input.hasRemaining()) {
+            session.reply("ERR line too long");
+            session.closeAfterFlush = true;
+        }
+
+        write(key);
+    }
+
+    private void write(SelectionKey key) throws IOException {
+        DuelSession session = (DuelSession) key.attachment();
+        if (session.flush()) {
+            if (session.closeAfterFlush) {
+                closeSession(key);
+                return;
+            }
+            key.interestOps(SelectionKey.OP_READ);
+        } else if (session.pendingOutput() > MAX_PENDING_OUTPUT || session.closeAfterFlush) {
+            // El cliente no lee sus respuestas: no se aceptan más comandos hasta vaciar
+            key.interestOps(SelectionKey.OP_WRITE);
+        } else {
+            key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+        }
+    }
+
+    private void closeSession(SelectionKey key) {
+        key.cancel();
+        try {
+            key.channel().close();
+        } catch (IOException e) {
+            // Ya estaba cerrada
+        }
+        if (key.attachment() != null) {
+            key.attach(null);
+            openSessions.decrementAndGet();
+        }
+    }
+
+    private static String decode(ByteBuffer input, int from, int to) {
+        byte[] bytes = new byte[to - from];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = input.get(from + i);
+        }
+        return new String(bytes, StandardCharsets.US_ASCII);
+    }
+
+    // Comandos
+
+    private void handle(DuelSession session, String line) {
+        String[] parts = line.trim().split(" +");
+        switch (parts[0]) {
+            case "NEW":
+                newDuel(session, parts);
+                break;
+            case "HAND":
+                if (session.duel == null) {
+                    session.reply("ERR no duel in progress");
+                } else {
+                    session.reply(hand(session.duel.getPlayerCards()));
+                }
+                break;
+            case "PLAY":
+                play(session, parts);
+                break;
+            case "QUIT":
+                session.reply("BYE");
+                session.closeAfterFlush = true;
+                break;
+            default:
+                session.reply("ERR unknown command");
+        }
+    }
+
+    private void newDuel(DuelSession session, String[] parts) {
+        long seed;
+        if (parts.length > 1) {
+            try {
+                seed = Long.parseLong(parts[1]);
+            } catch (NumberFormatException e) {
+                session.reply("ERR invalid seed");
+                return;
+            }
+        } else {
+            seed = random.nextLong();
+        }
+
+        // Con semilla, el mismo NEW reparte las mismas cartas y la IA juega igual
+        Random duelRandom = new Random(seed);
+        Duel duel = new Duel(duelRandom);
+        int handSize = duel.getRules().getHandSize();
+        List<Card> cards = pool.randomMonsters(handSize * 2, duelRandom);
+        for (int i = 0; i < handSize; i++) {
+            duel.addPlayerCard(cards.get(i));
+            duel.addAiCard(cards.get(handSize + i));
+        }
+        session.duel = duel;
+        duelsStarted.increment();
+        session.reply(hand(duel.getPlayerCards()));
+    }
+
+    private void play(DuelSession session, String[] parts) {
+        Duel duel = session.duel;
+        if (duel == null) {
+            session.reply("ERR no duel in progress");
+            return;
+        }
+        int index;
+        try {
+            index = parts.length > 1 ? Integer.parseInt(parts[1]) : -1;
+        } catch (NumberFormatException e) {
+            index = -1;
+        }
+        if (index < 0 || index >= duel.getPlayerCards().size()) {
+            session.reply("ERR invalid card index");
+            return;
+        }
+
+        duel.playTurn(index);
+        turnsPlayed.increment();
+        String turn = turnReply(duel);
+        if (duel.isDuelEnded()) {
+            session.reply("END " + turn + " " + duel.getWinner().getLabel());
+            session.duel = null;
+        } else if (duel.getPlayerCards().isEmpty()) {
+            // Sin cartas y sin ganador: el duelo termina en empate
+            session.reply("END " + turn + " Draw");
+            session.duel = null;
+        } else {
+            session.reply("TURN " + turn);
+        }
+    }
+
+    /**
+     * atkJugador atkIA ganadorTurno puntosJugador puntosIA del último turno
+     */
+    private static String turnReply(Duel duel) {
+        return duel.getLastPlayerCard().getAtk() + " "
+                + duel.getLastAiCard().getAtk() + " "
+                + duel.getLastTurnOutcome().getLabel() + " "
+                + duel.getPlayerScore() + " "
+                + duel.getAiScore();
+    }
+
+    private static String hand(List<Card> cards) {
+        StringBuilder sb = new StringBuilder("HAND");
+        for (Card card : cards) {
+            sb.append(' ').append(card.getId())
+                    .append(':').append(card.getAtk())
+                    .append(':').append(card.getDef());
+        }
+        return sb.toString();
+    }
+
+    // Getters
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public int getOpenSessions() {
+        return openSessions.get();
+    }
+
+    public long getDuelsStarted() {
+        return duelsStarted.sum();
+    }
+
+    public long getTurnsPlayed() {
+        return turnsPlayed.sum();
+    }
+
+    /**
+     * Abre el catálogo local para servir duelos
+     * @throws IOException si no hay catálogo descargado
+     */
+    static MonsterPool openCatalog() throws IOException {
+        MonsterPool catalog = BinaryCardCatalog.openOrConvert(CardCatalog.defaultPath());
+        if (catalog == null) {
+            throw new IOException("No hay catálogo local en " + CardCatalog.defaultPath()
+                    + "; juega una partida con red o indica -D" + CardCatalog.PATH_PROPERTY);
+        }
+        return catalog;
+    }
+
+    /**
+     * Servidor desde la línea de comandos usando el catálogo local
+     * Uso: DuelServer [puerto]
+     */
+    public static void main(String[] args) throws Exception {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        MonsterPool catalog = openCatalog();
+
+        DuelServer server = new DuelServer(catalog, new InetSocketAddress(port));
+        Runtime.getRuntime().addShutdownHook(new Thread(server::close));
+        System.out.println("Duel server listening on port " + server.getPort()
+                + " (" + catalog.monsterCount() + " monsters)");
+        server.run();
+        System.out.println("Duel server stopped: duels=" + server.getDuelsStarted()
+                + " turns=" + server.getTurnsPlayed());
+    }
+}
@@ -0,0 +1,63 @@
+package com.yugiohduel.server;
+
+import com.yugiohduel.game.Duel;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Estado de una conexión: buffers de entrada y salida y su propio duelo.
+ * Solo lo usa el hilo del selector, así que no necesita sincronización.
+ */
+final class DuelSession {
+    private static final int INITIAL_OUTPUT = 256;
+
+    final SocketChannel channel;
+    final ByteBuffer input;
+    // En modo escritura: position marca el final de lo pendiente
+    private ByteBuffer output;
+
+    Duel duel;
+    boolean closeAfterFlush;
+
+    DuelSession(SocketChannel channel, int maxLine) {
+        this.channel = channel;
+        this.input = ByteBuffer.allocate(maxLine);
+    }
+
+    /**
+     * Encola una línea de respuesta; se agrega el fin de línea
+     */
+    void reply(CharSequence line) {
+        byte[] bytes = (line + "\n").getBytes(StandardCharsets.US_ASCII);
+        if (output == null) {
+            output = ByteBuffer.allocate(Math.max(INITIAL_OUTPUT, bytes.length));
+        } else if (output.remaining() < bytes.length) {
+            ByteBuffer larger = ByteBuffer.allocate(Math.max(output.capacity() * 2, output.position() + bytes.length));
+            output.flip();
+            larger.put(output);
+            output = larger;
+        }
+        output.put(bytes);
+    }
+
+    /**
+     * Escribe lo pendiente sin bloquear
+     * @return true si no quedó nada por escribir
+     */
+    boolean flush() throws IOException {
+        if (output == null || output.position() == 0) {
+            return true;
+        }
+        output.flip();
+        channel.write(output);
+        output.compact();
+        return output.position() == 0;
+    }
+
+    int pendingOutput() {
+        return output == null ? 0 : output.position();
+    }
+}
@@ -0,0 +1,181 @@
+package com.yugiohduel.sim;
+
+import com.yugiohduel.catalog.CardCatalog;
+import com.yugiohduel.game.CompactDuel;
+import com.yugiohduel.game.Duel;
+import com.yugiohduel.game.Outcome;
+import com.yugiohduel.model.Card;
+import com.yugiohduel.rules.RuleSet;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Motor de simulación Monte Carlo sin interfaz gráfica.
+ * Juega duelos completos con un {@link RuleSet}, sobre el estado
+ * compacto {@link CompactDuel}, repartiendo manos aleatorias de un
+ * conjunto de cartas y sorteando quién ataca primero como {@link Duel}.
+ * El trabajo se reparte entre núcleos con fork/join y
+ * cada tramo recibe su propio SplittableRandom derivado de la semilla, así
+ * el resultado es reproducible sin importar cuántos hilos participen.
+ */
+public class DuelSimulator {
+    /** Duelos que simula cada tarea hoja antes de dejar de dividirse */
+    private static final long LEAF_DUELS = 4_096;
+
+    private final int[] poolAtk;
+    private final int[] poolDef;
+    private final RuleSet rules;
+    private final ForkJoinPool forkJoinPool;
+
+    public DuelSimulator(List<Card> cardPool) {
+        this(cardPool, RuleSet.configured(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * @param cardPool Cartas de las que se reparten las manos
+     * @param rules Reglas de los duelos simulados
+     * @param forkJoinPool Pool donde se ejecuta la simulación
+     */
+    public DuelSimulator(List<Card> cardPool, RuleSet rules, ForkJoinPool forkJoinPool) {
+        if (cardPool.isEmpty()) {
+            throw new IllegalArgumentException("El conjunto de cartas está vacío");
+        }
+        this.poolAtk = new int[cardPool.size()];
+        this.poolDef = new int[cardPool.size()];
+        for (int i = 0; i < poolAtk.length; i++) {
+            poolAtk[i] = cardPool.get(i).getAtk();
+            poolDef[i] = cardPool.get(i).getDef();
+        }
+        this.rules = rules;
+        this.forkJoinPool = forkJoinPool;
+    }
+
+    /**
+     * Simula una cantidad de duelos completos
+     * @param duels Número de duelos
+     * @param seed Semilla; la misma semilla produce los mismos resultados
+     * @return Resultados agregados
+     */
+    public SimulationResult run(long duels, long seed) {
+        long start = System.nanoTime();
+        Tally tally = forkJoinPool.invoke(new SimulationTask(poolAtk, poolDef, rules,
+                duels, new SplittableRandom(seed)));
+        long elapsed = System.nanoTime() - start;
+
+        return new SimulationResult(duels, tally.playerWins, tally.aiWins, tally.draws,
+                tally.turns, elapsed);
+    }
+
+    /**
+     * Juega los duelos de una tarea hoja
+     */
+    private static Tally simulate(int[] poolAtk, int[] poolDef, RuleSet rules,
+                                  long duels, SplittableRandom rng) {
+        Tally tally = new Tally();
+        CompactDuel duel = new CompactDuel(rules);
+        int handSize = rules.getHandSize();
+
+        for (long i = 0; i < duels; i++) {
+            duel.reset(rng.nextBoolean());
+            for (int c = 0; c < handSize; c++) {
+                int playerPick = rng.nextInt(poolAtk.length);
+                duel.addPlayerCard(poolAtk[playerPick], poolDef[playerPick]);
+                int aiPick = rng.nextInt(poolAtk.length);
+                duel.addAiCard(poolAtk[aiPick], poolDef[aiPick]);
+            }
+
+            while (!duel.isDuelEnded()) {
+                duel.playTurn(rng.nextInt(duel.getPlayerCount()), rng.nextInt(duel.getAiCount()));
+            }
+            tally.turns += duel.getTurns();
+
+            Outcome winner = duel.getWinner();
+            if (winner == Outcome.PLAYER) {
+                tally.playerWins++;
+            } else if (winner == Outcome.AI) {
+                tally.aiWins++;
+            } else {
+                tally.draws++;
+            }
+        }
+        return tally;
+    }
+
+    /**
+     * Divide el número de duelos a la mitad hasta llegar al tamaño de hoja.
+     * La división del generador ocurre al construir las subtareas, de forma
+     * determinista, independiente del orden en que las ejecuten los hilos.
+     * Recibe las cartas y las reglas explícitamente, sin retener el simulador.
+     */
+    private static final class SimulationTask extends RecursiveTask<Tally> {
+        private static final long serialVersionUID = 1L;
+
+        private final int[] poolAtk;
+        private final int[] poolDef;
+        private final RuleSet rules;
+        private final long duels;
+        private final SplittableRandom rng;
+
+        SimulationTask(int[] poolAtk, int[] poolDef, RuleSet rules, long duels, SplittableRandom rng) {
+            this.poolAtk = poolAtk;
+            this.poolDef = poolDef;
+            this.rules = rules;
+            this.duels = duels;
+            this.rng = rng;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (duels <= LEAF_DUELS) {
+                return simulate(poolAtk, poolDef, rules, duels, rng);
+            }
+
+            long half = duels / 2;
+            SimulationTask left = new SimulationTask(poolAtk, poolDef, rules, half, rng.split());
+            SimulationTask right = new SimulationTask(poolAtk, poolDef, rules, duels - half, rng);
+            left.fork();
+            Tally result = right.compute();
+            result.add(left.join());
+            return result;
+        }
+    }
+
+    /**
+     * Contadores parciales de una tarea
+     */
+    private static class Tally {
+        long playerWins;
+        long aiWins;
+        long draws;
+        long turns;
+
+        void add(Tally other) {
+            playerWins += other.playerWins;
+            aiWins += other.aiWins;
+            draws += other.draws;
+            turns += other.turns;
+        }
+    }
+
+    /**
+     * Simulación desde la línea de comandos usando el catálogo local
+     * Uso: DuelSimulator [duelos] [semilla] [ruta del catálogo]
+     */
+    public static void main(String[] args) throws Exception {
+        long duels = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42;
+        Path catalogPath = args.length > 2 ? Paths.get(args[2]) : CardCatalog.defaultPath();
+
+        CardCatalog catalog = CardCatalog.load(catalogPath);
+        DuelSimulator simulator = new DuelSimulator(catalog.getMonsters());
+
+        System.out.println("Monsters in pool: " + catalog.monsterCount());
+        System.out.println("Parallelism: " + ForkJoinPool.commonPool().getParallelism());
+        System.out.println(simulator.run(duels, seed));
+    }
+}
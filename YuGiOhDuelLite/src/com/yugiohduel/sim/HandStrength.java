@@ -0,0 +1,37 @@
+package com.yugiohduel.sim;
+
+/**
+ * Probabilidades exactas de resultado de un duelo para una mano
+ */
+public class HandStrength {
+    private final double winProbability;
+    private final double lossProbability;
+    private final double drawProbability;
+
+    public HandStrength(double winProbability, double lossProbability, double drawProbability) {
+        this.winProbability = winProbability;
+        this.lossProbability = lossProbability;
+        this.drawProbability = drawProbability;
+    }
+
+    // Getters
+    public double getWinProbability() {
+        return winProbability;
+    }
+
+    public double getLossProbability() {
+        return lossProbability;
+    }
+
+    /**
+     * Probabilidad de que el duelo termine sin ganador al agotarse las cartas
+     */
+    public double getDrawProbability() {
+        return drawProbability;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("win=%.4f loss=%.4f draw=%.4f", winProbability, lossProbability, drawProbability);
+    }
+}
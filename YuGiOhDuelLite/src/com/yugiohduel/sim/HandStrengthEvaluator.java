@@ -0,0 +1,247 @@
+package com.yugiohduel.sim;
+
+import com.yugiohduel.catalog.CardCatalog;
+import com.yugiohduel.game.Duel;
+import com.yugiohduel.model.Card;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Calcula sin simular la probabilidad de ganar un duelo con una mano dada
+ * contra un rival que recibe cartas al azar del mismo conjunto y que, como
+ * en {@link DuelSimulator}, elige al azar qué jugar. Modela las reglas
+ * clásicas ({@link com.yugiohduel.rules.RuleSet#CLASSIC}): gana el mayor ATK.
+ *
+ * Como las cartas del rival son independientes, cada carta de la mano se
+ * enfrenta a un ATK tomado al azar del conjunto: gana con probabilidad
+ * (cartas con menos ATK) / n y pierde con (cartas con más ATK) / n, dos
+ * búsquedas binarias sobre los ATK ordenados. Si la mano no tiene más de
+ * 2 * puntaje - 1 cartas, los dos no pueden llegar al puntaje a la vez, así
+ * que el orden de los turnos no importa y el resultado sale de contar
+ * victorias y derrotas con programación dinámica.
+ */
+public class HandStrengthEvaluator {
+    private final Card[] cardsByAtk;
+    private final int[] sortedAtk;
+    private final int winningScore;
+
+    public HandStrengthEvaluator(List<Card> cardPool) {
+        this(cardPool, Duel.WINNING_SCORE);
+    }
+
+    /**
+     * @param cardPool Cartas de las que se reparten las manos
+     * @param winningScore Rondas ganadas necesarias para ganar el duelo
+     */
+    public HandStrengthEvaluator(List<Card> cardPool, int winningScore) {
+        if (cardPool.isEmpty()) {
+            throw new IllegalArgumentException("El conjunto de cartas está vacío");
+        }
+        if (winningScore < 1) {
+            throw new IllegalArgumentException("El puntaje para ganar debe ser positivo: " + winningScore);
+        }
+        this.cardsByAtk = cardPool.toArray(new Card[0]);
+        Arrays.sort(cardsByAtk, (a, b) -> Integer.compare(a.getAtk(), b.getAtk()));
+        this.sortedAtk = new int[cardsByAtk.length];
+        for (int i = 0; i < sortedAtk.length; i++) {
+            sortedAtk[i] = cardsByAtk[i].getAtk();
+        }
+        this.winningScore = winningScore;
+    }
+
+    /**
+     * Construye el evaluador sobre los monstruos de un catálogo
+     */
+    public static HandStrengthEvaluator of(CardCatalog catalog) {
+        return new HandStrengthEvaluator(catalog.getMonsters());
+    }
+
+    /**
+     * Probabilidades del duelo con una mano
+     */
+    public HandStrength evaluate(List<Card> hand) {
+        int[] atk = new int[hand.size()];
+        for (int i = 0; i < atk.length; i++) {
+            atk[i] = hand.get(i).getAtk();
+        }
+        return evaluate(atk);
+    }
+
+    /**
+     * Probabilidades del duelo con una mano dada por los ATK de sus cartas
+     */
+    public HandStrength evaluate(int... handAtk) {
+        checkHandSize(handAtk.length);
+        double[] wins = new double[handAtk.length];
+        double[] losses = new double[handAtk.length];
+        for (int i = 0; i < handAtk.length; i++) {
+            wins[i] = winShare(handAtk[i]);
+            losses[i] = lossShare(handAtk[i]);
+        }
+        return combine(wins, losses);
+    }
+
+    /**
+     * Probabilidades de un turno con una carta de ese ATK: {gana, pierde, empata}
+     */
+    public double[] turnOdds(int atk) {
+        double win = winShare(atk);
+        double loss = lossShare(atk);
+        return new double[]{win, loss, 1 - win - loss};
+    }
+
+    private double winShare(int atk) {
+        return lowerBound(atk) / (double) sortedAtk.length;
+    }
+
+    private double lossShare(int atk) {
+        return (sortedAtk.length - lowerBound(atk + 1L)) / (double) sortedAtk.length;
+    }
+
+    /**
+     * Probabilidades de una mano repartida al azar, como en {@link DuelSimulator}.
+     * Ambos ATK son del mismo conjunto, así que ganar y perder un turno son
+     * igual de probables y solo hay que contar los empates.
+     */
+    public HandStrength averageHand(int handSize) {
+        checkHandSize(handSize);
+        double n = sortedAtk.length;
+        double tie = 0;
+        for (int from = 0; from < sortedAtk.length; ) {
+            int to = lowerBound(sortedAtk[from] + 1L);
+            double share = (to - from) / n;
+            tie += share * share;
+            from = to;
+        }
+        double[] wins = new double[handSize];
+        double[] losses = new double[handSize];
+        Arrays.fill(wins, (1 - tie) / 2);
+        Arrays.fill(losses, (1 - tie) / 2);
+        return combine(wins, losses);
+    }
+
+    /**
+     * Mano con mayor probabilidad de ganar: las cartas de mayor ATK
+     */
+    public List<Card> bestHand(int handSize) {
+        checkHandSize(handSize);
+        List<Card> hand = new ArrayList<>(handSize);
+        for (int i = 0; i < handSize; i++) {
+            hand.add(cardsByAtk[cardsByAtk.length - 1 - (i % cardsByAtk.length)]);
+        }
+        return hand;
+    }
+
+    /**
+     * Mano con menor probabilidad de ganar: las cartas de menor ATK
+     */
+    public List<Card> worstHand(int handSize) {
+        checkHandSize(handSize);
+        List<Card> hand = new ArrayList<>(handSize);
+        for (int i = 0; i < handSize; i++) {
+            hand.add(cardsByAtk[i % cardsByAtk.length]);
+        }
+        return hand;
+    }
+
+    /**
+     * Fracción de cartas del conjunto con menos ATK que la dada
+     */
+    public double percentile(int atk) {
+        return winShare(atk);
+    }
+
+    // Getters
+    public int poolSize() {
+        return sortedAtk.length;
+    }
+
+    public int getWinningScore() {
+        return winningScore;
+    }
+
+    private void checkHandSize(int handSize) {
+        if (handSize < 1 || handSize > 2 * winningScore - 1) {
+            throw new IllegalArgumentException("La mano debe tener entre 1 y " + (2 * winningScore - 1)
+                    + " cartas para que el orden de los turnos no importe: " + handSize);
+        }
+    }
+
+    /**
+     * Distribución de (victorias, derrotas) tras jugar todas las cartas.
+     * Con ambos conteos por debajo del puntaje, el duelo termina en empate.
+     */
+    private HandStrength combine(double[] wins, double[] losses) {
+        int cards = wins.length;
+        int side = cards + 1;
+        // dp[w * side + l]: probabilidad de llevar w victorias y l derrotas
+        double[] dp = new double[side * side];
+        dp[0] = 1;
+        for (int c = 0; c < cards; c++) {
+            double draw = 1 - wins[c] - losses[c];
+            // Se recorre de mayor a menor para actualizar en el mismo arreglo
+            for (int w = c; w >= 0; w--) {
+                for (int l = c - w; l >= 0; l--) {
+                    double p = dp[w * side + l];
+                    dp[(w + 1) * side + l] += p * wins[c];
+                    dp[w * side + l + 1] += p * losses[c];
+                    dp[w * side + l] = p * draw;
+                }
+            }
+        }
+
+        double win = 0;
+        double loss = 0;
+        for (int w = 0; w <= cards; w++) {
+            for (int l = 0; w + l <= cards; l++) {
+                if (w >= winningScore) {
+                    win += dp[w * side + l];
+                } else if (l >= winningScore) {
+                    loss += dp[w * side + l];
+                }
+            }
+        }
+        return new HandStrength(win, loss, Math.max(0, 1 - win - loss));
+    }
+
+    /**
+     * Primera posición con ATK >= key
+     */
+    private int lowerBound(long key) {
+        int low = 0;
+        int high = sortedAtk.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedAtk[mid] < key) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Evalúa una mano desde la línea de comandos usando el catálogo local
+     * Uso: HandStrengthEvaluator [ATK de cada carta...]
+     */
+    public static void main(String[] args) throws Exception {
+        HandStrengthEvaluator evaluator = of(CardCatalog.load(CardCatalog.defaultPath()));
+
+        System.out.println("Monsters in pool: " + evaluator.poolSize());
+        System.out.println("Random hand: " + evaluator.averageHand(Duel.HAND_SIZE));
+        System.out.println("Best hand:   " + evaluator.evaluate(evaluator.bestHand(Duel.HAND_SIZE))
+                + " " + evaluator.bestHand(Duel.HAND_SIZE));
+        System.out.println("Worst hand:  " + evaluator.evaluate(evaluator.worstHand(Duel.HAND_SIZE))
+                + " " + evaluator.worstHand(Duel.HAND_SIZE));
+        if (args.length > 0) {
+            int[] atk = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                atk[i] = Integer.parseInt(args[i]);
+            }
+            System.out.println("Hand " + Arrays.toString(atk) + ": " + evaluator.evaluate(atk));
+        }
+    }
+}
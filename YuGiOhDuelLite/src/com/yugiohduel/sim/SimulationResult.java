@@ -0,0 +1,81 @@
+package com.yugiohduel.sim;
+
+/**
+ * Resultados agregados de una simulación de duelos
+ */
+public class SimulationResult {
+    private final long duels;
+    private final long playerWins;
+    private final long aiWins;
+    private final long draws;
+    private final long totalTurns;
+    private final long elapsedNanos;
+
+    public SimulationResult(long duels, long playerWins, long aiWins, long draws,
+                            long totalTurns, long elapsedNanos) {
+        this.duels = duels;
+        this.playerWins = playerWins;
+        this.aiWins = aiWins;
+        this.draws = draws;
+        this.totalTurns = totalTurns;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    // Getters
+    public long getDuels() {
+        return duels;
+    }
+
+    public long getPlayerWins() {
+        return playerWins;
+    }
+
+    public long getAiWins() {
+        return aiWins;
+    }
+
+    public long getDraws() {
+        return draws;
+    }
+
+    public long getTotalTurns() {
+        return totalTurns;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getPlayerWinRate() {
+        return rate(playerWins);
+    }
+
+    public double getAiWinRate() {
+        return rate(aiWins);
+    }
+
+    /**
+     * Frecuencia de duelos que terminan sin ganador al agotarse las cartas
+     */
+    public double getDrawRate() {
+        return rate(draws);
+    }
+
+    public double getAverageTurns() {
+        return duels == 0 ? 0 : (double) totalTurns / duels;
+    }
+
+    public double getDuelsPerSecond() {
+        return elapsedNanos == 0 ? 0 : duels * 1e9 / elapsedNanos;
+    }
+
+    private double rate(long count) {
+        return duels == 0 ? 0 : (double) count / duels;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("duels=%d player=%.4f ai=%.4f draw=%.4f avgTurns=%.3f throughput=%.0f duels/s",
+                duels, getPlayerWinRate(), getAiWinRate(), getDrawRate(), getAverageTurns(), getDuelsPerSecond());
+    }
+}
@@ -0,0 +1,109 @@
+package com.yugiohduel.ui;
+
+import javax.swing.JTextArea;
+import javax.swing.Timer;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.Element;
+import java.awt.Font;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Log de batalla acotado con actualizaciones agrupadas en el EDT.
+ * Los productores encolan texto sin bloqueos en un {@link LogRingBuffer};
+ * como mucho una vez por frame el EDT drena todo lo pendiente y lo agrega
+ * al documento en un único append. El documento conserva solo las últimas
+ * líneas, así la memoria no crece en sesiones largas.
+ */
+public class BattleLog {
+    private static final int FRAME_MILLIS = 16;
+    private static final int PENDING_CAPACITY = 1024;
+    private static final int DEFAULT_MAX_LINES = 2000;
+
+    private final JTextArea textArea;
+    private final LogRingBuffer pending = new LogRingBuffer(PENDING_CAPACITY);
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Timer flushTimer;
+    private final StringBuilder batch = new StringBuilder();
+    private final int maxLines;
+
+    public BattleLog(int rows, int columns) {
+        this(rows, columns, DEFAULT_MAX_LINES);
+    }
+
+    /**
+     * @param rows Filas visibles
+     * @param columns Columnas visibles
+     * @param maxLines Líneas máximas que conserva el documento
+     */
+    public BattleLog(int rows, int columns, int maxLines) {
+        this.maxLines = maxLines;
+        this.textArea = new JTextArea(rows, columns);
+        this.textArea.setEditable(false);
+        this.textArea.setFont(new Font("Monospaced", Font.PLAIN, 12));
+
+        this.flushTimer = new Timer(FRAME_MILLIS, e -> flush());
+        this.flushTimer.setRepeats(false);
+    }
+
+    public JTextArea getComponent() {
+        return textArea;
+    }
+
+    /**
+     * Agrega texto al log. Se puede llamar desde cualquier hilo.
+     */
+    public void append(String text) {
+        pending.offer(text);
+        if (flushScheduled.compareAndSet(false, true)) {
+            // Timer.start es seguro fuera del EDT; la acción siempre corre en el EDT
+            flushTimer.start();
+        }
+    }
+
+    /**
+     * Borra el log y descarta lo pendiente. Debe llamarse desde el EDT.
+     */
+    public void clear() {
+        pending.drain(entry -> { });
+        pending.takeDropped();
+        textArea.setText("");
+    }
+
+    /**
+     * Drena todo lo pendiente en un único append y recorta el documento
+     */
+    private void flush() {
+        flushScheduled.set(false);
+
+        batch.setLength(0);
+        pending.drain(batch::append);
+        long dropped = pending.takeDropped();
+        if (dropped > 0) {
+            batch.append("... ").append(dropped).append(" log entries dropped ...\n");
+        }
+        if (batch.length() == 0) {
+            return;
+        }
+
+        textArea.append(batch.toString());
+        trimToMaxLines();
+        textArea.setCaretPosition(textArea.getDocument().getLength());
+    }
+
+    private void trimToMaxLines() {
+        Document document = textArea.getDocument();
+        Element root = document.getDefaultRootElement();
+        int excess = root.getElementCount() - maxLines;
+        if (excess <= 0) {
+            return;
+        }
+
+        try {
+            document.remove(0, root.getElement(excess - 1).getEndOffset());
+        } catch (BadLocationException e) {
+            // No ocurre: el rango proviene del propio documento
+            throw new IllegalStateException(e);
+        }
+    }
+}
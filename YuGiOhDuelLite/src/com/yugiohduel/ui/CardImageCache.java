@@ -0,0 +1,337 @@
+package com.yugiohduel.ui;
+
+import com.yugiohduel.api.RateLimitedException;
+import com.yugiohduel.api.RequestScheduler;
+import com.yugiohduel.api.RequestScheduler.Priority;
+import com.yugiohduel.api.TransportConfig;
+import com.yugiohduel.metrics.Metrics;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Caché de imágenes de cartas en dos niveles, indexada por la URL de la imagen:
+ * - Memoria: miniaturas ya decodificadas y escaladas, en un LRU acotado por bytes.
+ * - Disco: bytes originales codificados, con expulsión por presupuesto de bytes.
+ * Una carta repetida se muestra sin coste de red ni de decodificación.
+ * Las descargas pasan por un {@link RequestScheduler}, que fusiona las
+ * descargas simultáneas de una misma URL. Cada descarga tiene los tiempos
+ * máximos de {@link TransportConfig}: un servidor de imágenes colgado no
+ * puede quedarse con un cupo del planificador.
+ */
+public class CardImageCache {
+    public static final int THUMBNAIL_SIZE = 140;
+
+    private static final long DEFAULT_MEMORY_BYTES = 16L * 1024 * 1024;
+    private static final long DEFAULT_DISK_BYTES = 64L * 1024 * 1024;
+    private static final String FILE_SUFFIX = ".img";
+
+    private final LinkedHashMap<String, BufferedImage> memory = new LinkedHashMap<>(64, 0.75f, true);
+    private final long maxMemoryBytes;
+    private long memoryBytes;
+
+    private final Object diskLock = new Object();
+    private final Path diskDirectory;
+    private final long maxDiskBytes;
+    private long diskBytes = -1;
+
+    private final RequestScheduler scheduler;
+    private final int connectTimeoutMillis;
+    private final long requestTimeoutMillis;
+
+    public CardImageCache() {
+        this(Paths.get(System.getProperty("user.home"), ".yugiohduel", "images"),
+                DEFAULT_MEMORY_BYTES, DEFAULT_DISK_BYTES, RequestScheduler.shared());
+    }
+
+    public CardImageCache(Path diskDirectory, long maxMemoryBytes, long maxDiskBytes, RequestScheduler scheduler) {
+        this(diskDirectory, maxMemoryBytes, maxDiskBytes, scheduler, TransportConfig.defaults());
+    }
+
+    /**
+     * @param diskDirectory Directorio de la caché en disco
+     * @param maxMemoryBytes Presupuesto de las miniaturas decodificadas
+     * @param maxDiskBytes Presupuesto de los archivos en disco
+     * @param scheduler Planificador de las descargas
+     * @param transportConfig Tiempos máximos de conexión y de descarga
+     */
+    public CardImageCache(Path diskDirectory, long maxMemoryBytes, long maxDiskBytes, RequestScheduler scheduler,
+                          TransportConfig transportConfig) {
+        this.diskDirectory = diskDirectory;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.maxDiskBytes = maxDiskBytes;
+        this.scheduler = scheduler;
+        this.connectTimeoutMillis = (int) transportConfig.getConnectTimeout().toMillis();
+        this.requestTimeoutMillis = transportConfig.getRequestTimeout().toMillis();
+    }
+
+    /**
+     * Obtiene la miniatura de una imagen, usando la caché siempre que sea posible
+     * @param imageUrl URL de la imagen de la carta
+     * @return Miniatura de {@value #THUMBNAIL_SIZE}x{@value #THUMBNAIL_SIZE}
+     * @throws IOException si no se puede descargar o decodificar la imagen
+     */
+    public BufferedImage getThumbnail(String imageUrl) throws IOException {
+        return getThumbnail(imageUrl, Priority.VISIBLE);
+    }
+
+    /**
+     * Como {@link #getThumbnail(String)}, con la prioridad indicada para la descarga
+     * @param imageUrl URL de la imagen de la carta
+     * @param priority VISIBLE para una carta en pantalla, PREFETCH para precarga
+     */
+    public BufferedImage getThumbnail(String imageUrl, Priority priority) throws IOException {
+        BufferedImage cached = getFromMemory(imageUrl);
+        if (cached != null) {
+            return cached;
+        }
+
+        long start = Metrics.startTimer();
+        byte[] encoded = readFromDisk(imageUrl);
+        if (encoded == null) {
+            encoded = awaitDownload(scheduler.submitBlocking(imageUrl, priority, () -> {
+                byte[] downloaded = download(imageUrl);
+                writeToDisk(imageUrl, downloaded);
+                return downloaded;
+            }));
+        }
+        Metrics.IMAGE_LOAD.recordSince(start);
+
+        start = Metrics.startTimer();
+        BufferedImage thumbnail = CardThumbnails.create(encoded, THUMBNAIL_SIZE, THUMBNAIL_SIZE);
+        Metrics.IMAGE_SCALE.recordSince(start);
+        putInMemory(imageUrl, thumbnail);
+        return thumbnail;
+    }
+
+    /**
+     * Descarga la imagen. El tiempo de lectura acota cada espera y el plazo
+     * de la petición acota la descarga completa, por si el servidor envía
+     * los bytes de a poco.
+     */
+    private byte[] download(String imageUrl) throws IOException {
+        long deadline = System.nanoTime() + requestTimeoutMillis * 1_000_000;
+        URLConnection connection = new URL(imageUrl).openConnection();
+        connection.setConnectTimeout(connectTimeoutMillis);
+        connection.setReadTimeout((int) requestTimeoutMillis);
+        if (connection instanceof HttpURLConnection) {
+            HttpURLConnection http = (HttpURLConnection) connection;
+            if (http.getResponseCode() == 429) {
+                http.disconnect();
+                throw new RateLimitedException(RateLimitedException.parseRetryAfter(
+                        http.getHeaderField("Retry-After")));
+            }
+        }
+        try (InputStream in = connection.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(connection.getContentLength(), 8192));
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = in.read(chunk)) >= 0) {
+                out.write(chunk, 0, read);
+                if (System.nanoTime() - deadline > 0) {
+                    throw new SocketTimeoutException("Descarga de imagen demasiado lenta: " + imageUrl);
+                }
+            }
+            return out.toByteArray();
+        }
+    }
+
+    private static byte[] awaitDownload(CompletableFuture<byte[]> download)
+            throws IOException {
+        try {
+            return download.get();
+        } catch (InterruptedException e) {
+            download.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Descarga de imagen interrumpida");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Error al descargar la imagen", e.getCause());
+        }
+    }
+
+    // Nivel en memoria
+
+    private BufferedImage getFromMemory(String imageUrl) {
+        synchronized (memory) {
+            return memory.get(imageUrl);
+        }
+    }
+
+    private void putInMemory(String imageUrl, BufferedImage thumbnail) {
+        synchronized (memory) {
+            putInMemoryLocked(imageUrl, thumbnail);
+        }
+    }
+
+    private void putInMemoryLocked(String imageUrl, BufferedImage thumbnail) {
+        BufferedImage previous = memory.put(imageUrl, thumbnail);
+        if (previous != null) {
+            memoryBytes -= sizeOf(previous);
+        }
+        memoryBytes += sizeOf(thumbnail);
+
+        // Expulsar las miniaturas menos usadas hasta volver al presupuesto
+        Iterator<Map.Entry<String, BufferedImage>> it = memory.entrySet().iterator();
+        while (memoryBytes > maxMemoryBytes && it.hasNext()) {
+            Map.Entry<String, BufferedImage> eldest = it.next();
+            if (eldest.getValue() == thumbnail) {
+                break;
+            }
+            memoryBytes -= sizeOf(eldest.getValue());
+            it.remove();
+        }
+    }
+
+    private static long sizeOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+
+    // Nivel en disco
+
+    private Path diskPath(String imageUrl) {
+        return diskDirectory.resolve(hash(imageUrl) + FILE_SUFFIX);
+    }
+
+    private byte[] readFromDisk(String imageUrl) {
+        synchronized (diskLock) {
+            return readFromDiskLocked(imageUrl);
+        }
+    }
+
+    private byte[] readFromDiskLocked(String imageUrl) {
+        Path file = diskPath(imageUrl);
+        try {
+            if (!Files.isRegularFile(file)) {
+                return null;
+            }
+            byte[] encoded = Files.readAllBytes(file);
+            // La fecha de modificación hace de marca de último uso para la expulsión
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return encoded;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private void writeToDisk(String imageUrl, byte[] encoded) {
+        synchronized (diskLock) {
+            writeToDiskLocked(imageUrl, encoded);
+        }
+    }
+
+    private void writeToDiskLocked(String imageUrl, byte[] encoded) {
+        if (encoded.length > maxDiskBytes) {
+            return;
+        }
+
+        try {
+            Files.createDirectories(diskDirectory);
+            if (diskBytes < 0) {
+                diskBytes = 0;
+                for (DiskEntry entry : listDiskEntries()) {
+                    diskBytes += entry.size;
+                }
+            }
+
+            Path file = diskPath(imageUrl);
+            Path temp = Files.createTempFile(diskDirectory, "img", ".part");
+            Files.write(temp, encoded);
+            long previousSize = Files.isRegularFile(file) ? Files.size(file) : 0;
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING);
+            diskBytes += encoded.length - previousSize;
+
+            evictFromDisk(file);
+        } catch (IOException e) {
+            // La caché en disco es opcional: un fallo solo implica volver a descargar
+        }
+    }
+
+    /**
+     * Borra los archivos usados hace más tiempo hasta volver al presupuesto
+     */
+    private void evictFromDisk(Path keep) throws IOException {
+        if (diskBytes <= maxDiskBytes) {
+            return;
+        }
+
+        List<DiskEntry> entries = listDiskEntries();
+        entries.sort((a, b) -> Long.compare(a.lastUsed, b.lastUsed));
+        for (DiskEntry entry : entries) {
+            if (diskBytes <= maxDiskBytes) {
+                break;
+            }
+            if (entry.path.equals(keep)) {
+                continue;
+            }
+            Files.deleteIfExists(entry.path);
+            diskBytes -= entry.size;
+        }
+    }
+
+    private List<DiskEntry> listDiskEntries() throws IOException {
+        List<DiskEntry> entries = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(diskDirectory, "*" + FILE_SUFFIX)) {
+            for (Path file : stream) {
+                entries.add(new DiskEntry(file, Files.size(file),
+                        Files.getLastModifiedTime(file).toMillis()));
+            }
+        }
+        return entries;
+    }
+
+    private static String hash(String imageUrl) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(imageUrl.getBytes(StandardCharsets.UTF_8));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(Character.forDigit((b >> 4) & 0xF, 16));
+                hex.append(Character.forDigit(b & 0xF, 16));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
+        }
+    }
+
+    /**
+     * Archivo de la caché en disco con su tamaño y último uso
+     */
+    private static class DiskEntry {
+        final Path path;
+        final long size;
+        final long lastUsed;
+
+        DiskEntry(Path path, long size, long lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
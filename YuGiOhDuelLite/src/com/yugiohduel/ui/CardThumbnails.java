@@ -0,0 +1,109 @@
+package com.yugiohduel.ui;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+/**
+ * Decodifica y escala imágenes de cartas a miniaturas ya rasterizadas.
+ * - El decodificador submuestrea la fuente, así nunca se materializa la imagen completa.
+ * - El resto de la reducción se hace en pasos bilineales de la mitad.
+ * - El resultado es una BufferedImage compatible con la pantalla, lista para pintar.
+ * Todo el trabajo ocurre en el hilo que llama, fuera del EDT.
+ */
+public final class CardThumbnails {
+
+    private CardThumbnails() {
+    }
+
+    /**
+     * Crea una miniatura a partir de los bytes codificados de una imagen
+     * @param encoded Bytes PNG/JPEG de la imagen
+     * @param width Ancho de la miniatura
+     * @param height Alto de la miniatura
+     * @return Miniatura rasterizada
+     * @throws IOException si el formato no es soportado o los datos están dañados
+     */
+    public static BufferedImage create(byte[] encoded, int width, int height) throws IOException {
+        BufferedImage decoded = decodeSubsampled(encoded, width, height);
+        return scaleProgressive(decoded, width, height);
+    }
+
+    /**
+     * Decodifica usando el submuestreo del ImageReader, dejando la imagen
+     * como mínimo al doble del tamaño destino para conservar calidad
+     */
+    static BufferedImage decodeSubsampled(byte[] encoded, int width, int height) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(encoded))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Formato de imagen no soportado");
+            }
+
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                int sourceWidth = reader.getWidth(0);
+                int sourceHeight = reader.getHeight(0);
+
+                int step = Math.max(1, Math.min(sourceWidth / (width * 2), sourceHeight / (height * 2)));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(step, step, 0, 0);
+                return reader.read(0, param);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Reduce a la mitad en cada paso con interpolación bilineal hasta el tamaño destino
+     */
+    static BufferedImage scaleProgressive(BufferedImage source, int width, int height) {
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+
+        do {
+            // Si la fuente ya es menor que el destino se amplía en un único paso
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+
+            BufferedImage next = createCompatible(currentWidth, currentHeight);
+            Graphics2D g = next.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                g.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+
+        return current;
+    }
+
+    /**
+     * Imagen opaca en el formato nativo de la pantalla, o RGB entero sin pantalla
+     */
+    private static BufferedImage createCompatible(int width, int height) {
+        if (!GraphicsEnvironment.isHeadless()) {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice()
+                    .getDefaultConfiguration();
+            return config.createCompatibleImage(width, height, Transparency.OPAQUE);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+    }
+}
@@ -0,0 +1,212 @@
+package com.yugiohduel.ui;
+
+import com.yugiohduel.model.Card;
+
+import java.awt.BasicStroke;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pinta cada carta (imagen, nombre, ATK/DEF y borde) en una imagen fuera de
+ * pantalla y la guarda en un LRU indexado por carta y estado de la imagen.
+ * En la ventana cada carta es entonces un único componente con un icono,
+ * sin subárbol de paneles y etiquetas que haya que maquetar, y repintarla
+ * es copiar la imagen.
+ *
+ * Se puede usar desde cualquier hilo; conviene renderizar fuera del EDT.
+ */
+public class CardTileRenderer {
+    public static final int TILE_WIDTH = 150;
+    public static final int TILE_HEIGHT = 210;
+
+    private static final int BORDER = 2;
+    private static final int IMAGE_TOP = 6;
+    private static final int NAME_LINES = 2;
+    private static final int DEFAULT_MAX_TILES = 64;
+
+    private static final Font NAME_FONT = new Font("Arial", Font.BOLD, 12);
+    private static final Font STATS_FONT = new Font("Arial", Font.PLAIN, 12);
+    private static final Font PLACEHOLDER_FONT = new Font("Arial", Font.ITALIC, 12);
+    private static final Color BACKGROUND = new Color(0xEE, 0xEE, 0xEE);
+    private static final Color IMAGE_BACKGROUND = new Color(0xD0, 0xD0, 0xD0);
+
+    /**
+     * Estado de la imagen de la carta al renderizar la loseta
+     */
+    public enum ImageState {
+        LOADING, READY, ERROR
+    }
+
+    private final LinkedHashMap<String, BufferedImage> tiles;
+
+    public CardTileRenderer() {
+        this(DEFAULT_MAX_TILES);
+    }
+
+    /**
+     * @param maxTiles Losetas que se guardan antes de expulsar la menos usada
+     */
+    public CardTileRenderer(int maxTiles) {
+        this.tiles = new LinkedHashMap<String, BufferedImage>(maxTiles, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+                return size() > maxTiles;
+            }
+        };
+    }
+
+    /**
+     * Loseta de la carta mientras su imagen se está cargando
+     */
+    public BufferedImage placeholder(Card card) {
+        return render(card, null, ImageState.LOADING);
+    }
+
+    /**
+     * Loseta de la carta cuando no se pudo obtener su imagen
+     */
+    public BufferedImage failed(Card card) {
+        return render(card, null, ImageState.ERROR);
+    }
+
+    /**
+     * Loseta de la carta con su miniatura
+     * @param thumbnail Miniatura de {@value CardImageCache#THUMBNAIL_SIZE} px de lado
+     */
+    public BufferedImage withImage(Card card, BufferedImage thumbnail) {
+        return render(card, thumbnail, ImageState.READY);
+    }
+
+    /**
+     * Losetas de una mano completa, todas en el mismo estado de carga
+     */
+    public List<BufferedImage> placeholders(List<Card> hand) {
+        List<BufferedImage> result = new ArrayList<>(hand.size());
+        for (Card card : hand) {
+            result.add(placeholder(card));
+        }
+        return result;
+    }
+
+    private BufferedImage render(Card card, BufferedImage thumbnail, ImageState state) {
+        String key = key(card, state);
+        synchronized (tiles) {
+            BufferedImage cached = tiles.get(key);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // Se pinta fuera del lock; si dos hilos pintan la misma carta gana el último
+        BufferedImage tile = paint(card, thumbnail, state);
+        synchronized (tiles) {
+            tiles.put(key, tile);
+        }
+        return tile;
+    }
+
+    private static String key(Card card, ImageState state) {
+        return card.getId() + ":" + card.getName() + ":" + state.ordinal();
+    }
+
+    private static BufferedImage paint(Card card, BufferedImage thumbnail, ImageState state) {
+        BufferedImage tile = new BufferedImage(TILE_WIDTH, TILE_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = tile.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g.setColor(BACKGROUND);
+            g.fillRect(0, 0, TILE_WIDTH, TILE_HEIGHT);
+
+            // Imagen o texto provisional
+            int size = CardImageCache.THUMBNAIL_SIZE;
+            int imageLeft = (TILE_WIDTH - size) / 2;
+            if (thumbnail != null) {
+                g.drawImage(thumbnail, imageLeft, IMAGE_TOP, size, size, null);
+            } else {
+                g.setColor(IMAGE_BACKGROUND);
+                g.fillRect(imageLeft, IMAGE_TOP, size, size);
+                g.setColor(Color.DARK_GRAY);
+                g.setFont(PLACEHOLDER_FONT);
+                drawCentered(g, state == ImageState.ERROR ? "Image error" : "Loading...",
+                        IMAGE_TOP + size / 2 + g.getFontMetrics().getAscent() / 2);
+            }
+
+            // Nombre en hasta dos líneas y estadísticas
+            g.setColor(Color.BLACK);
+            g.setFont(NAME_FONT);
+            FontMetrics nameMetrics = g.getFontMetrics();
+            int baseline = IMAGE_TOP + size + 4 + nameMetrics.getAscent();
+            for (String line : wrap(card.getName(), nameMetrics, TILE_WIDTH - 4 * BORDER)) {
+                drawCentered(g, line, baseline);
+                baseline += nameMetrics.getHeight();
+            }
+
+            g.setFont(STATS_FONT);
+            drawCentered(g, "ATK:" + card.getAtk() + " / DEF:" + card.getDef(),
+                    TILE_HEIGHT - BORDER - 4 - g.getFontMetrics().getDescent());
+
+            g.setStroke(new BasicStroke(BORDER));
+            g.drawRect(BORDER / 2, BORDER / 2, TILE_WIDTH - BORDER, TILE_HEIGHT - BORDER);
+        } finally {
+            g.dispose();
+        }
+        return tile;
+    }
+
+    private static void drawCentered(Graphics2D g, String text, int baseline) {
+        int width = g.getFontMetrics().stringWidth(text);
+        g.drawString(text, (TILE_WIDTH - width) / 2, baseline);
+    }
+
+    /**
+     * Parte el nombre por palabras en {@value #NAME_LINES} líneas como máximo,
+     * recortando la última con "..." si no entra
+     */
+    static List<String> wrap(String text, FontMetrics metrics, int maxWidth) {
+        List<String> lines = new ArrayList<>(NAME_LINES);
+        if (text == null || text.isEmpty()) {
+            return lines;
+        }
+
+        StringBuilder line = new StringBuilder();
+        String[] words = text.split(" ");
+        for (int i = 0; i < words.length; i++) {
+            String candidate = line.length() == 0 ? words[i] : line + " " + words[i];
+            if (metrics.stringWidth(candidate) <= maxWidth || line.length() == 0) {
+                line.setLength(0);
+                line.append(candidate);
+                continue;
+            }
+            if (lines.size() == NAME_LINES - 1) {
+                // Última línea: se agrega el resto y se recorta
+                line.append(' ').append(String.join(" ", Arrays.copyOfRange(words, i, words.length)));
+                break;
+            }
+            lines.add(ellipsize(line.toString(), metrics, maxWidth));
+            line.setLength(0);
+            line.append(words[i]);
+        }
+        lines.add(ellipsize(line.toString(), metrics, maxWidth));
+        return lines;
+    }
+
+    private static String ellipsize(String text, FontMetrics metrics, int maxWidth) {
+        if (metrics.stringWidth(text) <= maxWidth) {
+            return text;
+        }
+        int end = text.length();
+        while (end > 0 && metrics.stringWidth(text.substring(0, end) + "...") > maxWidth) {
+            end--;
+        }
+        return text.substring(0, end) + "...";
+    }
+}
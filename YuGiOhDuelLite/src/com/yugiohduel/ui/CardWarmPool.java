@@ -0,0 +1,241 @@
+package com.yugiohduel.ui;
+
+import com.yugiohduel.api.RequestScheduler.Priority;
+import com.yugiohduel.model.Card;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Reserva de cartas Monster listas para jugar, con la miniatura ya
+ * decodificada. Se rellena en segundo plano entre dos marcas: cuando lo
+ * disponible (listo o en camino) baja de la marca baja, se piden cartas
+ * hasta la marca alta como precarga ({@link Priority#PREFETCH}).
+ *
+ * {@link #take(int)} nunca espera: entrega lo que haya listo y dispara el
+ * relleno. Las cartas que falten se cargan como antes.
+ */
+public class CardWarmPool implements AutoCloseable {
+    private static final int WORKERS = 2;
+
+    /**
+     * Origen de cartas nuevas: el catálogo local o la API
+     */
+    public interface CardSource {
+        CompletableFuture<List<Card>> fetch(int count) throws Exception;
+    }
+
+    /**
+     * Carta de la reserva con su miniatura
+     */
+    public static final class ReadyCard {
+        private final Card card;
+        private final BufferedImage thumbnail;
+
+        ReadyCard(Card card, BufferedImage thumbnail) {
+            this.card = card;
+            this.thumbnail = thumbnail;
+        }
+
+        // Getters
+        public Card getCard() {
+            return card;
+        }
+
+        /**
+         * @return Miniatura decodificada, o null si la imagen no se pudo cargar
+         */
+        public BufferedImage getThumbnail() {
+            return thumbnail;
+        }
+    }
+
+    private final CardSource source;
+    private final CardImageCache imageCache;
+    private final int lowWatermark;
+    private final int highWatermark;
+    private final ExecutorService workers;
+
+    private final Object lock = new Object();
+    private final ArrayDeque<ReadyCard> ready = new ArrayDeque<>();
+    private int pending;
+    private boolean closed;
+    private long served;
+    private long missed;
+    private long failedBatches;
+
+    /**
+     * @param source Origen de las cartas
+     * @param imageCache Caché de donde salen las miniaturas
+     * @param lowWatermark Por debajo de esta cantidad se empieza a rellenar
+     * @param highWatermark Cantidad hasta la que se rellena
+     */
+    public CardWarmPool(CardSource source, CardImageCache imageCache, int lowWatermark, int highWatermark) {
+        if (lowWatermark < 1 || highWatermark < lowWatermark) {
+            throw new IllegalArgumentException("Marcas de la reserva no válidas");
+        }
+        this.source = source;
+        this.imageCache = imageCache;
+        this.lowWatermark = lowWatermark;
+        this.highWatermark = highWatermark;
+        this.workers = Executors.newFixedThreadPool(WORKERS, runnable -> {
+            Thread thread = new Thread(runnable, "card-warm-pool");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Empieza a llenar la reserva en segundo plano
+     */
+    public void start() {
+        refillIfNeeded();
+    }
+
+    /**
+     * Saca cartas listas sin esperar
+     * @param count Cartas que se quieren
+     * @return Hasta {@code count} cartas, menos (o ninguna) si la reserva no tiene suficientes
+     */
+    public List<ReadyCard> take(int count) {
+        List<ReadyCard> taken = new ArrayList<>(count);
+        synchronized (lock) {
+            while (taken.size() < count && !ready.isEmpty()) {
+                taken.add(ready.poll());
+            }
+            served += taken.size();
+            missed += count - taken.size();
+        }
+        refillIfNeeded();
+        return taken;
+    }
+
+    /**
+     * Pide cartas hasta la marca alta si lo disponible está por debajo de la baja.
+     * La petición sale en un hilo de la reserva, porque abrir el catálogo puede tardar
+     */
+    private void refillIfNeeded() {
+        int wanted;
+        synchronized (lock) {
+            if (closed || ready.size() + pending >= lowWatermark) {
+                return;
+            }
+            wanted = highWatermark - ready.size() - pending;
+            pending += wanted;
+        }
+        if (!execute(() -> fetchBatch(wanted))) {
+            release(wanted);
+        }
+    }
+
+    private void fetchBatch(int wanted) {
+        CompletableFuture<List<Card>> batch;
+        try {
+            batch = source.fetch(wanted);
+        } catch (Exception e) {
+            batch = CompletableFuture.failedFuture(e);
+        }
+
+        batch.whenComplete((cards, error) -> {
+            if (error != null) {
+                // Sin reintento inmediato: el próximo take() vuelve a intentarlo
+                synchronized (lock) {
+                    failedBatches++;
+                }
+                release(wanted);
+                return;
+            }
+            release(wanted - cards.size());
+            for (Card card : cards) {
+                if (!execute(() -> warm(card))) {
+                    release(1);
+                }
+            }
+        });
+    }
+
+    /**
+     * Decodifica la miniatura y deja la carta lista
+     */
+    private void warm(Card card) {
+        BufferedImage thumbnail = null;
+        try {
+            thumbnail = imageCache.getThumbnail(card.getImageUrl(), Priority.PREFETCH);
+        } catch (IOException e) {
+            // La carta sirve igual: la interfaz volverá a pedir la imagen al mostrarla
+        }
+        synchronized (lock) {
+            pending--;
+            if (!closed) {
+                ready.add(new ReadyCard(card, thumbnail));
+            }
+        }
+    }
+
+    private void release(int count) {
+        synchronized (lock) {
+            pending -= count;
+        }
+    }
+
+    private boolean execute(Runnable task) {
+        try {
+            workers.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            // Reserva cerrada
+            return false;
+        }
+    }
+
+    // Getters
+
+    /**
+     * Cartas listas en este momento
+     */
+    public int getReadyCount() {
+        synchronized (lock) {
+            return ready.size();
+        }
+    }
+
+    /**
+     * Cartas entregadas por take() desde la reserva
+     */
+    public long getServedCount() {
+        synchronized (lock) {
+            return served;
+        }
+    }
+
+    /**
+     * Cartas pedidas a take() que la reserva no tenía
+     */
+    public long getMissedCount() {
+        synchronized (lock) {
+            return missed;
+        }
+    }
+
+    public long getFailedBatchCount() {
+        synchronized (lock) {
+            return failedBatches;
+        }
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            ready.clear();
+        }
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,144 @@
+package com.yugiohduel.ui;
+
+import javax.swing.SwingUtilities;
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ámbito de las tareas en segundo plano de un duelo.
+ * Todas las cargas (cartas e imágenes) de un duelo se lanzan aquí; al empezar
+ * otro duelo se cancela el ámbito anterior, se interrumpen sus tareas y se
+ * descartan sus actualizaciones pendientes de la interfaz.
+ * Usa hilos virtuales cuando la JVM los ofrece y un pool acotado en JDK 11.
+ */
+public class DuelTaskScope {
+    private static final int FALLBACK_POOL_SIZE = 4;
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    /**
+     * Tarea en segundo plano que puede lanzar excepciones
+     */
+    public interface Task {
+        void run() throws Exception;
+    }
+
+    /**
+     * Manejador de errores de una tarea, invocado en el EDT
+     */
+    public interface ErrorHandler {
+        void onError(Exception error);
+    }
+
+    private final Semaphore permits;
+    private final Set<Future<?>> tasks = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    /**
+     * @param maxConcurrent Máximo de tareas de este duelo ejecutándose a la vez
+     */
+    public DuelTaskScope(int maxConcurrent) {
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    /**
+     * Lanza una tarea dentro del ámbito.
+     * @param task Trabajo a realizar
+     * @param onError Se ejecuta en el EDT si la tarea falla y el ámbito sigue activo
+     */
+    public void submit(Task task, ErrorHandler onError) {
+        FutureTask<Void> future = new FutureTask<Void>(() -> {
+            permits.acquire();
+            try {
+                if (!cancelled) {
+                    task.run();
+                }
+            } catch (InterruptedException e) {
+                // Interrumpida por cancel(): no hay nada que notificar
+            } catch (Exception e) {
+                if (onError != null) {
+                    runOnEdt(() -> onError.onError(e));
+                }
+            } finally {
+                permits.release();
+            }
+            return null;
+        }) {
+            @Override
+            protected void done() {
+                tasks.remove(this);
+            }
+        };
+
+        // Se registra antes de ejecutarla para que cancel() siempre la vea
+        tasks.add(future);
+        if (cancelled) {
+            future.cancel(true);
+            return;
+        }
+        EXECUTOR.execute(future);
+    }
+
+    /**
+     * Ejecuta una actualización en el EDT solo si el duelo sigue activo
+     */
+    public void runOnEdt(Runnable update) {
+        if (cancelled) {
+            return;
+        }
+        SwingUtilities.invokeLater(() -> {
+            if (!cancelled) {
+                update.run();
+            }
+        });
+    }
+
+    /**
+     * Cancela el ámbito: interrumpe las tareas en curso y descarta las pendientes
+     */
+    public void cancel() {
+        cancelled = true;
+        for (Future<?> future : tasks) {
+            future.cancel(true);
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Ejecutor de hilos virtuales (JDK 21+) o, si no existen, un pool acotado
+     * de hilos daemon con nombre
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            AtomicInteger counter = new AtomicInteger();
+            ThreadFactory threadFactory = r -> {
+                Thread thread = new Thread(r, "duel-loader-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    FALLBACK_POOL_SIZE, FALLBACK_POOL_SIZE,
+                    30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(),
+                    threadFactory);
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+}
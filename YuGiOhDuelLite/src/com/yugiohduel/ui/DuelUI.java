@@ -1,42 +1,86 @@
 package com.yugiohduel.ui;
 
+import com.yugiohduel.api.RequestScheduler.Priority;
 import com.yugiohduel.api.YgoApiClient;
+import com.yugiohduel.catalog.BinaryCardCatalog;
+import com.yugiohduel.catalog.CardCatalog;
+import com.yugiohduel.catalog.MonsterPool;
+import com.yugiohduel.event.BattleListenerAdapter;
+import com.yugiohduel.event.DuelEvent;
+import com.yugiohduel.event.DuelEventBus;
 import com.yugiohduel.game.BattleListener;
 import com.yugiohduel.game.Duel;
+import com.yugiohduel.game.ExpectimaxAiStrategy;
+import com.yugiohduel.metrics.Metrics;
 import com.yugiohduel.model.Card;
+import com.yugiohduel.replay.ReplayRecorder;
+import com.yugiohduel.replay.ReplayWriter;
+import com.yugiohduel.rules.RuleSet;
+import com.yugiohduel.ui.CardWarmPool.ReadyCard;
 
-import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
 import java.awt.image.BufferedImage;
-import java.net.URL;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Interfaz gráfica principal del juego Yu-Gi-Oh! Duel Lite
+ * Interfaz gráfica principal del juego Yu-Gi-Oh! Duel Lite.
+ * Escucha los duelos por un {@link DuelEventBus} con dos consumidores en
+ * hilos propios: la propia ventana (log, puntajes y final) y la grabación
+ * de repeticiones, así ninguno frena el turno.
  */
 public class DuelUI extends JFrame implements BattleListener {
 
     // Componentes principales
     private JPanel playerCardsPanel;
     private JPanel aiCardsPanel;
-    private JTextArea battleLog;
+    private BattleLog battleLog;
     private JLabel playerScoreLabel;
     private JLabel aiScoreLabel;
+    private JLabel playerLifeLabel;
+    private JLabel aiLifeLabel;
     private JButton startButton;
     private JLabel statusLabel;
 
     // Lógica del juego
+    private final RuleSet rules = RuleSet.configured();
+    private final int cardsPerPlayer = rules.getHandSize();
+    private final int cardsPerDuel = cardsPerPlayer * 2;
     private YgoApiClient apiClient;
+    private final CardImageCache imageCache = new CardImageCache();
+    private final CardTileRenderer tileRenderer = new CardTileRenderer();
+    private final CardWarmPool warmPool;
+    private volatile MonsterPool catalog;
+    private final AtomicBoolean catalogDownloadStarted = new AtomicBoolean();
+    private final Random random = new Random();
     private Duel duel;
+    // Una sola IA para todos los duelos: sus tablas ocupan más de 1 MB y se reutilizan. Solo se usa en el EDT
+    private final ExpectimaxAiStrategy aiStrategy = new ExpectimaxAiStrategy();
+    private final DuelEventBus eventBus = new DuelEventBus();
+    private volatile ActiveReplay activeReplay;
+    // Solo lo usa el consumidor de repeticiones
+    private ReplayWriter replayWriter;
+    private DuelTaskScope duelScope;
     private List<JButton> cardButtons;
 
+    private static final int MAX_CONCURRENT_LOADS = 4;
+
     public DuelUI() {
         apiClient = new YgoApiClient();
         cardButtons = new ArrayList<>();
+        // Siempre hay al menos dos duelos listos; se rellena hasta cuatro
+        warmPool = new CardWarmPool(this::fetchWarmCards, imageCache, cardsPerDuel * 2, cardsPerDuel * 4);
 
         initializeUI();
+        eventBus.subscribe("duel-ui-events", new BattleListenerAdapter(this));
+        eventBus.subscribe("duel-replay", this::recordReplay);
+        warmPool.start();
     }
 
     /**
@@ -58,16 +102,17 @@ public class DuelUI extends JFrame implements BattleListener {
         aiScoreLabel.setFont(new Font("Arial", Font.BOLD, 16));
         topPanel.add(aiScoreLabel, BorderLayout.EAST);
 
+        aiLifeLabel = lifePointsLabel();
+        topPanel.add(aiLifeLabel, BorderLayout.WEST);
+
         add(topPanel, BorderLayout.NORTH);
 
         // Panel central: Log de batalla
         JPanel centerPanel = new JPanel(new BorderLayout());
         centerPanel.setBorder(BorderFactory.createTitledBorder("Battle Log"));
 
-        battleLog = new JTextArea(15, 40);
-        battleLog.setEditable(false);
-        battleLog.setFont(new Font("Monospaced", Font.PLAIN, 12));
-        JScrollPane scrollPane = new JScrollPane(battleLog);
+        battleLog = new BattleLog(15, 40);
+        JScrollPane scrollPane = new JScrollPane(battleLog.getComponent());
         scrollPane.setVerticalScrollBarPolicy(JScrollPane.VERTICAL_SCROLLBAR_ALWAYS);
 
         centerPanel.add(scrollPane, BorderLayout.CENTER);
@@ -83,6 +128,9 @@ public class DuelUI extends JFrame implements BattleListener {
         playerScoreLabel.setFont(new Font("Arial", Font.BOLD, 16));
         bottomPanel.add(playerScoreLabel, BorderLayout.EAST);
 
+        playerLifeLabel = lifePointsLabel();
+        bottomPanel.add(playerLifeLabel, BorderLayout.WEST);
+
         add(bottomPanel, BorderLayout.SOUTH);
 
         // Panel de control
@@ -102,135 +150,261 @@ public class DuelUI extends JFrame implements BattleListener {
         setLocationRelativeTo(null);
     }
 
+    /**
+     * Etiqueta de puntos de vida; solo se muestra si las reglas los usan
+     */
+    private JLabel lifePointsLabel() {
+        JLabel label = new JLabel("LP: " + rules.getLifePoints());
+        label.setFont(new Font("Arial", Font.BOLD, 16));
+        label.setVisible(rules.hasLifePoints());
+        return label;
+    }
+
     /**
      * Inicia el duelo cargando cartas desde la API
      */
     private void startDuel() {
+        long clickedAt = Metrics.startTimer();
+
+        // Cancelar las cargas pendientes del duelo anterior antes de limpiar
+        if (duelScope != null) {
+            duelScope.cancel();
+        }
+
         startButton.setEnabled(false);
         statusLabel.setText("Loading cards...");
-        battleLog.setText("=== NEW DUEL STARTED ===\n");
+        battleLog.clear();
+        battleLog.append("=== NEW DUEL STARTED ===\n");
+        onLifePointsChanged(rules.getLifePoints(), rules.getLifePoints());
 
         // Limpiar paneles
         playerCardsPanel.removeAll();
         aiCardsPanel.removeAll();
         cardButtons.clear();
 
-        // Crear nuevo duelo
-        duel = new Duel();
-        duel.setBattleListener(this);
+        DuelTaskScope scope = new DuelTaskScope(MAX_CONCURRENT_LOADS);
+        duelScope = scope;
 
-        // Cargar cartas en un hilo separado para no bloquear la UI
-        new Thread(() -> {
-            try {
-                loadCards();
-
-                SwingUtilities.invokeLater(() -> {
-                    statusLabel.setText("Select a card to play!");
-                    appendLog("All cards loaded. Choose your card!\n");
-                });
-
-            } catch (Exception ex) {
-                SwingUtilities.invokeLater(() -> {
-                    statusLabel.setText("Error loading cards");
-                    appendLog("ERROR: " + ex.getMessage() + "\n");
-                    startButton.setEnabled(true);
-                    JOptionPane.showMessageDialog(this,
-                            "Failed to load cards: " + ex.getMessage(),
-                            "Error",
-                            JOptionPane.ERROR_MESSAGE);
-                });
-            }
-        }).start();
+        // Crear nuevo duelo con semilla conocida para la repetición
+        long duelSeed = random.nextLong();
+        Duel newDuel = new Duel(new Random(duelSeed), rules);
+        newDuel.setAiStrategy(aiStrategy);
+        newDuel.setEventBus(eventBus);
+        duel = newDuel;
+
+        // Cargar cartas en segundo plano para no bloquear la UI
+        scope.submit(() -> {
+            loadCards(scope, newDuel, duelSeed, clickedAt);
+
+            scope.runOnEdt(() -> {
+                statusLabel.setText("Select a card to play!");
+                appendLog("All cards loaded. Choose your card!\n");
+            });
+        }, ex -> {
+            statusLabel.setText("Error loading cards");
+            appendLog("ERROR: " + ex.getMessage() + "\n");
+            startButton.setEnabled(true);
+            JOptionPane.showMessageDialog(this,
+                    "Failed to load cards: " + ex.getMessage(),
+                    "Error",
+                    JOptionPane.ERROR_MESSAGE);
+        });
     }
 
     /**
-     * Carga 3 cartas para cada jugador desde la API
+     * Carga las cartas de cada jugador según las reglas. Primero se toman de la reserva de
+     * cartas ya listas; las que falten salen del catálogo local si existe
+     * o de la API en un único lote concurrente.
      */
-    private void loadCards() throws Exception {
-        appendLog("Loading player cards...\n");
-        for (int i = 0; i < 3; i++) {
-            Card card = apiClient.getRandomMonsterCard();
-            duel.addPlayerCard(card);
-
-            SwingUtilities.invokeLater(() -> {
-                addCardToPanel(card, playerCardsPanel, true);
-            });
+    private void loadCards(DuelTaskScope scope, Duel targetDuel, long seed, long clickedAt) throws Exception {
+        appendLog(scope, "Loading cards...\n");
+        List<ReadyCard> cards = new ArrayList<>(warmPool.take(cardsPerDuel));
+        if (cards.size() < cardsPerDuel) {
+            for (Card card : nextCards(scope, cardsPerDuel - cards.size())) {
+                cards.add(new ReadyCard(card, null));
+            }
+        } else {
+            appendLog(scope, "Using preloaded cards\n");
+        }
+
+        List<ReadyCard> playerHand = cards.subList(0, cardsPerPlayer);
+        List<ReadyCard> aiHand = cards.subList(cardsPerPlayer, cardsPerDuel);
+
+        appendLog(scope, "Player cards:\n");
+        for (int i = 0; i < cardsPerPlayer; i++) {
+            Card card = playerHand.get(i).getCard();
+            targetDuel.addPlayerCard(card);
+            appendLog(scope, "Player card " + (i + 1) + ": " + card.toString() + "\n");
+        }
 
-            appendLog("Player card " + (i + 1) + ": " + card.toString() + "\n");
+        appendLog(scope, "\nAI cards:\n");
+        for (int i = 0; i < cardsPerPlayer; i++) {
+            Card card = aiHand.get(i).getCard();
+            targetDuel.addAiCard(card);
+            appendLog(scope, "AI card " + (i + 1) + ": " + card.toString() + "\n");
         }
 
-        appendLog("\nLoading AI cards...\n");
-        for (int i = 0; i < 3; i++) {
-            Card card = apiClient.getRandomMonsterCard();
-            duel.addAiCard(card);
+        // Las manos están completas: desde aquí se graban los turnos de este duelo
+        activeReplay = new ActiveReplay(targetDuel, new ReplayRecorder(seed,
+                targetDuel.getPlayerCards(), targetDuel.getAiCards(), rules));
+
+        // Las losetas se pintan aquí, fuera del EDT; el EDT solo agrega los componentes
+        List<BufferedImage> playerTiles = tiles(playerHand);
+        List<BufferedImage> aiTiles = tiles(aiHand);
+        scope.runOnEdt(() -> {
+            addHandToPanel(scope, playerHand, playerTiles, playerCardsPanel, true);
+            addHandToPanel(scope, aiHand, aiTiles, aiCardsPanel, false);
+            Metrics.DUEL_READY.recordSince(clickedAt);
+        });
 
-            SwingUtilities.invokeLater(() -> {
-                addCardToPanel(card, aiCardsPanel, false);
-            });
+        appendLog(scope, "\n=== DUEL IS READY! ===\n\n");
+    }
 
-            appendLog("AI card " + (i + 1) + ": " + card.toString() + "\n");
+    /**
+     * Loseta final para las cartas con miniatura, provisional para las demás
+     */
+    private List<BufferedImage> tiles(List<ReadyCard> hand) {
+        List<BufferedImage> tiles = new ArrayList<>(hand.size());
+        for (ReadyCard ready : hand) {
+            tiles.add(ready.getThumbnail() != null
+                    ? tileRenderer.withImage(ready.getCard(), ready.getThumbnail())
+                    : tileRenderer.placeholder(ready.getCard()));
         }
+        return tiles;
+    }
 
-        appendLog("\n=== DUEL IS READY! ===\n\n");
+    /**
+     * Origen de la reserva de cartas: el catálogo local o, sin él, la API como precarga
+     */
+    private CompletableFuture<List<Card>> fetchWarmCards(int count) {
+        MonsterPool localCatalog = obtainCatalog();
+        if (localCatalog != null) {
+            return CompletableFuture.completedFuture(localCatalog.randomMonsters(count, random));
+        }
+        downloadCatalogInBackground();
+        return apiClient.getRandomMonsterCards(count, Priority.PREFETCH);
     }
 
     /**
-     * Agrega una carta visual al panel especificado
+     * Obtiene cartas Monster aleatorias. Sin catálogo local se usa la API
+     * y se descarga el catálogo en segundo plano para las próximas partidas.
      */
-    private void addCardToPanel(Card card, JPanel panel, boolean isPlayer) {
-        JPanel cardPanel = new JPanel();
-        cardPanel.setLayout(new BoxLayout(cardPanel, BoxLayout.Y_AXIS));
-        cardPanel.setBorder(BorderFactory.createLineBorder(Color.BLACK, 2));
-        cardPanel.setPreferredSize(new Dimension(150, 250));
+    private List<Card> nextCards(DuelTaskScope scope, int count) throws Exception {
+        MonsterPool localCatalog = obtainCatalog();
+        if (localCatalog != null) {
+            appendLog(scope, "Using local card catalog (" + localCatalog.monsterCount() + " monsters)\n");
+            return localCatalog.randomMonsters(count, random);
+        }
 
-        // Cargar imagen en segundo plano
-        JLabel imageLabel = new JLabel("Loading...", SwingConstants.CENTER);
-        imageLabel.setPreferredSize(new Dimension(140, 140));
+        downloadCatalogInBackground();
+        return awaitCards(apiClient.getRandomMonsterCards(count));
+    }
 
-        new Thread(() -> {
+    /**
+     * Abre el catálogo desde disco la primera vez que está disponible.
+     * Se usa la versión binaria mapeada en memoria; si falta o es más vieja
+     * que el volcado JSON, se regenera a partir de este.
+     */
+    private MonsterPool obtainCatalog() {
+        if (catalog == null) {
             try {
-                URL url = new URL(card.getImageUrl());
-                BufferedImage img = ImageIO.read(url);
-                Image scaledImg = img.getScaledInstance(140, 140, Image.SCALE_SMOOTH);
-                SwingUtilities.invokeLater(() -> {
-                    imageLabel.setIcon(new ImageIcon(scaledImg));
-                    imageLabel.setText("");
-                });
+                catalog = BinaryCardCatalog.openOrConvert(CardCatalog.defaultPath());
             } catch (Exception e) {
-                SwingUtilities.invokeLater(() -> {
-                    imageLabel.setText("Image error");
-                });
+                appendLog("Could not read card catalog: " + e.getMessage() + "\n");
             }
-        }).start();
-
-        cardPanel.add(imageLabel);
+        }
+        return catalog;
+    }
 
-        // Información de la carta
-        JLabel nameLabel = new JLabel("<html><center>" + card.getName() + "</center></html>");
-        nameLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        cardPanel.add(nameLabel);
+    /**
+     * Descarga el volcado completo de cartas una única vez por sesión
+     */
+    private void downloadCatalogInBackground() {
+        if (!catalogDownloadStarted.compareAndSet(false, true)) {
+            return;
+        }
 
-        JLabel statsLabel = new JLabel("ATK:" + card.getAtk() + " / DEF:" + card.getDef());
-        statsLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
-        cardPanel.add(statsLabel);
+        Thread downloader = new Thread(() -> {
+            try {
+                apiClient.downloadCatalog(CardCatalog.defaultPath());
+            } catch (Exception e) {
+                appendLog("Card catalog download failed: " + e.getMessage() + "\n");
+            }
+        }, "catalog-download");
+        downloader.setDaemon(true);
+        downloader.start();
+    }
 
-        // Si es carta del jugador, agregar botón de selección
-        if (isPlayer) {
-            JButton selectButton = new JButton("Play");
-            selectButton.setAlignmentX(Component.CENTER_ALIGNMENT);
+    /**
+     * Espera el resultado de un lote de cartas, propagando la causa original del error
+     */
+    private static List<Card> awaitCards(CompletableFuture<List<Card>> future) throws Exception {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            // Duelo cancelado: el lote deja de encadenar nuevas peticiones
+            future.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception) {
+                throw (Exception) cause;
+            }
+            throw e;
+        }
+    }
 
-            int cardIndex = cardButtons.size();
-            selectButton.addActionListener(e -> playCard(cardIndex));
+    /**
+     * Agrega las cartas de una mano al panel con una sola pasada de layout.
+     * Cada carta es un único componente cuyo icono es la loseta pre-renderizada;
+     * cuando llega la miniatura se cambia la imagen del icono y solo se
+     * repinta esa carta, porque su tamaño no cambia. Las cartas de la reserva
+     * ya traen la miniatura y no cargan nada.
+     */
+    private void addHandToPanel(DuelTaskScope scope, List<ReadyCard> hand, List<BufferedImage> tiles,
+                                JPanel panel, boolean isPlayer) {
+        for (int i = 0; i < hand.size(); i++) {
+            Card card = hand.get(i).getCard();
+            ImageIcon icon = new ImageIcon(tiles.get(i));
+            JComponent tile;
+
+            // Si es carta del jugador, la loseta es el botón de selección
+            if (isPlayer) {
+                JButton selectButton = new JButton("Play", icon);
+                selectButton.setDisabledIcon(icon);
+                selectButton.setVerticalTextPosition(SwingConstants.BOTTOM);
+                selectButton.setHorizontalTextPosition(SwingConstants.CENTER);
+
+                int cardIndex = cardButtons.size();
+                selectButton.addActionListener(e -> playCard(cardIndex));
+
+                cardButtons.add(selectButton);
+                tile = selectButton;
+            } else {
+                tile = new JLabel(icon);
+            }
+            panel.add(tile);
+            if (hand.get(i).getThumbnail() != null) {
+                continue;
+            }
 
-            cardButtons.add(selectButton);
-            cardPanel.add(selectButton);
+            // Cargar imagen en segundo plano
+            scope.submit(() -> {
+                BufferedImage thumbnail = imageCache.getThumbnail(card.getImageUrl());
+                BufferedImage rendered = tileRenderer.withImage(card, thumbnail);
+                scope.runOnEdt(() -> updateTile(tile, icon, rendered));
+            }, e -> updateTile(tile, icon, tileRenderer.failed(card)));
         }
 
-        panel.add(cardPanel);
         panel.revalidate();
         panel.repaint();
     }
 
+    private static void updateTile(JComponent tile, ImageIcon icon, BufferedImage rendered) {
+        icon.setImage(rendered);
+        tile.repaint();
+    }
+
     /**
      * Ejecuta el turno con la carta seleccionada
      */
@@ -248,16 +422,61 @@ public class DuelUI extends JFrame implements BattleListener {
     }
 
     /**
-     * Agrega texto al log de batalla
+     * Agrega texto al log de batalla. Se puede llamar desde cualquier hilo;
+     * el log agrupa las líneas y las vuelca al EDT una vez por frame.
      */
     private void appendLog(String text) {
-        SwingUtilities.invokeLater(() -> {
+        battleLog.append(text);
+    }
+
+    /**
+     * Agrega texto al log solo si el duelo del ámbito sigue activo
+     */
+    private void appendLog(DuelTaskScope scope, String text) {
+        if (!scope.isCancelled()) {
             battleLog.append(text);
-            battleLog.setCaretPosition(battleLog.getDocument().getLength());
-        });
+        }
     }
 
-    // Implementación de BattleListener
+    /**
+     * Consumidor de repeticiones: graba los turnos del duelo en curso y lo
+     * guarda al terminar. Los eventos de duelos anteriores se ignoran.
+     * El grabador decide el final con el último turno; DUEL_ENDED solo llega
+     * después y se ignora si ya se guardó.
+     */
+    private void recordReplay(DuelEvent event, long sequence, boolean endOfBatch) {
+        ActiveReplay replay = activeReplay;
+        if (replay == null || replay.duel != event.getDuel() || replay.recorder.isFinished()) {
+            return;
+        }
+        if (event.getType() == DuelEvent.Type.TURN_RESOLVED) {
+            replay.recorder.recordTurn(event.getPlayerCard(), event.getAiCard(), event.getOutcome(),
+                    event.getPlayerLifePoints(), event.getAiLifePoints());
+        } else if (event.getType() == DuelEvent.Type.DUEL_ENDED) {
+            replay.recorder.finish(event.getOutcome());
+        }
+        if (replay.recorder.isFinished()) {
+            saveReplay(replay.recorder);
+        }
+    }
+
+    /**
+     * Agrega el duelo terminado al archivo de repeticiones.
+     * Se llama desde el consumidor de repeticiones; cada registro ocupa unas decenas de bytes.
+     */
+    private void saveReplay(ReplayRecorder recorder) {
+        try {
+            if (replayWriter == null) {
+                replayWriter = new ReplayWriter(ReplayWriter.defaultPath());
+            }
+            replayWriter.append(recorder.toRecord());
+            replayWriter.flush();
+        } catch (IOException e) {
+            appendLog("Could not save replay: " + e.getMessage() + "\n");
+        }
+    }
+
+    // Implementación de BattleListener (consumidor "duel-ui-events")
 
     @Override
     public void onTurn(String playerCard, String aiCard, String winner) {
@@ -275,6 +494,14 @@ public class DuelUI extends JFrame implements BattleListener {
         });
     }
 
+    @Override
+    public void onLifePointsChanged(int playerLifePoints, int aiLifePoints) {
+        SwingUtilities.invokeLater(() -> {
+            playerLifeLabel.setText("LP: " + playerLifePoints);
+            aiLifeLabel.setText("LP: " + aiLifePoints);
+        });
+    }
+
     @Override
     public void onDuelEnded(String winner) {
         appendLog("===================\n");
@@ -293,6 +520,19 @@ public class DuelUI extends JFrame implements BattleListener {
         });
     }
 
+    /**
+     * Duelo que se está grabando y su grabador
+     */
+    private static final class ActiveReplay {
+        final Duel duel;
+        final ReplayRecorder recorder;
+
+        ActiveReplay(Duel duel, ReplayRecorder recorder) {
+            this.duel = duel;
+            this.recorder = recorder;
+        }
+    }
+
     /**
      * Método main para iniciar la aplicación
      */
@@ -0,0 +1,104 @@
+package com.yugiohduel.ui;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * Buffer circular de capacidad fija para líneas de log.
+ * Varios productores encolan sin bloqueos; un único consumidor (el EDT)
+ * drena todo lo pendiente de una vez. Si el consumidor se retrasa, las
+ * entradas más antiguas se sobrescriben y se cuentan como descartadas,
+ * así la memoria nunca crece.
+ */
+class LogRingBuffer {
+    private static final long WRITING = -1;
+
+    private final int mask;
+    private final AtomicReferenceArray<String> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong head = new AtomicLong();
+
+    // Solo los usa el consumidor
+    private long tail;
+    private long dropped;
+
+    /**
+     * @param capacity Entradas máximas pendientes; se redondea a potencia de dos
+     */
+    LogRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1;
+        this.mask = size - 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            // Ninguna ranura está publicada al empezar
+            sequences.set(i, WRITING);
+        }
+    }
+
+    /**
+     * Encola una entrada. Seguro desde cualquier hilo y sin bloqueos.
+     */
+    void offer(String entry) {
+        long sequence = head.getAndIncrement();
+        int index = (int) (sequence & mask);
+        // Se marca la ranura antes de escribir para que el consumidor detecte sobrescrituras
+        sequences.set(index, WRITING);
+        slots.set(index, entry);
+        sequences.set(index, sequence);
+    }
+
+    /**
+     * Entrega al consumidor todas las entradas publicadas, en orden.
+     * Solo debe llamarse desde un único hilo consumidor.
+     * @return Número de entradas entregadas
+     */
+    int drain(Consumer<String> consumer) {
+        int drained = 0;
+        while (true) {
+            long oldestAvailable = head.get() - (mask + 1);
+            if (tail < oldestAvailable) {
+                // El productor dio la vuelta: lo anterior ya no existe
+                dropped += oldestAvailable - tail;
+                tail = oldestAvailable;
+            }
+
+            int index = (int) (tail & mask);
+            long before = sequences.get(index);
+            if (before < tail) {
+                // Aún no publicada (o en escritura): no hay más por ahora
+                return drained;
+            }
+            if (before > tail) {
+                // Sobrescrita por una vuelta posterior
+                dropped++;
+                tail++;
+                continue;
+            }
+
+            String entry = slots.get(index);
+            if (sequences.get(index) != before) {
+                // Se sobrescribió mientras se leía
+                dropped++;
+                tail++;
+                continue;
+            }
+
+            slots.compareAndSet(index, entry, null);
+            tail++;
+            drained++;
+            consumer.accept(entry);
+        }
+    }
+
+    /**
+     * Devuelve y reinicia el número de entradas descartadas por desbordamiento
+     */
+    long takeDropped() {
+        long value = dropped;
+        dropped = 0;
+        return value;
+    }
+}